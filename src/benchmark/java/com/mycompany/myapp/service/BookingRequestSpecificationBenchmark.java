@@ -0,0 +1,59 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.service.criteria.BookingRequestCriteria;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Benchmark of {@link BookingRequestQueryService#createSpecification(BookingRequestCriteria)}, from an empty criteria
+ * and from a criteria filtering on most fields. Only the building of the specification is measured: its translation
+ * to predicates needs an entity manager.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingRequestSpecificationBenchmark {
+
+    private BookingRequestQueryService bookingRequestQueryService;
+
+    private BookingRequestCriteria emptyCriteria;
+
+    private BookingRequestCriteria fullCriteria;
+
+    @Setup
+    public void setUp() {
+        bookingRequestQueryService = new BookingRequestQueryService(null, null);
+        emptyCriteria = new BookingRequestCriteria();
+        fullCriteria = new BookingRequestCriteria();
+        Instant from = Instant.parse("2025-09-01T00:00:00Z");
+        fullCriteria.startTime().setGreaterThanOrEqual(from);
+        fullCriteria.endTime().setLessThan(from.plusSeconds(7 * 24 * 3600));
+        fullCriteria.status().setIn(List.of(Status.PENDING, Status.APPROVED));
+        fullCriteria.purpose().setContains("sync");
+        fullCriteria.employeeId().setEquals(1L);
+        fullCriteria.meetingRoomId().setEquals(2L);
+        fullCriteria.invitedUsersId().setEquals(3L);
+        fullCriteria.setDistinct(true);
+    }
+
+    @Benchmark
+    public Specification<BookingRequest> emptyCriteria() {
+        return bookingRequestQueryService.createSpecification(emptyCriteria);
+    }
+
+    @Benchmark
+    public Specification<BookingRequest> fullCriteria() {
+        return bookingRequestQueryService.createSpecification(fullCriteria);
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.myapp.service.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mycompany.myapp.config.JacksonConfiguration;
+import com.mycompany.myapp.domain.enumeration.Status;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of the Jackson serialization of a page of {@link BookingRequestDTO}s, as written by the REST resources,
+ * with the modules of {@link JacksonConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingRequestPageSerializationBenchmark {
+
+    private static final int INVITED_USERS = 5;
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private ObjectWriter pageWriter;
+
+    private List<BookingRequestDTO> page;
+
+    @Setup
+    public void setUp() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(jacksonConfiguration.javaTimeModule())
+            .registerModule(jacksonConfiguration.jdk8TimeModule())
+            .registerModule(jacksonConfiguration.hibernate6Module())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, BookingRequestDTO.class));
+        Instant startTime = Instant.parse("2025-09-01T08:00:00Z");
+        page = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            BookingRequestDTO bookingRequest = new BookingRequestDTO();
+            bookingRequest.setId(id);
+            bookingRequest.setStartTime(startTime.plusSeconds(3600 * id));
+            bookingRequest.setEndTime(startTime.plusSeconds(3600 * id + 1800));
+            bookingRequest.setStatus(Status.APPROVED);
+            bookingRequest.setCreatedAt(startTime);
+            bookingRequest.setPurpose("Weekly sync " + id);
+            bookingRequest.setEmployee(employee(id));
+            MeetingRoomDTO meetingRoom = new MeetingRoomDTO();
+            meetingRoom.setId(id % 10);
+            meetingRoom.setName("Room " + id % 10);
+            bookingRequest.setMeetingRoom(meetingRoom);
+            for (long invited = 1; invited <= INVITED_USERS; invited++) {
+                bookingRequest.getInvitedUsers().add(employee(id * 10 + invited));
+            }
+            page.add(bookingRequest);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    private static EmployeeDTO employee(long id) {
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setId(id);
+        employee.setName("Employee " + id);
+        return employee;
+    }
+}
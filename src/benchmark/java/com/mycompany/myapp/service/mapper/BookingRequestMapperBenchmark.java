@@ -0,0 +1,66 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.service.dto.BookingRequestDTO;
+import com.mycompany.myapp.service.dto.EmployeeDTO;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of {@link BookingRequestMapper#toDto(BookingRequest)}, whose cost grows with the number of invited users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingRequestMapperBenchmark {
+
+    @Param({ "0", "10", "100" })
+    private int invitedUsers;
+
+    private BookingRequestMapper bookingRequestMapper;
+
+    private BookingRequest bookingRequest;
+
+    @Setup
+    public void setUp() {
+        bookingRequestMapper = new BookingRequestMapperImpl();
+        Instant startTime = Instant.parse("2025-09-01T08:00:00Z");
+        bookingRequest = new BookingRequest()
+            .id(1L)
+            .startTime(startTime)
+            .endTime(startTime.plusSeconds(1800))
+            .status(Status.PENDING)
+            .createdAt(startTime)
+            .purpose("Weekly sync")
+            .employee(new Employee().id(1L).name("Organizer"))
+            .meetingRoom(new MeetingRoom().id(1L).name("Room 1"));
+        Set<Employee> employees = new HashSet<>();
+        for (long id = 2; id < invitedUsers + 2; id++) {
+            employees.add(new Employee().id(id).name("Employee " + id));
+        }
+        bookingRequest.setInvitedUsers(employees);
+    }
+
+    @Benchmark
+    public BookingRequestDTO toDto() {
+        return bookingRequestMapper.toDto(bookingRequest);
+    }
+
+    @Benchmark
+    public Set<EmployeeDTO> toDtoEmployeeBasicSet() {
+        return bookingRequestMapper.toDtoEmployeeBasicSet(bookingRequest.getInvitedUsers());
+    }
+}
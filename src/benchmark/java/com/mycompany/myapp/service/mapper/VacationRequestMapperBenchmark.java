@@ -0,0 +1,74 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.Attachment;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.VacationRequest;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.domain.enumeration.VacationType;
+import com.mycompany.myapp.service.dto.VacationRequestDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of {@link VacationRequestMapper}, in both directions, with a varying number of attachments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VacationRequestMapperBenchmark {
+
+    @Param({ "0", "5" })
+    private int attachments;
+
+    private VacationRequestMapper vacationRequestMapper;
+
+    private VacationRequest vacationRequest;
+
+    private VacationRequestDTO vacationRequestDTO;
+
+    @Setup
+    public void setUp() {
+        vacationRequestMapper = new VacationRequestMapperImpl();
+        Instant createdAt = Instant.parse("2025-09-01T08:00:00Z");
+        vacationRequest = new VacationRequest()
+            .id(1L)
+            .startDate(LocalDate.of(2025, 9, 1))
+            .endDate(LocalDate.of(2025, 9, 5))
+            .type(VacationType.ANNUAL)
+            .reason("Holidays")
+            .status(Status.PENDING)
+            .createdAt(createdAt)
+            .employee(new Employee().id(1L).name("Employee 1"));
+        for (long id = 1; id <= attachments; id++) {
+            vacationRequest.addAttachments(
+                new Attachment()
+                    .id(id)
+                    .name("attachment-" + id + ".pdf")
+                    .url("/attachments/" + id)
+                    .fileSize(1024L)
+                    .contentType("application/pdf")
+                    .uploadedAt(createdAt)
+            );
+        }
+        vacationRequestDTO = vacationRequestMapper.toDto(vacationRequest);
+    }
+
+    @Benchmark
+    public VacationRequestDTO toDto() {
+        return vacationRequestMapper.toDto(vacationRequest);
+    }
+
+    @Benchmark
+    public VacationRequest toEntity() {
+        return vacationRequestMapper.toEntity(vacationRequestDTO);
+    }
+}
@@ -0,0 +1,184 @@
+package com.mycompany.myapp.aop.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Advice timing the methods of repositories, services and Web REST endpoints into Micrometer timers.
+ * <p>
+ * The timers and logger of a method are created on its first call, then looked up by target class and method, so a
+ * call only costs two clock reads and two map lookups. A sampled share of the calls is recorded in the timers, tagged
+ * with the class, the method and the outcome; the calls slower than the threshold are logged whether sampled or not.
+ */
+public class MethodTimingInterceptor implements MethodInterceptor {
+
+    public static final String METER_NAME = "method.timing";
+
+    private final Supplier<MeterRegistry> registry;
+
+    private final double sampleRate;
+
+    private final long slowThresholdNanos;
+
+    private final Map<Class<?>, Map<Method, MethodTimers>> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry supplies the registry of the timers on the first call, as advisors are created before the
+     * registry is fully configured.
+     * @param sampleRate the share of the calls recorded in the timers, between 0 and 1.
+     * @param slowThreshold the duration above which a call is logged.
+     */
+    public MethodTimingInterceptor(Supplier<MeterRegistry> registry, double sampleRate, Duration slowThreshold) {
+        this.registry = registry;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * Build the pointcut matching the Spring beans of some packages and their sub-packages.
+     * <p>
+     * The classes of the application are matched by {@link #pointcutExpression}. A Spring Data repository is a JDK
+     * proxy defined outside of these packages, which no {@code within} clause matches: it is matched by its repository
+     * interface instead, with all its methods, including those inherited from {@code CrudRepository}.
+     *
+     * @param packages the names of the packages.
+     * @return the pointcut.
+     * @throws IllegalArgumentException if no package is given.
+     */
+    public static Pointcut pointcut(List<String> packages) {
+        AspectJExpressionPointcut beans = new AspectJExpressionPointcut();
+        beans.setExpression(pointcutExpression(packages));
+        ClassFilter repositories = targetClass -> isRepositoryOf(targetClass, packages);
+        return new ComposablePointcut((Pointcut) beans).union(new ComposablePointcut(repositories));
+    }
+
+    /**
+     * Build the pointcut expression matching the Spring beans of some packages and their sub-packages.
+     *
+     * @param packages the names of the packages.
+     * @return the AspectJ expression.
+     * @throws IllegalArgumentException if no package is given.
+     */
+    public static String pointcutExpression(List<String> packages) {
+        if (packages.isEmpty()) {
+            throw new IllegalArgumentException("No package to time, set application.method-timing.packages");
+        }
+        String packagesExpression = packages.stream().map(name -> "within(" + name + "..*)").collect(Collectors.joining(" || "));
+        return (
+            "(within(@org.springframework.stereotype.Repository *)" +
+            " || within(@org.springframework.stereotype.Service *)" +
+            " || within(@org.springframework.web.bind.annotation.RestController *))" +
+            " && (" +
+            packagesExpression +
+            ")"
+        );
+    }
+
+    /**
+     * Whether a target is a Spring Data repository declared by an interface of the packages.
+     */
+    static boolean isRepositoryOf(Class<?> targetClass, List<String> packages) {
+        if (!Repository.class.isAssignableFrom(targetClass)) {
+            return false;
+        }
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            String packageName = type.getPackageName();
+            if (
+                Repository.class.isAssignableFrom(type) &&
+                packages.stream().anyMatch(name -> packageName.equals(name) || packageName.startsWith(name + "."))
+            ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            Object target = invocation.getThis();
+            Class<?> targetClass = target != null ? target.getClass() : invocation.getMethod().getDeclaringClass();
+            record(targetClass, invocation.getMethod(), elapsedNanos, failed);
+        }
+    }
+
+    private void record(Class<?> targetClass, Method method, long elapsedNanos, boolean failed) {
+        boolean sampled = sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        boolean slow = elapsedNanos > slowThresholdNanos;
+        if (!sampled && !slow) {
+            return;
+        }
+        // Keyed by target class too, as the methods inherited from CrudRepository are shared by all the repositories
+        Map<Method, MethodTimers> classTimers = timers.get(targetClass);
+        if (classTimers == null) {
+            classTimers = timers.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>());
+        }
+        MethodTimers methodTimers = classTimers.get(method);
+        if (methodTimers == null) {
+            methodTimers = classTimers.computeIfAbsent(method, key -> createTimers(userClass(targetClass), method));
+        }
+        if (sampled) {
+            (failed ? methodTimers.failure() : methodTimers.success()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        if (slow) {
+            methodTimers.log().warn("Slow call: {}() took {} ms", method.getName(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+
+    private MethodTimers createTimers(Class<?> userClass, Method method) {
+        return new MethodTimers(
+            createTimer(userClass.getSimpleName(), method.getName(), "success"),
+            createTimer(userClass.getSimpleName(), method.getName(), "failure"),
+            LoggerFactory.getLogger(userClass)
+        );
+    }
+
+    /**
+     * The class written by the application behind a target: the repository interface of a Spring Data proxy, the
+     * superclass of a CGLIB proxy.
+     */
+    static Class<?> userClass(Class<?> targetClass) {
+        if (Proxy.isProxyClass(targetClass) && targetClass.getInterfaces().length > 0) {
+            return targetClass.getInterfaces()[0];
+        }
+        return ClassUtils.getUserClass(targetClass);
+    }
+
+    private Timer createTimer(String className, String methodName, String outcome) {
+        return Timer.builder(METER_NAME)
+            .description("Time spent in the methods of repositories, services and Web REST endpoints")
+            .tag("class", className)
+            .tag("method", methodName)
+            .tag("outcome", outcome)
+            .register(registry.get());
+    }
+
+    private record MethodTimers(Timer success, Timer failure, Logger log) {}
+}
@@ -0,0 +1,4 @@
+/**
+ * Method timing aspect.
+ */
+package com.mycompany.myapp.aop.timing;
@@ -1,5 +1,11 @@
 package com.mycompany.myapp.config;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +19,72 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final AvailabilityIndex availabilityIndex = new AvailabilityIndex();
+
+    private final MailDispatch mailDispatch = new MailDispatch();
+
+    private final NotificationOutbox notificationOutbox = new NotificationOutbox();
+
+    private final Cache cache = new Cache();
+
+    private final Vacation vacation = new Vacation();
+
+    private final CalendarFeed calendarFeed = new CalendarFeed();
+
+    private final OccupancyStream occupancyStream = new OccupancyStream();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final SqlStatistics sqlStatistics = new SqlStatistics();
+
+    private final AttachmentStore attachmentStore = new AttachmentStore();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public AvailabilityIndex getAvailabilityIndex() {
+        return availabilityIndex;
+    }
+
+    public MailDispatch getMailDispatch() {
+        return mailDispatch;
+    }
+
+    public NotificationOutbox getNotificationOutbox() {
+        return notificationOutbox;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Vacation getVacation() {
+        return vacation;
+    }
+
+    public CalendarFeed getCalendarFeed() {
+        return calendarFeed;
+    }
+
+    public OccupancyStream getOccupancyStream() {
+        return occupancyStream;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public SqlStatistics getSqlStatistics() {
+        return sqlStatistics;
+    }
+
+    public AttachmentStore getAttachmentStore() {
+        return attachmentStore;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +99,397 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class AvailabilityIndex {
+
+        private Duration refreshInterval = Duration.ofMinutes(15);
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    public static class MailDispatch {
+
+        private int queueCapacity = 1000;
+
+        private int batchSize = 50;
+
+        private int workers = 2;
+
+        private Duration linger = Duration.ofMillis(100);
+
+        private Duration offerTimeout = Duration.ofSeconds(5);
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public Duration getLinger() {
+            return linger;
+        }
+
+        public void setLinger(Duration linger) {
+            this.linger = linger;
+        }
+
+        public Duration getOfferTimeout() {
+            return offerTimeout;
+        }
+
+        public void setOfferTimeout(Duration offerTimeout) {
+            this.offerTimeout = offerTimeout;
+        }
+    }
+
+    public static class NotificationOutbox {
+
+        private int batchSize = 50;
+
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        private Duration lease = Duration.ofMinutes(2);
+
+        private int maxAttempts = 8;
+
+        private Duration retryBackoff = Duration.ofSeconds(30);
+
+        private Duration retention = Duration.ofDays(7);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+    }
+
+    public static class Cache {
+
+        private long maxEntries = 1000;
+
+        private Duration timeToLive = Duration.ofHours(1);
+
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        /**
+         * Settings of a single cache region, falling back to the defaults above when not set.
+         */
+        public static class Region {
+
+            private Long maxEntries;
+
+            private Duration timeToLive;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+    }
+
+    public static class Vacation {
+
+        private String holidayCalendar = "classpath:config/holidays.txt";
+
+        private List<DayOfWeek> weekendDays = new ArrayList<>(List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+
+        private int maxDays = 366;
+
+        private int cachedYears = 5;
+
+        public String getHolidayCalendar() {
+            return holidayCalendar;
+        }
+
+        public void setHolidayCalendar(String holidayCalendar) {
+            this.holidayCalendar = holidayCalendar;
+        }
+
+        public List<DayOfWeek> getWeekendDays() {
+            return weekendDays;
+        }
+
+        public void setWeekendDays(List<DayOfWeek> weekendDays) {
+            this.weekendDays = weekendDays;
+        }
+
+        public int getMaxDays() {
+            return maxDays;
+        }
+
+        public void setMaxDays(int maxDays) {
+            this.maxDays = maxDays;
+        }
+
+        public int getCachedYears() {
+            return cachedYears;
+        }
+
+        public void setCachedYears(int cachedYears) {
+            this.cachedYears = cachedYears;
+        }
+    }
+
+    public static class CalendarFeed {
+
+        private Duration history = Duration.ofDays(30);
+
+        private Duration maxStaleness = Duration.ofMinutes(15);
+
+        public Duration getHistory() {
+            return history;
+        }
+
+        public void setHistory(Duration history) {
+            this.history = history;
+        }
+
+        public Duration getMaxStaleness() {
+            return maxStaleness;
+        }
+
+        public void setMaxStaleness(Duration maxStaleness) {
+            this.maxStaleness = maxStaleness;
+        }
+    }
+
+    public static class OccupancyStream {
+
+        private Duration timeout = Duration.ofMinutes(30);
+
+        private int bufferSize = 64;
+
+        private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+        private int maxSubscribers = 10000;
+
+        private int senderThreads = 4;
+
+        private Duration sendTimeout = Duration.ofSeconds(10);
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public int getMaxSubscribers() {
+            return maxSubscribers;
+        }
+
+        public void setMaxSubscribers(int maxSubscribers) {
+            this.maxSubscribers = maxSubscribers;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public Duration getSendTimeout() {
+            return sendTimeout;
+        }
+
+        public void setSendTimeout(Duration sendTimeout) {
+            this.sendTimeout = sendTimeout;
+        }
+    }
+
+    public static class MethodTiming {
+
+        private boolean enabled = false;
+
+        private List<String> packages = new ArrayList<>();
+
+        private double sampleRate = 1.0;
+
+        private Duration slowThreshold = Duration.ofMillis(500);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getPackages() {
+            return packages;
+        }
+
+        public void setPackages(List<String> packages) {
+            this.packages = packages;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public Duration getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+    }
+
+    public static class SqlStatistics {
+
+        private boolean enabled = false;
+
+        private int repeatedStatementThreshold = 5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getRepeatedStatementThreshold() {
+            return repeatedStatementThreshold;
+        }
+
+        public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+            this.repeatedStatementThreshold = repeatedStatementThreshold;
+        }
+    }
+
+    public static class AttachmentStore {
+
+        private String directory = "data/attachments";
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
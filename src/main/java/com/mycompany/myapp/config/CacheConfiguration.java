@@ -0,0 +1,94 @@
+package com.mycompany.myapp.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import java.time.Duration;
+import java.util.OptionalLong;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine-backed JCache regions of the Hibernate second-level and query caches, and of the Spring caches.
+ * <p>
+ * Each region takes its size and time to live from {@code application.cache.regions}, falling back to the
+ * defaults of {@code application.cache}. Statistics are enabled on every region, so their hits and misses are
+ * exported as {@code cache.gets} meters by the Spring Boot cache metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheConfiguration.class);
+
+    private final ApplicationProperties.Cache properties;
+
+    public CacheConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getCache();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, com.mycompany.myapp.domain.Authority.class.getName());
+            createCache(cm, com.mycompany.myapp.domain.User.class.getName() + ".authorities");
+            createCache(cm, com.mycompany.myapp.domain.MeetingRoom.class.getName());
+            createCache(cm, com.mycompany.myapp.domain.MeetingRoom.class.getName() + ".equipment");
+            createCache(cm, com.mycompany.myapp.domain.Equipment.class.getName());
+            createCache(cm, com.mycompany.myapp.repository.EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE);
+            createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            // Query results are only valid as long as the timestamps of their tables are known: never evict them
+            createCache(cm, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, baseConfiguration());
+            // jhipster-needle-caffeine-add-entry
+        };
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, regionConfiguration(properties, cacheName));
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            LOG.debug("Creating cache region {}", cacheName);
+            cm.createCache(cacheName, configuration);
+        }
+    }
+
+    /**
+     * Build the configuration of a region from its own settings, or the defaults.
+     */
+    static CaffeineConfiguration<Object, Object> regionConfiguration(ApplicationProperties.Cache properties, String cacheName) {
+        ApplicationProperties.Cache.Region region = properties.getRegions().get(cacheName);
+        long maxEntries = region != null && region.getMaxEntries() != null ? region.getMaxEntries() : properties.getMaxEntries();
+        Duration timeToLive = region != null && region.getTimeToLive() != null ? region.getTimeToLive() : properties.getTimeToLive();
+        CaffeineConfiguration<Object, Object> configuration = baseConfiguration();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        return configuration;
+    }
+
+    private static CaffeineConfiguration<Object, Object> baseConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already caches a disassembled copy of the state, there is no need to copy it again
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
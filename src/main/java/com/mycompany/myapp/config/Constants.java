@@ -11,5 +11,10 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Ids handed out in memory per call of sequence_generator by the pooled-lo optimizer, its increment on the database
+    // side: Liquibase aligns the sequence with it through the idSequenceIncrement changelog parameter
+    public static final int ID_SEQUENCE_ALLOCATION_SIZE = 50;
+    public static final String ID_SEQUENCE_INCREMENT_PARAMETER = "idSequenceIncrement";
+
     private Constants() {}
 }
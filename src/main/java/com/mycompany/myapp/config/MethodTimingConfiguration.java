@@ -0,0 +1,32 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.aop.timing.MethodTimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Times the repositories, services and Web REST endpoints of the packages listed in
+ * {@code application.method-timing.packages}, see {@link MethodTimingInterceptor}.
+ * <p>
+ * The pointcut is built from the configured packages, so the beans of the other packages are not proxied at all.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.method-timing", name = "enabled", havingValue = "true")
+public class MethodTimingConfiguration {
+
+    @Bean
+    public Advisor methodTimingAdvisor(ApplicationProperties applicationProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        ApplicationProperties.MethodTiming properties = applicationProperties.getMethodTiming();
+        return new DefaultPointcutAdvisor(
+            MethodTimingInterceptor.pointcut(properties.getPackages()),
+            new MethodTimingInterceptor(meterRegistry::getObject, properties.getSampleRate(), properties.getSlowThreshold())
+        );
+    }
+}
@@ -0,0 +1,41 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.repository.statistics.SqlStatementCounter;
+import com.mycompany.myapp.web.filter.SqlStatisticsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Counts the SQL statements and entity loads of each request to the REST API, see {@link SqlStatisticsFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.sql-statistics", name = "enabled", havingValue = "true")
+public class SqlStatisticsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+        return hibernateProperties -> {
+            hibernateProperties.put(JdbcSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+            hibernateProperties.put(SessionEventSettings.INTERCEPTOR, sqlStatementCounter);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>(
+            new SqlStatisticsFilter(registry, applicationProperties.getSqlStatistics().getRepeatedStatementThreshold())
+        );
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,36 @@
+package com.mycompany.myapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Run the servlet requests on virtual threads, when {@code spring.threads.virtual.enabled} is set on Java 21 or later.
+ * <p>
+ * Spring Boot only switches Tomcat and Jetty to virtual threads: Undertow keeps dispatching the blocking servlet work
+ * to its worker pool, so the deployment is given a virtual thread per task executor instead. The XNIO I/O threads
+ * are left as they are, as they never block.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    static final String THREAD_NAME_PREFIX = "goat-request-";
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory -> {
+            LOG.debug("Dispatching Undertow requests to virtual threads");
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor(THREAD_NAME_PREFIX);
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(executor).setAsyncExecutor(executor));
+        };
+    }
+}
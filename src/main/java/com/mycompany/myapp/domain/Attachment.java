@@ -2,6 +2,7 @@ package com.mycompany.myapp.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.mycompany.myapp.config.Constants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -19,7 +20,7 @@ public class Attachment implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator", allocationSize = Constants.ID_SEQUENCE_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -44,6 +45,10 @@ public class Attachment implements Serializable {
     @Column(name = "uploaded_at")
     private Instant uploadedAt;
 
+    @Size(max = 64)
+    @Column(name = "checksum", length = 64)
+    private String checksum;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     private VacationRequest vacationRequest;
@@ -128,6 +133,19 @@ public class Attachment implements Serializable {
         this.uploadedAt = uploadedAt;
     }
 
+    public String getChecksum() {
+        return this.checksum;
+    }
+
+    public Attachment checksum(String checksum) {
+        this.setChecksum(checksum);
+        return this;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
     public VacationRequest getVacationRequest() {
         return this.vacationRequest;
     }
@@ -170,6 +188,7 @@ public class Attachment implements Serializable {
             ", fileSize=" + getFileSize() +
             ", contentType='" + getContentType() + "'" +
             ", uploadedAt='" + getUploadedAt() + "'" +
+            ", checksum='" + getChecksum() + "'" +
             "}";
     }
 }
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.enumeration.Status;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -21,7 +22,7 @@ public class BookingRequest implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator", allocationSize = Constants.ID_SEQUENCE_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.mycompany.myapp.config.Constants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -12,6 +13,7 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "meeting_room")
+@org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class MeetingRoom implements Serializable {
 
@@ -19,7 +21,7 @@ public class MeetingRoom implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator", allocationSize = Constants.ID_SEQUENCE_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -48,6 +50,7 @@ public class MeetingRoom implements Serializable {
         joinColumns = @JoinColumn(name = "meeting_room_id"),
         inverseJoinColumns = @JoinColumn(name = "equipment_id")
     )
+    @org.hibernate.annotations.Cache(usage = org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE)
     @JsonIgnoreProperties(value = { "meetingRooms" }, allowSetters = true)
     private Set<Equipment> equipment = new HashSet<>();
 
@@ -0,0 +1,140 @@
+package com.mycompany.myapp.domain;
+
+import com.mycompany.myapp.domain.enumeration.VacationType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The vacation days taken by an employee in a year, for a {@link VacationType}.
+ * <p>
+ * Maintained incrementally as {@link VacationLedgerEntry} rows are appended, so totals are read from one row per
+ * employee rather than summed over the vacation requests, and rebuilt from the ledger when it is replayed.
+ */
+@Entity
+@Table(name = "vacation_day_summary")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class VacationDaySummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private Key id;
+
+    @NotNull
+    @Column(name = "days", nullable = false)
+    private Integer days;
+
+    public Key getId() {
+        return this.id;
+    }
+
+    public VacationDaySummary id(Key id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Key id) {
+        this.id = id;
+    }
+
+    public Integer getDays() {
+        return this.days;
+    }
+
+    public VacationDaySummary days(Integer days) {
+        this.setDays(days);
+        return this;
+    }
+
+    public void setDays(Integer days) {
+        this.days = days;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VacationDaySummary)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((VacationDaySummary) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VacationDaySummary{" +
+            "id=" + getId() +
+            ", days=" + getDays() +
+            "}";
+    }
+
+    /**
+     * The employee, year and vacation type of a {@link VacationDaySummary}.
+     */
+    @Embeddable
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Column(name = "employee_id", nullable = false)
+        private Long employeeId;
+
+        @Column(name = "vacation_year", nullable = false)
+        private Integer year;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "vacation_type", nullable = false)
+        private VacationType vacationType;
+
+        protected Key() {}
+
+        public Key(Long employeeId, Integer year, VacationType vacationType) {
+            this.employeeId = employeeId;
+            this.year = year;
+            this.vacationType = vacationType;
+        }
+
+        public Long getEmployeeId() {
+            return employeeId;
+        }
+
+        public Integer getYear() {
+            return year;
+        }
+
+        public VacationType getVacationType() {
+            return vacationType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(employeeId, key.employeeId) && Objects.equals(year, key.year) && vacationType == key.vacationType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeId, year, vacationType);
+        }
+
+        @Override
+        public String toString() {
+            return "Key{employeeId=" + employeeId + ", year=" + year + ", vacationType='" + vacationType + "'}";
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.mycompany.myapp.domain;
+
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.enumeration.VacationLedgerEntryType;
+import com.mycompany.myapp.domain.enumeration.VacationType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A change of the vacation balance of an employee.
+ * <p>
+ * The ledger is append-only: the balance of an employee is the sum of the days of their entries, so replaying it
+ * rebuilds the balances and the {@link VacationDaySummary} rows exactly. Taken vacation days are negative, granted
+ * days positive. The employee and the vacation request are kept as plain ids, without foreign keys, so the history
+ * outlives them.
+ */
+@Entity
+@Immutable
+@Table(name = "vacation_ledger_entry")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class VacationLedgerEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator", allocationSize = Constants.ID_SEQUENCE_ALLOCATION_SIZE)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "vacation_request_id")
+    private Long vacationRequestId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private VacationLedgerEntryType entryType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "vacation_type")
+    private VacationType vacationType;
+
+    @NotNull
+    @Column(name = "vacation_year", nullable = false)
+    private Integer year;
+
+    @NotNull
+    @Column(name = "days", nullable = false)
+    private Integer days;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public VacationLedgerEntry id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployeeId() {
+        return this.employeeId;
+    }
+
+    public VacationLedgerEntry employeeId(Long employeeId) {
+        this.setEmployeeId(employeeId);
+        return this;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Long getVacationRequestId() {
+        return this.vacationRequestId;
+    }
+
+    public VacationLedgerEntry vacationRequestId(Long vacationRequestId) {
+        this.setVacationRequestId(vacationRequestId);
+        return this;
+    }
+
+    public void setVacationRequestId(Long vacationRequestId) {
+        this.vacationRequestId = vacationRequestId;
+    }
+
+    public VacationLedgerEntryType getEntryType() {
+        return this.entryType;
+    }
+
+    public VacationLedgerEntry entryType(VacationLedgerEntryType entryType) {
+        this.setEntryType(entryType);
+        return this;
+    }
+
+    public void setEntryType(VacationLedgerEntryType entryType) {
+        this.entryType = entryType;
+    }
+
+    public VacationType getVacationType() {
+        return this.vacationType;
+    }
+
+    public VacationLedgerEntry vacationType(VacationType vacationType) {
+        this.setVacationType(vacationType);
+        return this;
+    }
+
+    public void setVacationType(VacationType vacationType) {
+        this.vacationType = vacationType;
+    }
+
+    public Integer getYear() {
+        return this.year;
+    }
+
+    public VacationLedgerEntry year(Integer year) {
+        this.setYear(year);
+        return this;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public Integer getDays() {
+        return this.days;
+    }
+
+    public VacationLedgerEntry days(Integer days) {
+        this.setDays(days);
+        return this;
+    }
+
+    public void setDays(Integer days) {
+        this.days = days;
+    }
+
+    public Instant getCreatedAt() {
+        return this.createdAt;
+    }
+
+    public VacationLedgerEntry createdAt(Instant createdAt) {
+        this.setCreatedAt(createdAt);
+        return this;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VacationLedgerEntry)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((VacationLedgerEntry) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VacationLedgerEntry{" +
+            "id=" + getId() +
+            ", employeeId=" + getEmployeeId() +
+            ", vacationRequestId=" + getVacationRequestId() +
+            ", entryType='" + getEntryType() + "'" +
+            ", vacationType='" + getVacationType() + "'" +
+            ", year=" + getYear() +
+            ", days=" + getDays() +
+            ", createdAt='" + getCreatedAt() + "'" +
+            "}";
+    }
+}
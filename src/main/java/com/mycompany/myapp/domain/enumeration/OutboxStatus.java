@@ -0,0 +1,10 @@
+package com.mycompany.myapp.domain.enumeration;
+
+/**
+ * The OutboxStatus enumeration.
+ */
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED,
+}
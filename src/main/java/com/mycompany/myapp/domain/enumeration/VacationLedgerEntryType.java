@@ -0,0 +1,10 @@
+package com.mycompany.myapp.domain.enumeration;
+
+/**
+ * The VacationLedgerEntryType enumeration.
+ */
+public enum VacationLedgerEntryType {
+    OPENING_BALANCE,
+    ADJUSTMENT,
+    VACATION,
+}
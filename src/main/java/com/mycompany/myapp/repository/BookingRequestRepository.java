@@ -1,9 +1,10 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.BookingRequest;
+import jakarta.persistence.LockModeType;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -19,16 +20,8 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface BookingRequestRepository
     extends BookingRequestRepositoryWithBagRelationships, JpaRepository<BookingRequest, Long>, JpaSpecificationExecutor<BookingRequest> {
-    default Optional<BookingRequest> findOneWithEagerRelationships(Long id) {
-        return this.fetchBagRelationships(this.findById(id));
-    }
-
-    default List<BookingRequest> findAllWithEagerRelationships() {
-        return this.fetchBagRelationships(this.findAll());
-    }
-
     default Page<BookingRequest> findAllWithEagerRelationships(Pageable pageable) {
-        return this.fetchBagRelationships(this.findAll(pageable));
+        return this.findAllWithEagerRelationships(null, pageable);
     }
 
     @Query(
@@ -42,6 +35,20 @@ public interface BookingRequestRepository
     )
     List<BookingRequest> findAllByInvitedUser(@Param("employeeId") Long employeeId);
 
+    /**
+     * Find booking requests with their employee and lock them until the end of the transaction, in the id order so
+     * that concurrent callers lock them in the same order.
+     *
+     * @param ids the ids of the booking requests.
+     * @return the locked booking requests found.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select bookingRequest from BookingRequest bookingRequest left join fetch bookingRequest.employee " +
+        "where bookingRequest.id in :ids order by bookingRequest.id"
+    )
+    List<BookingRequest> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
     @Query(
         "SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END " +
         "FROM BookingRequest b " +
@@ -54,4 +61,93 @@ public interface BookingRequestRepository
         @Param("startTime") Instant startTime,
         @Param("endTime") Instant endTime
     );
+
+    @Query(
+        "SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END " +
+        "FROM BookingRequest b " +
+        "WHERE b.meetingRoom.id = :roomId " +
+        "AND b.id <> :excludedId " +
+        "AND b.startTime < :endTime " +
+        "AND b.endTime > :startTime"
+    )
+    boolean existsOtherByMeetingRoomIdAndTimeOverlap(
+        @Param("roomId") Long roomId,
+        @Param("startTime") Instant startTime,
+        @Param("endTime") Instant endTime,
+        @Param("excludedId") Long excludedId
+    );
+
+    /**
+     * Find the booking requests of a meeting room overlapping a time window and lock them until the end of the
+     * transaction. Unlike a plain read, answered from the snapshot taken by the first read of the transaction, this
+     * locking read sees the bookings committed since.
+     *
+     * @param roomId the id of the meeting room.
+     * @param startTime the start of the window.
+     * @param endTime the end of the window.
+     * @param excludedId the id of a booking request to ignore, {@code null} for none.
+     * @return the locked overlapping booking requests.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select bookingRequest from BookingRequest bookingRequest " +
+        "where bookingRequest.meetingRoom.id = :roomId " +
+        "and (:excludedId is null or bookingRequest.id <> :excludedId) " +
+        "and bookingRequest.startTime < :endTime " +
+        "and bookingRequest.endTime > :startTime"
+    )
+    List<BookingRequest> findAllOverlappingForUpdate(
+        @Param("roomId") Long roomId,
+        @Param("startTime") Instant startTime,
+        @Param("endTime") Instant endTime,
+        @Param("excludedId") Long excludedId
+    );
+
+    @Query(
+        "SELECT b.id AS id, b.meetingRoom.id AS meetingRoomId, b.startTime AS startTime, b.endTime AS endTime FROM BookingRequest b"
+    )
+    List<BookingRequestSlot> findAllSlots();
+
+    /**
+     * Find the booking requests an employee owns or is invited to, ending after a time, for their calendar feed.
+     *
+     * @param employeeId the id of the employee.
+     * @param endAfter the time the booking requests must end after.
+     * @param changedAfter the time the booking requests must have been created or updated after, {@code null} for any.
+     * @return the booking requests with their meeting room, in the start time order.
+     */
+    @Query(
+        "select bookingRequest from BookingRequest bookingRequest left join fetch bookingRequest.meetingRoom " +
+        "where (bookingRequest.employee.id = :employeeId or exists (" +
+        "select invitation from BookingRequest invitation join invitation.invitedUsers invitedUser " +
+        "where invitation.id = bookingRequest.id and invitedUser.id = :employeeId)) " +
+        "and bookingRequest.endTime > :endAfter " +
+        "and (:changedAfter is null or coalesce(bookingRequest.updatedAt, bookingRequest.createdAt) > :changedAfter) " +
+        "order by bookingRequest.startTime, bookingRequest.id"
+    )
+    List<BookingRequest> findAllForEmployeeCalendar(
+        @Param("employeeId") Long employeeId,
+        @Param("endAfter") Instant endAfter,
+        @Param("changedAfter") Instant changedAfter
+    );
+
+    /**
+     * Find the booking requests of a meeting room ending after a time, for its calendar feed.
+     *
+     * @param roomId the id of the meeting room.
+     * @param endAfter the time the booking requests must end after.
+     * @param changedAfter the time the booking requests must have been created or updated after, {@code null} for any.
+     * @return the booking requests with their meeting room, in the start time order.
+     */
+    @Query(
+        "select bookingRequest from BookingRequest bookingRequest join fetch bookingRequest.meetingRoom meetingRoom " +
+        "where meetingRoom.id = :roomId and bookingRequest.endTime > :endAfter " +
+        "and (:changedAfter is null or coalesce(bookingRequest.updatedAt, bookingRequest.createdAt) > :changedAfter) " +
+        "order by bookingRequest.startTime, bookingRequest.id"
+    )
+    List<BookingRequest> findAllForRoomCalendar(
+        @Param("roomId") Long roomId,
+        @Param("endAfter") Instant endAfter,
+        @Param("changedAfter") Instant changedAfter
+    );
 }
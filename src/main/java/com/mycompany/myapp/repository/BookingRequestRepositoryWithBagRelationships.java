@@ -3,7 +3,13 @@ package com.mycompany.myapp.repository;
 import com.mycompany.myapp.domain.BookingRequest;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 
 public interface BookingRequestRepositoryWithBagRelationships {
     Optional<BookingRequest> fetchBagRelationships(Optional<BookingRequest> bookingRequest);
@@ -11,4 +17,54 @@ public interface BookingRequestRepositoryWithBagRelationships {
     List<BookingRequest> fetchBagRelationships(List<BookingRequest> bookingRequests);
 
     Page<BookingRequest> fetchBagRelationships(Page<BookingRequest> bookingRequests);
+
+    Optional<BookingRequest> findOneWithEagerRelationships(Long id);
+
+    List<BookingRequest> findAllWithEagerRelationships();
+
+    /**
+     * Find a page of booking requests with their employee, meeting room and invited users, in one query for the ids
+     * of the page and one query for the booking requests, plus the count query when the total is unknown.
+     *
+     * @param specification the filter, may be {@code null}.
+     * @param pageable the page.
+     * @return the page of booking requests.
+     */
+    Page<BookingRequest> findAllWithEagerRelationships(Specification<BookingRequest> specification, Pageable pageable);
+
+    /**
+     * Find the booking requests following a position in the {@code (startTime, id)} order, with their employee, meeting
+     * room and invited users. The position is compared in the where clause instead of skipping rows with an offset, so
+     * deep windows cost the same as the first one.
+     *
+     * @param specification the filter, may be {@code null}.
+     * @param position the {@code startTime} and {@code id} keys of the last booking request of the previous window, or
+     * the initial position.
+     * @param direction the direction of the order.
+     * @param limit the maximum number of booking requests.
+     * @return the window of booking requests, each with its position.
+     */
+    Window<BookingRequest> scrollWithEagerRelationships(
+        Specification<BookingRequest> specification,
+        KeysetScrollPosition position,
+        Sort.Direction direction,
+        int limit
+    );
+
+    /**
+     * Stream the booking requests matching a specification in the id order, with their employee, meeting room and
+     * invited users, from a single forward-only cursor. The persistence context is cleared after each chunk, which is
+     * handed to the consumer detached, so only one chunk is held in memory whatever the number of booking requests.
+     * <p>
+     * Must be called in a transaction, which stays open until the last chunk is consumed.
+     *
+     * @param specification the filter, may be {@code null}.
+     * @param chunkSize the number of booking requests of each chunk, also used as the JDBC fetch size.
+     * @param chunkConsumer the consumer of each chunk.
+     */
+    void streamWithEagerRelationships(
+        Specification<BookingRequest> specification,
+        int chunkSize,
+        Consumer<List<BookingRequest>> chunkConsumer
+    );
 }
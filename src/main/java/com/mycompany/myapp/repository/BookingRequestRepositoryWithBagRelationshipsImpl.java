@@ -1,30 +1,71 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.BookingRequest_;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.Employee_;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 
 /**
  * Utility repository to load bag relationships based on https://vladmihalcea.com/hibernate-multiplebagfetchexception/
+ * <p>
+ * A page is loaded in two steps: the ids of the page are selected first, then the booking requests of these ids are
+ * fetched with their employee, meeting room and invited users in a single query, and put back in the order of the ids.
  */
 public class BookingRequestRepositoryWithBagRelationshipsImpl implements BookingRequestRepositoryWithBagRelationships {
 
-    private static final String ID_PARAMETER = "id";
-    private static final String BOOKINGREQUESTS_PARAMETER = "bookingRequests";
+    private static final String IDS_PARAMETER = "ids";
+
+    private static final String FETCH_ALL_QUERY =
+        "select bookingRequest from BookingRequest bookingRequest " +
+        "left join fetch bookingRequest.employee " +
+        "left join fetch bookingRequest.meetingRoom " +
+        "left join fetch bookingRequest.invitedUsers";
 
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public Optional<BookingRequest> fetchBagRelationships(Optional<BookingRequest> bookingRequest) {
-        return bookingRequest.map(this::fetchInvitedUsers);
+        return bookingRequest.flatMap(result -> findOneWithEagerRelationships(result.getId()));
     }
 
     @Override
@@ -38,30 +79,217 @@ public class BookingRequestRepositoryWithBagRelationshipsImpl implements Booking
 
     @Override
     public List<BookingRequest> fetchBagRelationships(List<BookingRequest> bookingRequests) {
-        return Optional.of(bookingRequests).map(this::fetchInvitedUsers).orElse(Collections.emptyList());
+        return findAllWithEagerRelationships(bookingRequests.stream().mapToLong(BookingRequest::getId).toArray());
+    }
+
+    @Override
+    public Optional<BookingRequest> findOneWithEagerRelationships(Long id) {
+        return findAllWithEagerRelationships(new long[] { id }).stream().findFirst();
+    }
+
+    @Override
+    public List<BookingRequest> findAllWithEagerRelationships() {
+        return entityManager.createQuery(FETCH_ALL_QUERY, BookingRequest.class).getResultList();
     }
 
-    BookingRequest fetchInvitedUsers(BookingRequest result) {
-        return entityManager
-            .createQuery(
-                "select bookingRequest from BookingRequest bookingRequest left join fetch bookingRequest.invitedUsers where bookingRequest.id = :id",
-                BookingRequest.class
-            )
-            .setParameter(ID_PARAMETER, result.getId())
-            .getSingleResult();
+    @Override
+    public Page<BookingRequest> findAllWithEagerRelationships(Specification<BookingRequest> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> idQuery = cb.createTupleQuery();
+        Root<BookingRequest> root = idQuery.from(BookingRequest.class);
+        Predicate predicate = specification != null ? specification.toPredicate(root, idQuery, cb) : null;
+        if (predicate != null) {
+            idQuery.where(predicate);
+        }
+        // Sort expressions are selected along with the id, as required when the specification asks for distinct rows
+        List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
+        List<Selection<?>> selections = new ArrayList<>(orders.size() + 1);
+        selections.add(root.get(BookingRequest_.id));
+        orders.forEach(order -> selections.add(order.getExpression()));
+        idQuery.multiselect(selections).orderBy(orders);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(idQuery);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        long[] ids = query.getResultStream().mapToLong(tuple -> tuple.get(0, Long.class)).distinct().toArray();
+        return PageableExecutionUtils.getPage(findAllWithEagerRelationships(ids), pageable, () -> count(specification));
+    }
+
+    @Override
+    public Window<BookingRequest> scrollWithEagerRelationships(
+        Specification<BookingRequest> specification,
+        KeysetScrollPosition position,
+        Sort.Direction direction,
+        int limit
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> keyQuery = cb.createTupleQuery();
+        Root<BookingRequest> root = keyQuery.from(BookingRequest.class);
+        Expression<Instant> startTime = root.get(BookingRequest_.startTime);
+        Expression<Long> id = root.get(BookingRequest_.id);
+        List<Predicate> predicates = new ArrayList<>(2);
+        Predicate predicate = specification != null ? specification.toPredicate(root, keyQuery, cb) : null;
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (!position.isInitial()) {
+            Instant lastStartTime = (Instant) position.getKeys().get(BookingRequest_.START_TIME);
+            Long lastId = (Long) position.getKeys().get(BookingRequest_.ID);
+            Predicate sameStartTime = cb.equal(startTime, lastStartTime);
+            predicates.add(
+                direction.isAscending()
+                    ? cb.or(cb.greaterThan(startTime, lastStartTime), cb.and(sameStartTime, cb.greaterThan(id, lastId)))
+                    : cb.or(cb.lessThan(startTime, lastStartTime), cb.and(sameStartTime, cb.lessThan(id, lastId)))
+            );
+        }
+        keyQuery
+            .multiselect(id, startTime)
+            .where(predicates.toArray(Predicate[]::new))
+            .orderBy(direction.isAscending() ? List.of(cb.asc(startTime), cb.asc(id)) : List.of(cb.desc(startTime), cb.desc(id)));
+
+        // One more row than requested tells whether there is a next window
+        List<Tuple> keys = entityManager.createQuery(keyQuery).setMaxResults(limit + 1).getResultList();
+        boolean hasNext = keys.size() > limit;
+        long[] ids = keys.stream().limit(limit).mapToLong(tuple -> tuple.get(0, Long.class)).distinct().toArray();
+        List<BookingRequest> content = findAllWithEagerRelationships(ids);
+        return Window.from(content, index -> positionOf(content.get(index)), hasNext);
     }
 
-    List<BookingRequest> fetchInvitedUsers(List<BookingRequest> bookingRequests) {
-        HashMap<Object, Integer> order = new HashMap<>();
-        IntStream.range(0, bookingRequests.size()).forEach(index -> order.put(bookingRequests.get(index).getId(), index));
+    @Override
+    public void streamWithEagerRelationships(
+        Specification<BookingRequest> specification,
+        int chunkSize,
+        Consumer<List<BookingRequest>> chunkConsumer
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> rowQuery = cb.createTupleQuery();
+        Root<BookingRequest> root = rowQuery.from(BookingRequest.class);
+        root.fetch(BookingRequest_.employee, JoinType.LEFT);
+        root.fetch(BookingRequest_.meetingRoom, JoinType.LEFT);
+        // Fetching the bag would make Hibernate move the cursor backwards at the end of each booking request, so the
+        // invited users are selected as plain columns instead, one row each, and gathered while reading
+        Join<BookingRequest, Employee> invitedUser = root.join(BookingRequest_.invitedUsers, JoinType.LEFT);
+        Predicate predicate = specification != null ? specification.toPredicate(root, rowQuery, cb) : null;
+        if (predicate != null) {
+            rowQuery.where(predicate);
+        }
+        // Duplicated rows are merged while gathering, there is no need for the database to sort them out
+        rowQuery
+            .distinct(false)
+            .multiselect(root, invitedUser.get(Employee_.id), invitedUser.get(Employee_.name))
+            .orderBy(cb.asc(root.get(BookingRequest_.id)), cb.asc(invitedUser.get(Employee_.id)));
+
+        try (
+            ScrollableResults<Tuple> rows = entityManager
+                .unwrap(Session.class)
+                .createQuery(rowQuery)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .setFetchSize(chunkSize)
+                .scroll(ScrollMode.FORWARD_ONLY)
+        ) {
+            List<BookingRequest> chunk = new ArrayList<>(chunkSize);
+            List<Set<Employee>> invitedUsersOfChunk = new ArrayList<>(chunkSize);
+            BookingRequest current = null;
+            Set<Employee> invitedUsers = null;
+            while (rows.next()) {
+                Tuple row = rows.get();
+                BookingRequest bookingRequest = row.get(0, BookingRequest.class);
+                if (current == null || !current.getId().equals(bookingRequest.getId())) {
+                    if (current != null) {
+                        chunk.add(current);
+                        invitedUsersOfChunk.add(invitedUsers);
+                    }
+                    if (chunk.size() == chunkSize) {
+                        emitChunk(chunk, invitedUsersOfChunk, chunkConsumer);
+                        chunk = new ArrayList<>(chunkSize);
+                        invitedUsersOfChunk = new ArrayList<>(chunkSize);
+                    }
+                    current = bookingRequest;
+                    invitedUsers = new LinkedHashSet<>();
+                }
+                Long invitedUserId = row.get(1, Long.class);
+                if (invitedUserId != null) {
+                    invitedUsers.add(new Employee().id(invitedUserId).name(row.get(2, String.class)));
+                }
+            }
+            if (current != null) {
+                chunk.add(current);
+                invitedUsersOfChunk.add(invitedUsers);
+                emitChunk(chunk, invitedUsersOfChunk, chunkConsumer);
+            }
+        }
+    }
+
+    /**
+     * Detach a chunk and hand it to the consumer. The invited users are only set once detached, so that the
+     * persistence context never sees these partial employees.
+     */
+    private void emitChunk(List<BookingRequest> chunk, List<Set<Employee>> invitedUsers, Consumer<List<BookingRequest>> chunkConsumer) {
+        entityManager.clear();
+        for (int i = 0; i < chunk.size(); i++) {
+            chunk.get(i).setInvitedUsers(invitedUsers.get(i));
+        }
+        chunkConsumer.accept(chunk);
+    }
+
+    static KeysetScrollPosition positionOf(BookingRequest bookingRequest) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(BookingRequest_.START_TIME, bookingRequest.getStartTime());
+        keys.put(BookingRequest_.ID, bookingRequest.getId());
+        return ScrollPosition.forward(keys);
+    }
+
+    List<BookingRequest> findAllWithEagerRelationships(long[] ids) {
+        if (ids.length == 0) {
+            return Collections.emptyList();
+        }
         List<BookingRequest> result = entityManager
-            .createQuery(
-                "select bookingRequest from BookingRequest bookingRequest left join fetch bookingRequest.invitedUsers where bookingRequest in :bookingRequests",
-                BookingRequest.class
-            )
-            .setParameter(BOOKINGREQUESTS_PARAMETER, bookingRequests)
+            .createQuery(FETCH_ALL_QUERY + " where bookingRequest.id in :ids", BookingRequest.class)
+            .setParameter(IDS_PARAMETER, LongStream.of(ids).boxed().toList())
             .getResultList();
-        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
+        return inIdOrder(ids, result);
+    }
+
+    private long count(Specification<BookingRequest> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<BookingRequest> root = countQuery.from(BookingRequest.class);
+        Predicate predicate = specification != null ? specification.toPredicate(root, countQuery, cb) : null;
+        if (predicate != null) {
+            countQuery.where(predicate);
+        }
+        countQuery.select(countQuery.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        countQuery.orderBy(Collections.emptyList());
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    /**
+     * Order booking requests like the given distinct ids, skipping the ids without a booking request. The position of
+     * each id is looked up by binary search in a sorted copy of the ids, without boxing.
+     */
+    static List<BookingRequest> inIdOrder(long[] ids, List<BookingRequest> bookingRequests) {
+        long[] sortedIds = ids.clone();
+        Arrays.sort(sortedIds);
+        int[] positions = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            positions[Arrays.binarySearch(sortedIds, ids[i])] = i;
+        }
+        BookingRequest[] ordered = new BookingRequest[ids.length];
+        for (BookingRequest bookingRequest : bookingRequests) {
+            int index = Arrays.binarySearch(sortedIds, bookingRequest.getId());
+            if (index >= 0) {
+                ordered[positions[index]] = bookingRequest;
+            }
+        }
+        List<BookingRequest> result = new ArrayList<>(ids.length);
+        for (BookingRequest bookingRequest : ordered) {
+            if (bookingRequest != null) {
+                result.add(bookingRequest);
+            }
+        }
         return result;
     }
 }
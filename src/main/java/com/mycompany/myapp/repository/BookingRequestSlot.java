@@ -0,0 +1,16 @@
+package com.mycompany.myapp.repository;
+
+import java.time.Instant;
+
+/**
+ * Projection of a {@link com.mycompany.myapp.domain.BookingRequest} reduced to the room and time window it occupies.
+ */
+public interface BookingRequestSlot {
+    Long getId();
+
+    Long getMeetingRoomId();
+
+    Instant getStartTime();
+
+    Instant getEndTime();
+}
@@ -2,7 +2,9 @@ package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Employee;
 import java.util.Optional;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,13 +13,41 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
+    String EMPLOYEE_ID_BY_LOGIN_CACHE = "employeeIdByLogin";
+
     /**
      * Find an employee by their user login.
      *
      * @param userLogin the login of the user.
-     * @return the employee associated with the given user l
-
-    Optional<Long> findById(Long userId);ogin.
+     * @return the employee associated with the given user login.
      */
     Optional<Employee> findOneByUserLogin(String userLogin);
+
+    /**
+     * Find the id of the employee of a user, cached by login until the employee or the user changes.
+     *
+     * @param userLogin the login of the user.
+     * @return the id of the employee associated with the given user login.
+     */
+    @Cacheable(cacheNames = EMPLOYEE_ID_BY_LOGIN_CACHE, unless = "#result == null")
+    @Query("select employee.id from Employee employee where employee.user.login = :userLogin")
+    Optional<Long> findIdByUserLogin(@Param("userLogin") String userLogin);
+
+    /**
+     * Deduct days from the vacation balance of an employee, unless the balance is too low.
+     * <p>
+     * The check and the deduction are a single statement, so concurrent deductions can neither overdraw the balance
+     * nor overwrite each other. Pending changes are flushed first, and the persistence context is cleared afterwards
+     * so that no stale balance is read or written back.
+     *
+     * @param id the id of the employee.
+     * @param days the number of days to deduct.
+     * @return {@code 1} if the balance was deducted, {@code 0} if it is too low or the employee does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update Employee employee set employee.vacationBalance = employee.vacationBalance - :days " +
+        "where employee.id = :id and employee.vacationBalance >= :days"
+    )
+    int deductVacationBalance(@Param("id") Long id, @Param("days") int days);
 }
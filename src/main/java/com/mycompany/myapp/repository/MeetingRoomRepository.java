@@ -1,11 +1,16 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.MeetingRoom;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -28,4 +33,61 @@ public interface MeetingRoomRepository
     default Page<MeetingRoom> findAllWithEagerRelationships(Pageable pageable) {
         return this.fetchBagRelationships(this.findAll(pageable));
     }
+
+    /**
+     * Find the meeting rooms, with their equipment, holding at least {@code minCapacity} people and, when
+     * {@code equipmentId} is given, equipped with it.
+     * <p>
+     * The result is kept in the query cache until a meeting room or an equipment changes.
+     *
+     * @param minCapacity the minimum capacity.
+     * @param equipmentId the id of the required equipment, may be {@code null}.
+     * @return the matching meeting rooms.
+     */
+    @Query(
+        "select distinct meetingRoom from MeetingRoom meetingRoom left join fetch meetingRoom.equipment " +
+        "where meetingRoom.capacity >= :minCapacity " +
+        "and (:equipmentId is null or exists (" +
+        "select candidate.id from MeetingRoom candidate join candidate.equipment equipment " +
+        "where candidate = meetingRoom and equipment.id = :equipmentId))"
+    )
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<MeetingRoom> findAllWithEquipmentByMinCapacity(@Param("minCapacity") Integer minCapacity, @Param("equipmentId") Long equipmentId);
+
+    /**
+     * Same as {@link #findAllWithEquipmentByMinCapacity} restricted to the rooms without any booking overlapping
+     * {@code [startTime, endTime)}, in a single query.
+     *
+     * @param minCapacity the minimum capacity.
+     * @param equipmentId the id of the required equipment, may be {@code null}.
+     * @param startTime the start of the requested window.
+     * @param endTime the end of the requested window.
+     * @return the matching free meeting rooms.
+     */
+    @Query(
+        "select distinct meetingRoom from MeetingRoom meetingRoom left join fetch meetingRoom.equipment " +
+        "where meetingRoom.capacity >= :minCapacity " +
+        "and (:equipmentId is null or exists (" +
+        "select candidate.id from MeetingRoom candidate join candidate.equipment equipment " +
+        "where candidate = meetingRoom and equipment.id = :equipmentId)) " +
+        "and not exists (" +
+        "select booking.id from BookingRequest booking " +
+        "where booking.meetingRoom = meetingRoom and booking.startTime < :endTime and booking.endTime > :startTime)"
+    )
+    List<MeetingRoom> findAllAvailableWithEquipment(
+        @Param("minCapacity") Integer minCapacity,
+        @Param("equipmentId") Long equipmentId,
+        @Param("startTime") Instant startTime,
+        @Param("endTime") Instant endTime
+    );
+
+    /**
+     * Load a meeting room and lock its row ({@code SELECT ... FOR UPDATE}) until the end of the current transaction.
+     *
+     * @param id the id of the meeting room.
+     * @return the locked meeting room.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select meetingRoom from MeetingRoom meetingRoom where meetingRoom.id = :id")
+    Optional<MeetingRoom> findOneForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,51 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.NotificationOutbox;
+import com.mycompany.myapp.domain.enumeration.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the NotificationOutbox entity.
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+    /**
+     * Lock the oldest notifications due for delivery, skipping those already locked by another relay
+     * ({@code SELECT ... FOR UPDATE SKIP LOCKED}).
+     *
+     * @param status the status of the notifications.
+     * @param now the current instant.
+     * @param pageable the maximum number of notifications.
+     * @return the locked notifications.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select notification from NotificationOutbox notification " +
+        "where notification.status = :status and notification.nextAttemptAt <= :now order by notification.id"
+    )
+    List<NotificationOutbox> findDueForUpdate(@Param("status") OutboxStatus status, @Param("now") Instant now, Pageable pageable);
+
+    @Query("select notification.idempotencyKey from NotificationOutbox notification where notification.idempotencyKey in :keys")
+    Set<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> keys);
+
+    @Modifying
+    @Query(
+        "update NotificationOutbox notification set notification.status = :status, notification.sentAt = :sentAt, " +
+        "notification.lastError = null where notification.id in :ids"
+    )
+    int markSent(@Param("ids") Collection<Long> ids, @Param("status") OutboxStatus status, @Param("sentAt") Instant sentAt);
+
+    @Modifying
+    @Query("delete from NotificationOutbox notification where notification.status = :status and notification.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") OutboxStatus status, @Param("before") Instant before);
+}
@@ -0,0 +1,74 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.VacationDaySummary;
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the VacationDaySummary entity.
+ */
+@Repository
+public interface VacationDaySummaryRepository extends JpaRepository<VacationDaySummary, VacationDaySummary.Key> {
+    /**
+     * Add days to a summary row, creating it if needed, in one statement safe against concurrent additions.
+     *
+     * @param employeeId the id of the employee.
+     * @param year the year.
+     * @param vacationType the name of the vacation type.
+     * @param days the days to add.
+     */
+    @Modifying
+    @Query(
+        value = "insert into vacation_day_summary (employee_id, vacation_year, vacation_type, days) " +
+        "values (:employeeId, :year, :vacationType, :days) on duplicate key update days = days + :days",
+        nativeQuery = true
+    )
+    void addDays(
+        @Param("employeeId") Long employeeId,
+        @Param("year") int year,
+        @Param("vacationType") String vacationType,
+        @Param("days") int days
+    );
+
+    @Query(
+        "select summary.id.vacationType as vacationType, sum(summary.days) as days from VacationDaySummary summary " +
+        "where summary.id.year = :year and summary.id.employeeId = :employeeId group by summary.id.vacationType"
+    )
+    List<VacationDayTotal> sumByEmployee(@Param("year") int year, @Param("employeeId") Long employeeId);
+
+    @Query(
+        "select summary.id.vacationType as vacationType, sum(summary.days) as days " +
+        "from VacationDaySummary summary, Employee employee " +
+        "where employee.id = summary.id.employeeId and summary.id.year = :year and employee.userRole = :department " +
+        "group by summary.id.vacationType"
+    )
+    List<VacationDayTotal> sumByDepartment(@Param("year") int year, @Param("department") DepartmentType department);
+
+    @Query(
+        "select summary.id.vacationType as vacationType, sum(summary.days) as days from VacationDaySummary summary " +
+        "where summary.id.year = :year group by summary.id.vacationType"
+    )
+    List<VacationDayTotal> sumByYear(@Param("year") int year);
+
+    /**
+     * Rebuild all the summary rows from the vacation entries of the ledger.
+     *
+     * @return the number of summary rows.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "insert into vacation_day_summary (employee_id, vacation_year, vacation_type, days) " +
+        "select entry.employee_id, entry.vacation_year, entry.vacation_type, -sum(entry.days) from vacation_ledger_entry entry " +
+        "where entry.entry_type = 'VACATION' and entry.vacation_type is not null " +
+        "group by entry.employee_id, entry.vacation_year, entry.vacation_type",
+        nativeQuery = true
+    )
+    int insertFromLedger();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from vacation_day_summary", nativeQuery = true)
+    int deleteAllRows();
+}
@@ -0,0 +1,12 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.enumeration.VacationType;
+
+/**
+ * Projection of {@link com.mycompany.myapp.domain.VacationDaySummary} rows summed by vacation type.
+ */
+public interface VacationDayTotal {
+    VacationType getVacationType();
+
+    Long getDays();
+}
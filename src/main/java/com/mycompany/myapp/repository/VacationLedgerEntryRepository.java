@@ -0,0 +1,34 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.VacationLedgerEntry;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the VacationLedgerEntry entity.
+ */
+@Repository
+public interface VacationLedgerEntryRepository extends JpaRepository<VacationLedgerEntry, Long> {
+    /**
+     * Find the ledger entries of an employee, in the order they were appended.
+     *
+     * @param employeeId the id of the employee.
+     * @return the entries.
+     */
+    List<VacationLedgerEntry> findByEmployeeIdOrderById(Long employeeId);
+
+    /**
+     * Set the vacation balance of each employee having ledger entries to the sum of their days.
+     *
+     * @return the number of employees.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        value = "update employee set vacation_balance = " +
+        "(select sum(entry.days) from vacation_ledger_entry entry where entry.employee_id = employee.id) " +
+        "where exists (select 1 from vacation_ledger_entry entry where entry.employee_id = employee.id)",
+        nativeQuery = true
+    )
+    int replayBalances();
+}
@@ -1,8 +1,14 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.VacationRequest;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -18,4 +24,52 @@ public interface VacationRequestRepository extends JpaRepository<VacationRequest
      * @return a list of VacationRequests associated with the given employee ID
      */
     List<VacationRequest> findByEmployeeId(Long employeeId);
+
+    /**
+     * Find VacationRequests with their employee and lock them until the end of the transaction, in the id order so
+     * that concurrent callers lock them in the same order.
+     *
+     * @param ids the ids of the VacationRequests.
+     * @return the locked VacationRequests found.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select vacationRequest from VacationRequest vacationRequest left join fetch vacationRequest.employee " +
+        "where vacationRequest.id in :ids order by vacationRequest.id"
+    )
+    List<VacationRequest> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Load a VacationRequest with its employee and lock its row ({@code SELECT ... FOR UPDATE}) until the end of the
+     * current transaction.
+     *
+     * @param id the id of the VacationRequest.
+     * @return the locked VacationRequest.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select vacationRequest from VacationRequest vacationRequest left join fetch vacationRequest.employee " +
+        "where vacationRequest.id = :id"
+    )
+    Optional<VacationRequest> findOneForUpdate(@Param("id") Long id);
+
+    /**
+     * Find the VacationRequests of an employee ending on or after a day, for their calendar feed.
+     *
+     * @param employeeId the id of the employee.
+     * @param endFrom the day the VacationRequests must end on or after.
+     * @param changedAfter the time the VacationRequests must have been created or updated after, {@code null} for any.
+     * @return the VacationRequests, in the start date order.
+     */
+    @Query(
+        "select vacationRequest from VacationRequest vacationRequest " +
+        "where vacationRequest.employee.id = :employeeId and vacationRequest.endDate >= :endFrom " +
+        "and (:changedAfter is null or coalesce(vacationRequest.updatedAt, vacationRequest.createdAt) > :changedAfter) " +
+        "order by vacationRequest.startDate, vacationRequest.id"
+    )
+    List<VacationRequest> findAllForEmployeeCalendar(
+        @Param("employeeId") Long employeeId,
+        @Param("endFrom") LocalDate endFrom,
+        @Param("changedAfter") Instant changedAfter
+    );
 }
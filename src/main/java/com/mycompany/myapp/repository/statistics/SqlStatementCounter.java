@@ -0,0 +1,102 @@
+package com.mycompany.myapp.repository.statistics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Hibernate statement inspector and interceptor counting the SQL statements prepared and the entities loaded by the
+ * current thread, between {@link #begin()} and {@link #end()}.
+ * <p>
+ * Outside of such a scope it does nothing but a thread-local lookup.
+ */
+public class SqlStatementCounter implements StatementInspector, Interceptor {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Start counting for the current thread.
+     *
+     * @return the counts, updated until {@link #end()}.
+     */
+    public static Counts begin() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /**
+     * Stop counting for the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statement(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+        return false;
+    }
+
+    /**
+     * The SQL statements and entity loads of a thread, not thread-safe.
+     */
+    public static final class Counts {
+
+        private int statements;
+
+        private int entityLoads;
+
+        private final Map<String, Integer> executions = new LinkedHashMap<>();
+
+        private void statement(String sql) {
+            statements++;
+            executions.merge(sql, 1, Integer::sum);
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public int getEntityLoads() {
+            return entityLoads;
+        }
+
+        /**
+         * @return the distinct statements prepared, in the order they were first prepared.
+         */
+        public List<String> getDistinctStatements() {
+            return new ArrayList<>(executions.keySet());
+        }
+
+        /**
+         * @return the statement prepared the most times and its count, a statement repeated with other parameters
+         * being the mark of an N+1 select.
+         */
+        public Optional<Map.Entry<String, Integer>> getMostRepeatedStatement() {
+            return executions.entrySet().stream().max(Map.Entry.comparingByValue());
+        }
+
+        @Override
+        public String toString() {
+            return "Counts{statements=" + statements + ", entityLoads=" + entityLoads + "}";
+        }
+    }
+}
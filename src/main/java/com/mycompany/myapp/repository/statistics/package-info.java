@@ -0,0 +1,4 @@
+/**
+ * Counting of the SQL statements and entity loads of each HTTP request.
+ */
+package com.mycompany.myapp.repository.statistics;
@@ -23,6 +23,8 @@ public final class SecurityUtils {
 
     public static final String USER_ID_CLAIM = "userId";
 
+    public static final String EMPLOYEE_ID_CLAIM = "employeeId";
+
     private SecurityUtils() {}
 
     /**
@@ -73,6 +75,19 @@ public final class SecurityUtils {
             .map(principal -> principal.getClaim(USER_ID_CLAIM));
     }
 
+    /**
+     * Get the Id of the employee of the current user, as issued in the JWT.
+     *
+     * @return the Id of the employee of the current user, empty if the token does not carry it.
+     */
+    public static Optional<Long> getCurrentEmployeeId() {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return Optional.ofNullable(securityContext.getAuthentication())
+            .filter(authentication -> authentication.getPrincipal() instanceof ClaimAccessor)
+            .map(authentication -> (ClaimAccessor) authentication.getPrincipal())
+            .map(principal -> principal.getClaim(EMPLOYEE_ID_CLAIM));
+    }
+
     /**
      * Check if a user is authenticated.
      *
@@ -1,9 +1,16 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Attachment;
+import com.mycompany.myapp.domain.VacationRequest;
 import com.mycompany.myapp.repository.AttachmentRepository;
+import com.mycompany.myapp.repository.VacationRequestRepository;
 import com.mycompany.myapp.service.dto.AttachmentDTO;
 import com.mycompany.myapp.service.mapper.AttachmentMapper;
+import com.mycompany.myapp.service.storage.AttachmentContentStore;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +18,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 /**
  * Service Implementation for managing {@link com.mycompany.myapp.domain.Attachment}.
@@ -25,9 +33,20 @@ public class AttachmentService {
 
     private final AttachmentMapper attachmentMapper;
 
-    public AttachmentService(AttachmentRepository attachmentRepository, AttachmentMapper attachmentMapper) {
+    private final AttachmentContentStore attachmentContentStore;
+
+    private final VacationRequestRepository vacationRequestRepository;
+
+    public AttachmentService(
+        AttachmentRepository attachmentRepository,
+        AttachmentMapper attachmentMapper,
+        AttachmentContentStore attachmentContentStore,
+        VacationRequestRepository vacationRequestRepository
+    ) {
         this.attachmentRepository = attachmentRepository;
         this.attachmentMapper = attachmentMapper;
+        this.attachmentContentStore = attachmentContentStore;
+        this.vacationRequestRepository = vacationRequestRepository;
     }
 
     /**
@@ -43,6 +62,51 @@ public class AttachmentService {
         return attachmentMapper.toDto(attachment);
     }
 
+    /**
+     * Upload the content of a new attachment, its size and checksum computed while it is stored.
+     * <p>
+     * The content is stored before any query: as Hibernate only takes a connection on the first statement, none is
+     * held while a slow client uploads.
+     *
+     * @param name the original file name of the content.
+     * @param contentType the media type of the content, if known.
+     * @param content the content, read to its end but not closed.
+     * @param vacationRequestId the id of the vacation request of the attachment, if any.
+     * @return the persisted entity.
+     * @throws IOException if the content cannot be read or stored.
+     * @throws BadRequestAlertException if the vacation request does not exist.
+     */
+    public AttachmentDTO upload(String name, String contentType, InputStream content, Long vacationRequestId) throws IOException {
+        LOG.debug("Request to upload Attachment : {}", name);
+        AttachmentContentStore.StoredContent storedContent = attachmentContentStore.store(content);
+        VacationRequest vacationRequest = null;
+        if (vacationRequestId != null) {
+            vacationRequest = vacationRequestRepository
+                .findById(vacationRequestId)
+                .orElseThrow(() -> new BadRequestAlertException("Vacation request not found", "attachment", "idnotfound"));
+        }
+        Attachment attachment = new Attachment()
+            .name(fileName(name))
+            .contentType(contentType != null && contentType.length() <= 100 ? contentType : null)
+            .fileSize(storedContent.size())
+            .checksum(storedContent.checksum())
+            .uploadedAt(Instant.now())
+            .vacationRequest(vacationRequest);
+        // The sequence assigns the id on persist while the insert waits for the flush, so it carries the URL set after
+        attachment = attachmentRepository.save(attachment.url(""));
+        attachment.setUrl("/api/attachments/" + attachment.getId() + "/content");
+        return attachmentMapper.toDto(attachment);
+    }
+
+    private static String fileName(String name) {
+        // Browsers of old sent the full client path
+        String fileName = StringUtils.getFilename(StringUtils.cleanPath(name != null ? name : ""));
+        if (!StringUtils.hasText(fileName)) {
+            return "attachment";
+        }
+        return fileName.length() > 255 ? fileName.substring(0, 255) : fileName;
+    }
+
     /**
      * Update a attachment.
      *
@@ -52,6 +116,8 @@ public class AttachmentService {
     public AttachmentDTO update(AttachmentDTO attachmentDTO) {
         LOG.debug("Request to update Attachment : {}", attachmentDTO);
         Attachment attachment = attachmentMapper.toEntity(attachmentDTO);
+        // Keep the checksum of the uploaded content, a client could otherwise point the attachment to any stored one
+        attachment.setChecksum(attachmentRepository.findById(attachmentDTO.getId()).map(Attachment::getChecksum).orElse(null));
         attachment = attachmentRepository.save(attachment);
         return attachmentMapper.toDto(attachment);
     }
@@ -0,0 +1,237 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.repository.BookingRequestRepository;
+import com.mycompany.myapp.service.criteria.BookingRequestCriteria;
+import com.mycompany.myapp.service.dto.BookingRequestDTO;
+import com.mycompany.myapp.service.dto.EmployeeDTO;
+import com.mycompany.myapp.service.mapper.BookingRequestMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting the {@link BookingRequest}s matching a {@link BookingRequestCriteria}.
+ * <p>
+ * The booking requests are read from a forward-only cursor in chunks of {@value #CHUNK_SIZE}, mapped through the
+ * {@link BookingRequestMapper} and written to the output as soon as they are read, so the memory used does not depend
+ * on the number of exported booking requests.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookingRequestExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookingRequestExportService.class);
+
+    static final int CHUNK_SIZE = 500;
+
+    static final List<String> CSV_HEADER = List.of(
+        "id",
+        "startTime",
+        "endTime",
+        "status",
+        "createdAt",
+        "updatedAt",
+        "purpose",
+        "employeeId",
+        "employeeName",
+        "meetingRoomId",
+        "meetingRoomName",
+        "invitedUserIds"
+    );
+
+    /**
+     * The formats of an export.
+     */
+    public enum Format {
+        /**
+         * One JSON {@link BookingRequestDTO} per line.
+         */
+        NDJSON("application/x-ndjson", "ndjson"),
+
+        /**
+         * One comma separated line per booking request, after a header line, as in RFC 4180.
+         */
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+
+        private final String fileExtension;
+
+        Format(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+
+    private final BookingRequestRepository bookingRequestRepository;
+
+    private final BookingRequestQueryService bookingRequestQueryService;
+
+    private final BookingRequestMapper bookingRequestMapper;
+
+    private final ObjectWriter dtoWriter;
+
+    public BookingRequestExportService(
+        BookingRequestRepository bookingRequestRepository,
+        BookingRequestQueryService bookingRequestQueryService,
+        BookingRequestMapper bookingRequestMapper,
+        ObjectMapper objectMapper
+    ) {
+        this.bookingRequestRepository = bookingRequestRepository;
+        this.bookingRequestQueryService = bookingRequestQueryService;
+        this.bookingRequestMapper = bookingRequestMapper;
+        // Lines are separated by their own line break, and the output is flushed once per chunk rather than once per line
+        this.dtoWriter = objectMapper
+            .writerFor(BookingRequestDTO.class)
+            .withRootValueSeparator((String) null)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Write the booking requests matching the criteria, in the id order.
+     *
+     * @param criteria the criteria which the exported booking requests should match.
+     * @param format the format of the export.
+     * @param outputStream the output, flushed after each chunk and left open.
+     * @throws IOException if the output cannot be written, e.g. when the client went away.
+     */
+    public void exportByCriteria(BookingRequestCriteria criteria, Format format, OutputStream outputStream) throws IOException {
+        LOG.debug("export by criteria : {}, format: {}", criteria, format);
+        final Specification<BookingRequest> specification = bookingRequestQueryService.createSpecification(criteria);
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(outputStream) : new NdjsonRowWriter(dtoWriter, outputStream);
+        try {
+            bookingRequestRepository.streamWithEagerRelationships(specification, CHUNK_SIZE, chunk -> {
+                try {
+                    for (BookingRequest bookingRequest : chunk) {
+                        rowWriter.write(bookingRequestMapper.toDto(bookingRequest));
+                    }
+                    rowWriter.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rowWriter.flush();
+    }
+
+    /**
+     * Format a booking request as a CSV line, without its line break.
+     */
+    static String toCsvLine(BookingRequestDTO bookingRequest) {
+        EmployeeDTO employee = bookingRequest.getEmployee();
+        String invitedUserIds = bookingRequest
+            .getInvitedUsers()
+            .stream()
+            .map(EmployeeDTO::getId)
+            .sorted()
+            .map(String::valueOf)
+            .collect(Collectors.joining(" "));
+        return Stream.of(
+            bookingRequest.getId(),
+            bookingRequest.getStartTime(),
+            bookingRequest.getEndTime(),
+            bookingRequest.getStatus(),
+            bookingRequest.getCreatedAt(),
+            bookingRequest.getUpdatedAt(),
+            bookingRequest.getPurpose(),
+            employee != null ? employee.getId() : null,
+            employee != null ? employee.getName() : null,
+            bookingRequest.getMeetingRoom() != null ? bookingRequest.getMeetingRoom().getId() : null,
+            bookingRequest.getMeetingRoom() != null ? bookingRequest.getMeetingRoom().getName() : null,
+            invitedUserIds
+        )
+            .map(value -> csvField(Objects.toString(value, "")))
+            .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Quote a CSV field when it holds a separator, a quote or a line break, doubling its quotes.
+     */
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private interface RowWriter {
+        void write(BookingRequestDTO bookingRequest) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final ObjectWriter dtoWriter;
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(ObjectWriter dtoWriter, OutputStream outputStream) throws IOException {
+            this.dtoWriter = dtoWriter;
+            this.generator = dtoWriter.createGenerator(outputStream).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(BookingRequestDTO bookingRequest) throws IOException {
+            dtoWriter.writeValue(generator, bookingRequest);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private static final String LINE_BREAK = "\r\n";
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write(String.join(",", CSV_HEADER));
+            writer.write(LINE_BREAK);
+        }
+
+        @Override
+        public void write(BookingRequestDTO bookingRequest) throws IOException {
+            writer.write(toCsvLine(bookingRequest));
+            writer.write(LINE_BREAK);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
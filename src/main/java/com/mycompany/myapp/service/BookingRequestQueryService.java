@@ -6,11 +6,18 @@ import com.mycompany.myapp.repository.BookingRequestRepository;
 import com.mycompany.myapp.service.criteria.BookingRequestCriteria;
 import com.mycompany.myapp.service.dto.BookingRequestDTO;
 import com.mycompany.myapp.service.mapper.BookingRequestMapper;
+import com.mycompany.myapp.service.pagination.ContinuationTokens;
 import jakarta.persistence.criteria.JoinType;
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +35,13 @@ public class BookingRequestQueryService extends QueryService<BookingRequest> {
 
     private static final Logger LOG = LoggerFactory.getLogger(BookingRequestQueryService.class);
 
+    private static final Map<String, Function<String, ?>> SCROLL_KEYS = Map.of(
+        BookingRequest_.START_TIME,
+        Instant::parse,
+        BookingRequest_.ID,
+        Long::valueOf
+    );
+
     private final BookingRequestRepository bookingRequestRepository;
 
     private final BookingRequestMapper bookingRequestMapper;
@@ -47,8 +61,30 @@ public class BookingRequestQueryService extends QueryService<BookingRequest> {
     public Page<BookingRequestDTO> findByCriteria(BookingRequestCriteria criteria, Pageable page) {
         LOG.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<BookingRequest> specification = createSpecification(criteria);
+        return bookingRequestRepository.findAllWithEagerRelationships(specification, page).map(bookingRequestMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Window} of {@link BookingRequestDTO} which matches the criteria from the database, in the
+     * {@code (startTime, id)} order, starting after the position of a continuation token.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param continuationToken The token of the previous window, {@code null} for the first one.
+     * @param direction The direction of the order.
+     * @param size The maximum number of entities.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<BookingRequestDTO> scrollByCriteria(
+        BookingRequestCriteria criteria,
+        String continuationToken,
+        Sort.Direction direction,
+        int size
+    ) {
+        LOG.debug("scroll by criteria : {}, continuation: {}", criteria, continuationToken);
+        KeysetScrollPosition position = ContinuationTokens.decode(continuationToken, SCROLL_KEYS, "bookingRequest");
+        final Specification<BookingRequest> specification = createSpecification(criteria);
         return bookingRequestRepository
-            .fetchBagRelationships(bookingRequestRepository.findAll(specification, page))
+            .scrollWithEagerRelationships(specification, position, direction, size)
             .map(bookingRequestMapper::toDto);
     }
 
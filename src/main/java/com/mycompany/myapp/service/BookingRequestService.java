@@ -7,19 +7,26 @@ import com.mycompany.myapp.domain.enumeration.Status;
 import com.mycompany.myapp.repository.BookingRequestRepository;
 import com.mycompany.myapp.repository.EmployeeRepository;
 import com.mycompany.myapp.repository.MeetingRoomRepository;
-import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.availability.RoomAdmissionLocks;
+import com.mycompany.myapp.service.availability.RoomAvailabilityIndex;
+import com.mycompany.myapp.service.calendar.CalendarFeedVersions;
 import com.mycompany.myapp.service.dto.BookingRequestDTO;
+import com.mycompany.myapp.service.dto.DecisionDTO;
+import com.mycompany.myapp.service.mail.NotificationOutboxService;
 import com.mycompany.myapp.service.mapper.BookingRequestMapper;
 import com.mycompany.myapp.service.mapper.EmployeeMapper;
+import com.mycompany.myapp.service.occupancy.RoomOccupancyHub;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import org.checkerframework.checker.units.qual.t;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -53,7 +60,12 @@ public class BookingRequestService {
     private final EmployeeRepository employeeRepository;
     private final EmployeeMapper employeeMapper;
     private final MeetingRoomRepository meetingRoomRepository;
-    private final MailService mailService;
+    private final NotificationOutboxService notificationOutboxService;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final RoomAdmissionLocks roomAdmissionLocks;
+    private final CurrentEmployeeService currentEmployeeService;
+    private final CalendarFeedVersions calendarFeedVersions;
+    private final RoomOccupancyHub roomOccupancyHub;
 
     public BookingRequestService(
         BookingRequestRepository bookingRequestRepository,
@@ -61,14 +73,24 @@ public class BookingRequestService {
         EmployeeRepository employeeRepository,
         EmployeeMapper employeeMapper,
         MeetingRoomRepository meetingRoomRepository,
-        MailService mailService
+        NotificationOutboxService notificationOutboxService,
+        RoomAvailabilityIndex roomAvailabilityIndex,
+        RoomAdmissionLocks roomAdmissionLocks,
+        CurrentEmployeeService currentEmployeeService,
+        CalendarFeedVersions calendarFeedVersions,
+        RoomOccupancyHub roomOccupancyHub
     ) {
         this.bookingRequestRepository = bookingRequestRepository;
         this.bookingRequestMapper = bookingRequestMapper;
         this.employeeRepository = employeeRepository;
         this.employeeMapper = employeeMapper;
         this.meetingRoomRepository = meetingRoomRepository;
-        this.mailService = mailService;
+        this.notificationOutboxService = notificationOutboxService;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.roomAdmissionLocks = roomAdmissionLocks;
+        this.currentEmployeeService = currentEmployeeService;
+        this.calendarFeedVersions = calendarFeedVersions;
+        this.roomOccupancyHub = roomOccupancyHub;
     }
 
     /**
@@ -82,14 +104,18 @@ public class BookingRequestService {
     public BookingRequestDTO save(BookingRequestDTO bookingRequestDTO) {
         LOG.debug("Creating BookingRequest for current user: {}", bookingRequestDTO);
 
-        bookingRequestDTO.setCreatedAt(Instant.now());
+        // Stamped by the server, as the sync tokens of the calendar feeds compare them
+        Instant now = Instant.now();
+        bookingRequestDTO.setCreatedAt(now);
+        bookingRequestDTO.setUpdatedAt(now);
 
-        // Get current user
-        Long userId = SecurityUtils.getCurrentUserId()
+        // Get current employee
+        Long employeeId = currentEmployeeService
+            .getCurrentEmployeeId()
             .orElseThrow(() -> new BadRequestAlertException("Current user ID not found", "bookingRequest", "usernotfound"));
 
         Employee employee = employeeRepository
-            .findById(userId)
+            .findById(employeeId)
             .orElseThrow(() -> new BadRequestAlertException("Employee not found for current user", "bookingRequest", "employeenotfound"));
 
         bookingRequestDTO.setEmployee(employeeMapper.toDto(employee));
@@ -100,20 +126,7 @@ public class BookingRequestService {
             throw new BadRequestAlertException("Meeting room is required", "bookingRequest", "roomnotfound");
         }
 
-        MeetingRoom meetingRoom = meetingRoomRepository
-            .findById(roomId)
-            .orElseThrow(() -> new BadRequestAlertException("Meeting room not found", "bookingRequest", "roomnotfound"));
-
-        // Check time overlapping for same room
-        boolean hasOverlap = bookingRequestRepository.existsByMeetingRoomIdAndTimeOverlap(
-            roomId,
-            bookingRequestDTO.getStartTime(),
-            bookingRequestDTO.getEndTime()
-        );
-
-        if (hasOverlap) {
-            throw new BadRequestAlertException("error.timeoverlap", "bookingRequest", "timeoverlap");
-        }
+        MeetingRoom meetingRoom = admit(roomId, bookingRequestDTO.getStartTime(), bookingRequestDTO.getEndTime(), null);
 
         // Set status based on requiresApproval
         if (Boolean.TRUE.equals(meetingRoom.getRequiresApproval())) {
@@ -125,16 +138,14 @@ public class BookingRequestService {
         // Save booking request
         BookingRequest entity = bookingRequestMapper.toEntity(bookingRequestDTO);
         entity = bookingRequestRepository.save(entity);
-        //Send confirmation email for auto-approved bookings or pending requests
-        try {
-            if (entity.getStatus() == Status.APPROVED) {
-                sendNotificationEmails(entity, true);
-            } else if (entity.getStatus() == Status.PENDING) {
-                sendNotificationEmails(entity, false);
-            }
-        } catch (Exception e) {
-            LOG.error("Failed to send confirmation email for booking {}: {}", entity.getId(), e.getMessage());
-            // Don't throw exception as booking was successful, just log the email error
+        roomAvailabilityIndex.indexAfterCommit(entity);
+        calendarFeedVersions.touchAfterCommit(entity);
+        roomOccupancyHub.bookedAfterCommit(entity);
+        // Queue confirmation email for auto-approved bookings or pending requests, in the booking transaction
+        if (entity.getStatus() == Status.APPROVED) {
+            sendNotificationEmails(entity, true);
+        } else if (entity.getStatus() == Status.PENDING) {
+            sendNotificationEmails(entity, false);
         }
 
         return bookingRequestMapper.toDto(entity);
@@ -154,13 +165,29 @@ public class BookingRequestService {
         BookingRequest existing = bookingRequestRepository
             .findById(bookingRequestDTO.getId())
             .orElseThrow(() -> new BadRequestAlertException("Booking not found", "bookingRequest", "idnotfound"));
+        // Bump the feeds the booking may leave, before its room or employee changes
+        calendarFeedVersions.touchAfterCommit(existing);
+        Long previousRoomId = existing.getMeetingRoom().getId();
+        Status previousStatus = existing.getStatus();
+
+        // Re-admit the booking when it moves to another room or time window
+        Long roomId = bookingRequestDTO.getMeetingRoom() != null && bookingRequestDTO.getMeetingRoom().getId() != null
+            ? bookingRequestDTO.getMeetingRoom().getId()
+            : existing.getMeetingRoom().getId();
+        boolean rescheduled =
+            !Objects.equals(roomId, existing.getMeetingRoom().getId()) ||
+            !Objects.equals(bookingRequestDTO.getStartTime(), existing.getStartTime()) ||
+            !Objects.equals(bookingRequestDTO.getEndTime(), existing.getEndTime());
+        if (rescheduled) {
+            existing.setMeetingRoom(admit(roomId, bookingRequestDTO.getStartTime(), bookingRequestDTO.getEndTime(), existing.getId()));
+        }
 
         // 🔹 Update fields from DTO
         existing.setStartTime(bookingRequestDTO.getStartTime());
         existing.setEndTime(bookingRequestDTO.getEndTime());
         existing.setPurpose(bookingRequestDTO.getPurpose());
         existing.setStatus(bookingRequestDTO.getStatus());
-        existing.setUpdatedAt(bookingRequestDTO.getUpdatedAt());
+        existing.setUpdatedAt(Instant.now());
 
         // Link employee from DTO if present
         if (bookingRequestDTO.getEmployee() != null && bookingRequestDTO.getEmployee().getId() != null) {
@@ -170,46 +197,120 @@ public class BookingRequestService {
             existing.setEmployee(employee);
         }
 
-        // Link meeting room if present
-        if (bookingRequestDTO.getMeetingRoom() != null && bookingRequestDTO.getMeetingRoom().getId() != null) {
-            MeetingRoom room = meetingRoomRepository
-                .findById(bookingRequestDTO.getMeetingRoom().getId())
-                .orElseThrow(() -> new BadRequestAlertException("Meeting room not found", "bookingRequest", "roomnotfound"));
-            existing.setMeetingRoom(room);
-        }
-
         // Save entity
         BookingRequest saved = bookingRequestRepository.save(existing);
+        roomAvailabilityIndex.indexAfterCommit(saved);
+        calendarFeedVersions.touchAfterCommit(saved);
+        roomOccupancyHub.changedAfterCommit(previousRoomId, saved);
 
         // 🔹 Send email if status changed
-        if (saved.getStatus() == Status.APPROVED) {
+        if (saved.getStatus() != previousStatus && saved.getStatus() == Status.APPROVED) {
             sendNotificationEmails(saved, true);
-        } else if (saved.getStatus() == Status.REJECTED) {
+        } else if (saved.getStatus() != previousStatus && saved.getStatus() == Status.REJECTED) {
             sendNotificationEmails(saved, false);
         }
 
         return bookingRequestMapper.toDto(saved);
     }
 
+    /**
+     * Admit a booking into a meeting room for a time window.
+     * <p>
+     * Admissions for the room are serialized until commit, in this instance through the striped lock and across
+     * instances through the row lock on the meeting room. The overlapping bookings are then read with a locking read,
+     * which sees the bookings committed while waiting for the locks: a plain read would be answered from the snapshot
+     * of the transaction, taken by its first read. The {@link RoomAvailabilityIndex} is not consulted: it only learns
+     * the bookings of other instances on its refresh, so the database would have to confirm its answer either way.
+     *
+     * @param roomId the id of the meeting room.
+     * @param startTime the start of the window.
+     * @param endTime the end of the window.
+     * @param excludedBookingId the id of the booking being rescheduled, {@code null} for a new one.
+     * @return the locked meeting room.
+     */
+    private MeetingRoom admit(Long roomId, Instant startTime, Instant endTime, Long excludedBookingId) {
+        roomAdmissionLocks.lockUntilCompletion(roomId);
+        MeetingRoom meetingRoom = meetingRoomRepository
+            .findOneForUpdate(roomId)
+            .orElseThrow(() -> new BadRequestAlertException("Meeting room not found", "bookingRequest", "roomnotfound"));
+        if (!bookingRequestRepository.findAllOverlappingForUpdate(roomId, startTime, endTime, excludedBookingId).isEmpty()) {
+            throw new BadRequestAlertException("error.timeoverlap", "bookingRequest", "timeoverlap");
+        }
+        return meetingRoom;
+    }
+
+    /**
+     * Approve or reject many pending bookingRequests at once.
+     * <p>
+     * The bookingRequests are locked and updated in JDBC batches, and the emails are queued together. Nothing is
+     * decided if a bookingRequest is missing or no longer pending.
+     *
+     * @param decision the ids of the bookingRequests and the decision, {@code APPROVED} or {@code REJECTED}.
+     * @return the number of decided bookingRequests.
+     */
+    @Transactional
+    public int decide(DecisionDTO decision) {
+        LOG.debug("Request to decide BookingRequests : {}", decision);
+        Status status = decision.getDecision();
+        if (status != Status.APPROVED && status != Status.REJECTED) {
+            throw new BadRequestAlertException("A decision must approve or reject", "bookingRequest", "invaliddecision");
+        }
+        Set<Long> ids = new LinkedHashSet<>(decision.getIds());
+        List<BookingRequest> bookingRequests = bookingRequestRepository.findAllByIdForUpdate(ids);
+        if (bookingRequests.size() != ids.size()) {
+            throw new BadRequestAlertException("Booking not found", "bookingRequest", "idnotfound");
+        }
+        // Load the invited users of all the bookingRequests with one query, for the recipients of the emails
+        bookingRequestRepository.fetchBagRelationships(bookingRequests);
+
+        Instant now = Instant.now();
+        List<NotificationOutboxService.Notification> notifications = new ArrayList<>(bookingRequests.size());
+        for (BookingRequest bookingRequest : bookingRequests) {
+            if (bookingRequest.getStatus() != Status.PENDING) {
+                throw new BadRequestAlertException("Booking is not pending", "bookingRequest", "notpending");
+            }
+            // Flushed as batched updates, as hibernate.order_updates groups them by statement
+            bookingRequest.setStatus(status);
+            bookingRequest.setUpdatedAt(now);
+            calendarFeedVersions.touchAfterCommit(bookingRequest);
+            roomOccupancyHub.changedAfterCommit(null, bookingRequest);
+            notifications.add(decisionNotification(bookingRequest, status == Status.APPROVED));
+        }
+        notificationOutboxService.enqueueAll(notifications);
+        return bookingRequests.size();
+    }
+
     private void sendNotificationEmails(BookingRequest request, boolean approved) {
+        notificationOutboxService.enqueueAll(List.of(decisionNotification(request, approved)));
+    }
+
+    private NotificationOutboxService.Notification decisionNotification(BookingRequest request, boolean approved) {
         String subject = approved ? "Booking Approved ✅" : "Booking Rejected ❌";
         String message = approved ? "Your booking request has been approved." : "Your booking request has been rejected.";
 
-        // Send to employee
+        // Queue for the employee and the invited users (if you have them mapped in entity), sent after commit
+        Set<String> recipients = new LinkedHashSet<>();
         if (request.getEmployee() != null && request.getEmployee().getEmail() != null) {
-            mailService.sendEmail(request.getEmployee().getEmail(), subject, message, false, false);
+            recipients.add(request.getEmployee().getEmail());
         }
-
-        // Send to invited users (if you have them mapped in entity)
         if (request.getInvitedUsers() != null) {
             request
                 .getInvitedUsers()
                 .forEach(user -> {
                     if (user.getEmail() != null) {
-                        mailService.sendEmail(user.getEmail(), subject, message, false, false);
+                        recipients.add(user.getEmail());
                     }
                 });
         }
+        return new NotificationOutboxService.Notification(
+            BookingRequest.class.getSimpleName(),
+            request.getId(),
+            request.getStatus().name(),
+            request.getUpdatedAt(),
+            recipients,
+            subject,
+            message
+        );
     }
 
     /**
@@ -224,11 +325,37 @@ public class BookingRequestService {
         return bookingRequestRepository
             .findById(bookingRequestDTO.getId())
             .map(existingBookingRequest -> {
+                calendarFeedVersions.touchAfterCommit(existingBookingRequest);
+                Long previousRoomId = existingBookingRequest.getMeetingRoom() != null
+                    ? existingBookingRequest.getMeetingRoom().getId()
+                    : null;
+
+                // Re-admit the booking when it moves to another room or time window, as update does
+                Long roomId = bookingRequestDTO.getMeetingRoom() != null && bookingRequestDTO.getMeetingRoom().getId() != null
+                    ? bookingRequestDTO.getMeetingRoom().getId()
+                    : previousRoomId;
+                Instant startTime = bookingRequestDTO.getStartTime() != null
+                    ? bookingRequestDTO.getStartTime()
+                    : existingBookingRequest.getStartTime();
+                Instant endTime = bookingRequestDTO.getEndTime() != null
+                    ? bookingRequestDTO.getEndTime()
+                    : existingBookingRequest.getEndTime();
+                if (
+                    !Objects.equals(roomId, previousRoomId) ||
+                    !Objects.equals(startTime, existingBookingRequest.getStartTime()) ||
+                    !Objects.equals(endTime, existingBookingRequest.getEndTime())
+                ) {
+                    existingBookingRequest.setMeetingRoom(admit(roomId, startTime, endTime, existingBookingRequest.getId()));
+                }
                 bookingRequestMapper.partialUpdate(existingBookingRequest, bookingRequestDTO);
+                existingBookingRequest.setUpdatedAt(Instant.now());
 
-                return existingBookingRequest;
+                BookingRequest saved = bookingRequestRepository.save(existingBookingRequest);
+                roomAvailabilityIndex.indexAfterCommit(saved);
+                calendarFeedVersions.touchAfterCommit(saved);
+                roomOccupancyHub.changedAfterCommit(previousRoomId, saved);
+                return saved;
             })
-            .map(bookingRequestRepository::save)
             .map(bookingRequestMapper::toDto);
     }
 
@@ -260,6 +387,13 @@ public class BookingRequestService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete BookingRequest : {}", id);
+        bookingRequestRepository
+            .findById(id)
+            .ifPresent(bookingRequest -> {
+                calendarFeedVersions.touchAfterCommit(bookingRequest);
+                roomOccupancyHub.releasedAfterCommit(bookingRequest);
+            });
         bookingRequestRepository.deleteById(id);
+        roomAvailabilityIndex.removeAfterCommit(id);
     }
 }
@@ -1,9 +1,7 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.BookingRequest;
-import com.mycompany.myapp.domain.Employee;
 import com.mycompany.myapp.repository.BookingRequestRepository;
-import com.mycompany.myapp.repository.EmployeeRepository;
 import com.mycompany.myapp.repository.MeetingRoomRepository;
 import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.service.criteria.BookingRequestCriteria;
@@ -36,18 +34,18 @@ public class BookingRequestServiceExtension {
     private static final String ENTITY_NAME = "bookingRequest";
 
     private final BookingRequestQueryService bookingRequestQueryService;
-    private final EmployeeRepository employeeRepository;
+    private final CurrentEmployeeService currentEmployeeService;
     private final BookingRequestMapper bookingRequestMapper;
     private final BookingRequestRepository bookingRequestRepository;
 
     public BookingRequestServiceExtension(
         BookingRequestQueryService bookingRequestQueryService,
-        EmployeeRepository employeeRepository,
+        CurrentEmployeeService currentEmployeeService,
         BookingRequestMapper bookingRequestMapper,
         BookingRequestRepository bookingRequestRepository
     ) {
         this.bookingRequestQueryService = bookingRequestQueryService;
-        this.employeeRepository = employeeRepository;
+        this.currentEmployeeService = currentEmployeeService;
         this.bookingRequestMapper = bookingRequestMapper;
         this.bookingRequestRepository = bookingRequestRepository;
     }
@@ -55,16 +53,13 @@ public class BookingRequestServiceExtension {
     public Page<BookingRequestDTO> findMyBookingRequests(Pageable pageable) {
         LOG.debug("Service: get booking requests for current user");
 
-        String currentUserLogin = SecurityUtils.getCurrentUserLogin()
-            .orElseThrow(() -> new IllegalStateException("User not authenticated"));
+        SecurityUtils.getCurrentUserLogin().orElseThrow(() -> new IllegalStateException("User not authenticated"));
 
-        Employee employee = employeeRepository
-            .findOneByUserLogin(currentUserLogin)
-            .orElseThrow(() -> new IllegalStateException("Employee not found"));
+        Long employeeId = currentEmployeeService.getCurrentEmployeeId().orElseThrow(() -> new IllegalStateException("Employee not found"));
 
         BookingRequestCriteria criteria = new BookingRequestCriteria();
         LongFilter employeeIdFilter = new LongFilter();
-        employeeIdFilter.setEquals(employee.getId());
+        employeeIdFilter.setEquals(employeeId);
         criteria.setEmployeeId(employeeIdFilter);
 
         return bookingRequestQueryService.findByCriteria(criteria, pageable);
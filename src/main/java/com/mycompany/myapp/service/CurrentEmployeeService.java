@@ -0,0 +1,100 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.security.SecurityUtils;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service resolving the {@link com.mycompany.myapp.domain.Employee} of the current user.
+ * <p>
+ * The employee id is read from the JWT when it carries one, otherwise looked up by login through the
+ * {@link EmployeeRepository#EMPLOYEE_ID_BY_LOGIN_CACHE} cache, which is evicted once a transaction changing an employee
+ * or a login commits: evicted earlier, a concurrent lookup could cache the old employee again before the commit.
+ * <p>
+ * The claim of a JWT cannot be revoked: a token issued before the employee of its user changed or was deleted keeps
+ * naming the old employee until it expires, as it keeps its authorities, i.e. up to
+ * {@code jhipster.security.authentication.jwt.token-validity-in-seconds} (or the remember-me validity) after login.
+ */
+@Service
+public class CurrentEmployeeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CurrentEmployeeService.class);
+
+    private final EmployeeRepository employeeRepository;
+
+    private final CacheManager cacheManager;
+
+    public CurrentEmployeeService(EmployeeRepository employeeRepository, CacheManager cacheManager) {
+        this.employeeRepository = employeeRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get the id of the employee of the current user.
+     *
+     * @return the id of the employee, empty if the user is not authenticated or has no employee.
+     */
+    public Optional<Long> getCurrentEmployeeId() {
+        return SecurityUtils.getCurrentEmployeeId().or(() -> SecurityUtils.getCurrentUserLogin().flatMap(this::findEmployeeId));
+    }
+
+    /**
+     * Get the id of the employee of a user.
+     *
+     * @param login the login of the user.
+     * @return the id of the employee, empty if the user has no employee.
+     */
+    public Optional<Long> findEmployeeId(String login) {
+        return employeeRepository.findIdByUserLogin(login);
+    }
+
+    /**
+     * Forget the employee of a user once the surrounding transaction commits, after their login changed or they were
+     * deleted.
+     *
+     * @param login the login of the user.
+     */
+    public void evictEmployeeId(String login) {
+        afterCommit(() -> {
+            LOG.debug("Evicting employee id of user {}", login);
+            employeeIdByLoginCache().evictIfPresent(login);
+        });
+    }
+
+    /**
+     * Forget the employees of all users once the surrounding transaction commits, after an employee was created,
+     * changed or deleted.
+     */
+    public void clearEmployeeIds() {
+        afterCommit(() -> {
+            LOG.debug("Clearing employee ids of all users");
+            employeeIdByLoginCache().clear();
+        });
+    }
+
+    private org.springframework.cache.Cache employeeIdByLoginCache() {
+        return Objects.requireNonNull(cacheManager.getCache(EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+}
@@ -23,9 +23,20 @@ public class EmployeeService {
 
     protected final EmployeeMapper employeeMapper;
 
-    public EmployeeService(EmployeeRepository employeeRepository, EmployeeMapper employeeMapper) {
+    protected final CurrentEmployeeService currentEmployeeService;
+
+    protected final VacationLedgerService vacationLedgerService;
+
+    public EmployeeService(
+        EmployeeRepository employeeRepository,
+        EmployeeMapper employeeMapper,
+        CurrentEmployeeService currentEmployeeService,
+        VacationLedgerService vacationLedgerService
+    ) {
         this.employeeRepository = employeeRepository;
         this.employeeMapper = employeeMapper;
+        this.currentEmployeeService = currentEmployeeService;
+        this.vacationLedgerService = vacationLedgerService;
     }
 
     /**
@@ -38,6 +49,7 @@ public class EmployeeService {
         LOG.debug("Request to save Employee : {}", employeeDTO);
         Employee employee = employeeMapper.toEntity(employeeDTO);
         employee = employeeRepository.save(employee);
+        vacationLedgerService.recordOpeningBalance(employee.getId(), employee.getVacationBalance());
         return employeeMapper.toDto(employee);
     }
 
@@ -49,8 +61,11 @@ public class EmployeeService {
      */
     public EmployeeDTO update(EmployeeDTO employeeDTO) {
         LOG.debug("Request to update Employee : {}", employeeDTO);
+        Integer previousBalance = employeeRepository.findById(employeeDTO.getId()).map(Employee::getVacationBalance).orElse(null);
         Employee employee = employeeMapper.toEntity(employeeDTO);
         employee = employeeRepository.save(employee);
+        vacationLedgerService.recordAdjustment(employee.getId(), previousBalance, employee.getVacationBalance());
+        currentEmployeeService.clearEmployeeIds();
         return employeeMapper.toDto(employee);
     }
 
@@ -66,12 +81,17 @@ public class EmployeeService {
         return employeeRepository
             .findById(employeeDTO.getId())
             .map(existingEmployee -> {
+                Integer previousBalance = existingEmployee.getVacationBalance();
                 employeeMapper.partialUpdate(existingEmployee, employeeDTO);
+                vacationLedgerService.recordAdjustment(existingEmployee.getId(), previousBalance, existingEmployee.getVacationBalance());
 
                 return existingEmployee;
             })
             .map(employeeRepository::save)
-            .map(employeeMapper::toDto);
+            .map(employee -> {
+                currentEmployeeService.clearEmployeeIds();
+                return employeeMapper.toDto(employee);
+            });
     }
 
     /**
@@ -94,5 +114,6 @@ public class EmployeeService {
     public void delete(Long id) {
         LOG.debug("Request to delete Employee : {}", id);
         employeeRepository.deleteById(id);
+        currentEmployeeService.clearEmployeeIds();
     }
 }
@@ -26,10 +26,12 @@ public class EmployeeServiceExtension extends EmployeeService {
     public EmployeeServiceExtension(
         EmployeeRepository employeeRepository,
         EmployeeMapper employeeMapper,
+        CurrentEmployeeService currentEmployeeService,
+        VacationLedgerService vacationLedgerService,
         UserRepository userRepository,
         PasswordEncoder passwordEncoder
     ) {
-        super(employeeRepository, employeeMapper);
+        super(employeeRepository, employeeMapper, currentEmployeeService, vacationLedgerService);
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
     }
@@ -78,6 +80,7 @@ public class EmployeeServiceExtension extends EmployeeService {
         // 3. Save Employee
 
         employee = employeeRepository.save(employee);
+        vacationLedgerService.recordOpeningBalance(employee.getId(), employee.getVacationBalance());
 
         return employeeMapper.toDto(employee);
     }
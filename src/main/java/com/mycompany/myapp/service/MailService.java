@@ -66,21 +66,37 @@ public class MailService {
             content
         );
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
+            javaMailSender.send(createMimeMessage(to, subject, content, isMultipart, isHtml));
             LOG.debug("Sent email to User '{}'", to);
         } catch (MailException | MessagingException e) {
             LOG.warn("Email could not be sent to user '{}'", to, e);
         }
     }
 
+    /**
+     * Prepare an email without sending it, for callers delivering it on their own.
+     *
+     * @param to the email address.
+     * @param subject the subject.
+     * @param content the content.
+     * @param isMultipart whether the message is multipart.
+     * @param isHtml whether the content is HTML.
+     * @return the message.
+     * @throws MessagingException if the message cannot be built.
+     */
+    public MimeMessage createMimeMessage(String to, String subject, String content, boolean isMultipart, boolean isHtml)
+        throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(to);
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
+    }
+
     @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
         sendEmailFromTemplateSync(user, templateName, titleKey);
@@ -0,0 +1,88 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.repository.MeetingRoomRepository;
+import com.mycompany.myapp.service.availability.RoomAvailabilityIndex;
+import com.mycompany.myapp.service.dto.MeetingRoomDTO;
+import com.mycompany.myapp.service.mapper.MeetingRoomMapper;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Availability searches over {@link com.mycompany.myapp.domain.MeetingRoom}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MeetingRoomServiceExtension {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MeetingRoomServiceExtension.class);
+
+    private static final String ENTITY_NAME = "meetingRoom";
+
+    /**
+     * Best fit first: the smallest room that is large enough, then rooms that are confirmed without approval, then the
+     * rooms with the least equipment, so better equipped rooms stay free for those who need them.
+     */
+    static final Comparator<MeetingRoom> BEST_FIT = Comparator.comparing(MeetingRoom::getCapacity)
+        .thenComparing(meetingRoom -> Boolean.TRUE.equals(meetingRoom.getRequiresApproval()))
+        .thenComparingInt(meetingRoom -> meetingRoom.getEquipment().size())
+        .thenComparing(MeetingRoom::getId);
+
+    private final MeetingRoomRepository meetingRoomRepository;
+    private final MeetingRoomMapper meetingRoomMapper;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+
+    public MeetingRoomServiceExtension(
+        MeetingRoomRepository meetingRoomRepository,
+        MeetingRoomMapper meetingRoomMapper,
+        RoomAvailabilityIndex roomAvailabilityIndex
+    ) {
+        this.meetingRoomRepository = meetingRoomRepository;
+        this.meetingRoomMapper = meetingRoomMapper;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+    }
+
+    /**
+     * Find the meeting rooms free for the whole of {@code [startTime, endTime)}, ranked by best fit.
+     * <p>
+     * The candidate rooms and their equipment are read in one query; their bookings are then checked against the
+     * {@link RoomAvailabilityIndex}, or within the same query as long as the index is not loaded.
+     *
+     * @param startTime the start of the requested window.
+     * @param endTime the end of the requested window.
+     * @param minCapacity the minimum capacity, may be {@code null}.
+     * @param equipmentId the id of the required equipment, may be {@code null}.
+     * @return the free meeting rooms, best fit first.
+     */
+    public List<MeetingRoomDTO> findAvailable(Instant startTime, Instant endTime, Integer minCapacity, Long equipmentId) {
+        LOG.debug(
+            "Request to find MeetingRooms available from {} to {} for {} people with equipment {}",
+            startTime,
+            endTime,
+            minCapacity,
+            equipmentId
+        );
+        if (startTime == null || endTime == null || !startTime.isBefore(endTime)) {
+            throw new BadRequestAlertException("Invalid time window", ENTITY_NAME, "invalidtimewindow");
+        }
+        int capacity = minCapacity != null ? Math.max(minCapacity, 1) : 1;
+
+        List<MeetingRoom> rooms;
+        if (roomAvailabilityIndex.isReady()) {
+            rooms = meetingRoomRepository
+                .findAllWithEquipmentByMinCapacity(capacity, equipmentId)
+                .stream()
+                .filter(meetingRoom -> !roomAvailabilityIndex.hasOverlap(meetingRoom.getId(), startTime, endTime))
+                .toList();
+        } else {
+            rooms = meetingRoomRepository.findAllAvailableWithEquipment(capacity, equipmentId, startTime, endTime);
+        }
+        return rooms.stream().sorted(BEST_FIT).map(meetingRoomMapper::toDto).toList();
+    }
+}
@@ -38,10 +38,18 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final CurrentEmployeeService currentEmployeeService;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        CurrentEmployeeService currentEmployeeService
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.currentEmployeeService = currentEmployeeService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -176,6 +184,7 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                currentEmployeeService.evictEmployeeId(user.getLogin());
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -206,6 +215,7 @@ public class UserService {
             .findOneByLogin(login)
             .ifPresent(user -> {
                 userRepository.delete(user);
+                currentEmployeeService.evictEmployeeId(user.getLogin());
                 LOG.debug("Deleted User: {}", user);
             });
     }
@@ -282,6 +292,7 @@ public class UserService {
             .forEach(user -> {
                 LOG.debug("Deleting not activated user {}", user.getLogin());
                 userRepository.delete(user);
+                currentEmployeeService.evictEmployeeId(user.getLogin());
             });
     }
 
@@ -0,0 +1,183 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service counting the working days of a vacation: the days that are neither weekend days nor holidays of the
+ * configured holiday calendar.
+ * <p>
+ * The working days of each year are computed once into a bitset of six {@code long} words, bit {@code n} standing
+ * for day {@code n + 1} of the year, so counting the working days of any range is a popcount over a few words. Only
+ * the years near the current one are kept, so that dates far in the past or future cannot fill the heap.
+ */
+@Service
+public class VacationDayCalculator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VacationDayCalculator.class);
+
+    private final Set<DayOfWeek> weekendDays;
+
+    private final Set<LocalDate> holidays = new HashSet<>();
+
+    private final Set<MonthDay> recurringHolidays = new HashSet<>();
+
+    private final Map<Integer, long[]> workingDaysByYear = new ConcurrentHashMap<>();
+
+    private final int maxDays;
+
+    private final int cachedYears;
+
+    public VacationDayCalculator(ApplicationProperties applicationProperties, ResourceLoader resourceLoader) {
+        ApplicationProperties.Vacation vacation = applicationProperties.getVacation();
+        this.maxDays = vacation.getMaxDays();
+        this.cachedYears = vacation.getCachedYears();
+        this.weekendDays = EnumSet.noneOf(DayOfWeek.class);
+        this.weekendDays.addAll(vacation.getWeekendDays());
+        loadHolidayCalendar(resourceLoader.getResource(vacation.getHolidayCalendar()));
+    }
+
+    /**
+     * Check the dates of a vacation before counting its working days.
+     *
+     * @param startDate the first day.
+     * @param endDate the last day.
+     * @throws BadRequestAlertException if the vacation ends before it starts, or is longer than the configured maximum.
+     */
+    public void checkVacationDates(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestAlertException("The vacation ends before it starts", "vacationRequest", "invaliddates");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxDays) {
+            throw new BadRequestAlertException("The vacation is longer than " + maxDays + " days", "vacationRequest", "vacationtoolong");
+        }
+    }
+
+    /**
+     * Count the working days between two dates, both included.
+     *
+     * @param startDate the first day.
+     * @param endDate the last day.
+     * @return the number of working days, {@code 0} if the end is before the start.
+     */
+    public int countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        int count = 0;
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            int from = year == startDate.getYear() ? startDate.getDayOfYear() - 1 : 0;
+            int to = year == endDate.getYear() ? endDate.getDayOfYear() : Year.of(year).length();
+            count += countBits(workingDays(year), from, to);
+        }
+        return count;
+    }
+
+    /**
+     * Check whether a date is a working day.
+     *
+     * @param date the date.
+     * @return {@code true} if it is neither a weekend day nor a holiday.
+     */
+    public boolean isWorkingDay(LocalDate date) {
+        int bit = date.getDayOfYear() - 1;
+        return (workingDays(date.getYear())[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private long[] workingDays(int year) {
+        long[] words = workingDaysByYear.get(year);
+        if (words != null) {
+            return words;
+        }
+        if (Math.abs(year - Year.now().getValue()) > cachedYears) {
+            return computeWorkingDays(year);
+        }
+        return workingDaysByYear.computeIfAbsent(year, this::computeWorkingDays);
+    }
+
+    int getCachedYearCount() {
+        return workingDaysByYear.size();
+    }
+
+    private long[] computeWorkingDays(int year) {
+        long[] words = new long[(Year.of(year).length() + 63) >>> 6];
+        for (LocalDate date = LocalDate.ofYearDay(year, 1); date.getYear() == year; date = date.plusDays(1)) {
+            if (
+                !weekendDays.contains(date.getDayOfWeek()) &&
+                !holidays.contains(date) &&
+                !recurringHolidays.contains(MonthDay.from(date))
+            ) {
+                int bit = date.getDayOfYear() - 1;
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Count the bits set in {@code [from, to)}, masking the first and last words.
+     */
+    static int countBits(long[] words, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        // Shifts are modulo 64: the masks keep the bits from "from" and below "to" within their words
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            return Long.bitCount(words[first] & firstMask & lastMask);
+        }
+        int count = Long.bitCount(words[first] & firstMask);
+        for (int i = first + 1; i < last; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count + Long.bitCount(words[last] & lastMask);
+    }
+
+    private void loadHolidayCalendar(Resource resource) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int comment = line.indexOf('#');
+                String holiday = (comment >= 0 ? line.substring(0, comment) : line).strip();
+                if (holiday.isEmpty()) {
+                    continue;
+                }
+                try {
+                    if (holiday.startsWith("--")) {
+                        recurringHolidays.add(MonthDay.parse(holiday));
+                    } else {
+                        holidays.add(LocalDate.parse(holiday));
+                    }
+                } catch (DateTimeParseException e) {
+                    throw new IllegalStateException("Invalid holiday '" + holiday + "' at line " + lineNumber + " of " + resource, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the holiday calendar " + resource, e);
+        }
+        LOG.info("Loaded {} holidays and {} yearly holidays from {}", holidays.size(), recurringHolidays.size(), resource);
+    }
+}
@@ -0,0 +1,168 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.VacationDaySummary;
+import com.mycompany.myapp.domain.VacationLedgerEntry;
+import com.mycompany.myapp.domain.VacationRequest;
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import com.mycompany.myapp.domain.enumeration.VacationLedgerEntryType;
+import com.mycompany.myapp.domain.enumeration.VacationType;
+import com.mycompany.myapp.repository.VacationDaySummaryRepository;
+import com.mycompany.myapp.repository.VacationDayTotal;
+import com.mycompany.myapp.repository.VacationLedgerEntryRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service appending to the {@link VacationLedgerEntry} ledger and maintaining the {@link VacationDaySummary} rows.
+ * <p>
+ * Every change of a vacation balance is recorded here in the transaction making it. The days of a vacation count in
+ * the year it starts.
+ */
+@Service
+@Transactional
+public class VacationLedgerService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VacationLedgerService.class);
+
+    private final VacationLedgerEntryRepository vacationLedgerEntryRepository;
+
+    private final VacationDaySummaryRepository vacationDaySummaryRepository;
+
+    public VacationLedgerService(
+        VacationLedgerEntryRepository vacationLedgerEntryRepository,
+        VacationDaySummaryRepository vacationDaySummaryRepository
+    ) {
+        this.vacationLedgerEntryRepository = vacationLedgerEntryRepository;
+        this.vacationDaySummaryRepository = vacationDaySummaryRepository;
+    }
+
+    /**
+     * Record the balance a new employee starts with.
+     *
+     * @param employeeId the id of the employee.
+     * @param balance the balance, {@code null} for none.
+     */
+    public void recordOpeningBalance(Long employeeId, Integer balance) {
+        append(employeeId, VacationLedgerEntryType.OPENING_BALANCE, balance != null ? balance : 0);
+    }
+
+    /**
+     * Record a change of the balance of an employee made by hand.
+     *
+     * @param employeeId the id of the employee.
+     * @param before the balance before, {@code null} for none.
+     * @param after the balance after, {@code null} for none.
+     */
+    public void recordAdjustment(Long employeeId, Integer before, Integer after) {
+        int days = (after != null ? after : 0) - (before != null ? before : 0);
+        if (days != 0) {
+            append(employeeId, VacationLedgerEntryType.ADJUSTMENT, days);
+        }
+    }
+
+    /**
+     * An approved vacationRequest and the days deducted for it.
+     *
+     * @param vacationRequest the vacationRequest, with its employee.
+     * @param days the deducted days.
+     */
+    public record ApprovedVacation(VacationRequest vacationRequest, int days) {}
+
+    /**
+     * Record approved vacations, whose days were deducted from the balance of their employees.
+     * <p>
+     * The entries are inserted in JDBC batches, and each summary row touched is updated once.
+     *
+     * @param approvedVacations the approved vacationRequests and their deducted days.
+     */
+    public void recordVacations(List<ApprovedVacation> approvedVacations) {
+        Instant now = Instant.now();
+        List<VacationLedgerEntry> entries = new ArrayList<>(approvedVacations.size());
+        Map<VacationDaySummary.Key, Integer> daysBySummary = new LinkedHashMap<>();
+        for (ApprovedVacation approvedVacation : approvedVacations) {
+            VacationRequest vacationRequest = approvedVacation.vacationRequest();
+            int days = approvedVacation.days();
+            Long employeeId = vacationRequest.getEmployee().getId();
+            int year = vacationRequest.getStartDate().getYear();
+            entries.add(
+                new VacationLedgerEntry()
+                    .employeeId(employeeId)
+                    .vacationRequestId(vacationRequest.getId())
+                    .entryType(VacationLedgerEntryType.VACATION)
+                    .vacationType(vacationRequest.getType())
+                    .year(year)
+                    .days(-days)
+                    .createdAt(now)
+            );
+            // Untyped vacations weigh on the balance but on no per-type total
+            if (vacationRequest.getType() != null) {
+                daysBySummary.merge(new VacationDaySummary.Key(employeeId, year, vacationRequest.getType()), days, Integer::sum);
+            }
+        }
+        vacationLedgerEntryRepository.saveAll(entries);
+        daysBySummary.forEach((key, days) ->
+            vacationDaySummaryRepository.addDays(key.getEmployeeId(), key.getYear(), key.getVacationType().name(), days)
+        );
+    }
+
+    /**
+     * Get the vacation days taken in a year, by vacation type, from the summary rows.
+     *
+     * @param year the year.
+     * @param employeeId the id of an employee, to count only their days.
+     * @param department a department, to count only the days of its employees.
+     * @return the days of each vacation type, zero for none.
+     */
+    @Transactional(readOnly = true)
+    public Map<VacationType, Long> getTotals(int year, Long employeeId, DepartmentType department) {
+        List<VacationDayTotal> totals;
+        if (employeeId != null) {
+            totals = vacationDaySummaryRepository.sumByEmployee(year, employeeId);
+        } else if (department != null) {
+            totals = vacationDaySummaryRepository.sumByDepartment(year, department);
+        } else {
+            totals = vacationDaySummaryRepository.sumByYear(year);
+        }
+        Map<VacationType, Long> daysByType = new EnumMap<>(VacationType.class);
+        for (VacationType vacationType : VacationType.values()) {
+            daysByType.put(vacationType, 0L);
+        }
+        totals.forEach(total -> daysByType.put(total.getVacationType(), total.getDays()));
+        return daysByType;
+    }
+
+    /**
+     * Replay the whole ledger: set the balance of each employee to the sum of their entries, and rebuild the summary
+     * rows.
+     *
+     * @return the number of employees whose balance was replayed.
+     */
+    public int replay() {
+        int employees = vacationLedgerEntryRepository.replayBalances();
+        vacationDaySummaryRepository.deleteAllRows();
+        int summaries = vacationDaySummaryRepository.insertFromLedger();
+        LOG.info("Replayed the vacation ledger of {} employees into {} summary rows", employees, summaries);
+        return employees;
+    }
+
+    private void append(Long employeeId, VacationLedgerEntryType entryType, int days) {
+        vacationLedgerEntryRepository.save(
+            new VacationLedgerEntry()
+                .employeeId(employeeId)
+                .entryType(entryType)
+                .year(LocalDate.now(ZoneOffset.UTC).getYear())
+                .days(days)
+                .createdAt(Instant.now())
+        );
+    }
+}
@@ -6,11 +6,18 @@ import com.mycompany.myapp.repository.VacationRequestRepository;
 import com.mycompany.myapp.service.criteria.VacationRequestCriteria;
 import com.mycompany.myapp.service.dto.VacationRequestDTO;
 import com.mycompany.myapp.service.mapper.VacationRequestMapper;
+import com.mycompany.myapp.service.pagination.ContinuationTokens;
 import jakarta.persistence.criteria.JoinType;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +35,13 @@ public class VacationRequestQueryService extends QueryService<VacationRequest> {
 
     private static final Logger LOG = LoggerFactory.getLogger(VacationRequestQueryService.class);
 
+    private static final Map<String, Function<String, ?>> SCROLL_KEYS = Map.of(
+        VacationRequest_.START_DATE,
+        LocalDate::parse,
+        VacationRequest_.ID,
+        Long::valueOf
+    );
+
     private final VacationRequestRepository vacationRequestRepository;
 
     private final VacationRequestMapper vacationRequestMapper;
@@ -50,6 +64,31 @@ public class VacationRequestQueryService extends QueryService<VacationRequest> {
         return vacationRequestRepository.findAll(specification, page).map(vacationRequestMapper::toDto);
     }
 
+    /**
+     * Return a {@link Window} of {@link VacationRequestDTO} which matches the criteria from the database, in the
+     * {@code (startDate, id)} order, starting after the position of a continuation token.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param continuationToken The token of the previous window, {@code null} for the first one.
+     * @param direction The direction of the order.
+     * @param size The maximum number of entities.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<VacationRequestDTO> scrollByCriteria(
+        VacationRequestCriteria criteria,
+        String continuationToken,
+        Sort.Direction direction,
+        int size
+    ) {
+        LOG.debug("scroll by criteria : {}, continuation: {}", criteria, continuationToken);
+        KeysetScrollPosition position = ContinuationTokens.decode(continuationToken, SCROLL_KEYS, "vacationRequest");
+        final Specification<VacationRequest> specification = createSpecification(criteria);
+        Sort sort = Sort.by(direction, VacationRequest_.START_DATE, VacationRequest_.ID);
+        return vacationRequestRepository
+            .findBy(specification, query -> query.sortBy(sort).limit(size).scroll(position))
+            .map(vacationRequestMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
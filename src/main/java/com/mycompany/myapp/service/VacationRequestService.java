@@ -5,15 +5,17 @@ import com.mycompany.myapp.domain.VacationRequest;
 import com.mycompany.myapp.domain.enumeration.Status;
 import com.mycompany.myapp.repository.EmployeeRepository;
 import com.mycompany.myapp.repository.VacationRequestRepository;
-import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.calendar.CalendarFeedVersions;
 import com.mycompany.myapp.service.dto.VacationRequestDTO;
+import com.mycompany.myapp.service.mail.NotificationOutboxService;
 import com.mycompany.myapp.service.mapper.EmployeeMapper;
 import com.mycompany.myapp.service.mapper.VacationRequestMapper;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.errors.InsufficientVacationBalanceException;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,17 +37,32 @@ public class VacationRequestService {
     protected final VacationRequestMapper vacationRequestMapper;
     protected final EmployeeRepository employeeRepository;
     private final EmployeeMapper employeeMapper;
+    protected final NotificationOutboxService notificationOutboxService;
+    protected final CurrentEmployeeService currentEmployeeService;
+    protected final VacationLedgerService vacationLedgerService;
+    protected final VacationDayCalculator vacationDayCalculator;
+    protected final CalendarFeedVersions calendarFeedVersions;
 
     public VacationRequestService(
         VacationRequestRepository vacationRequestRepository,
         VacationRequestMapper vacationRequestMapper,
         EmployeeRepository employeeRepository,
-        EmployeeMapper employeeMapper
+        EmployeeMapper employeeMapper,
+        NotificationOutboxService notificationOutboxService,
+        CurrentEmployeeService currentEmployeeService,
+        VacationLedgerService vacationLedgerService,
+        VacationDayCalculator vacationDayCalculator,
+        CalendarFeedVersions calendarFeedVersions
     ) {
         this.vacationRequestRepository = vacationRequestRepository;
         this.vacationRequestMapper = vacationRequestMapper;
         this.employeeRepository = employeeRepository;
         this.employeeMapper = employeeMapper;
+        this.notificationOutboxService = notificationOutboxService;
+        this.currentEmployeeService = currentEmployeeService;
+        this.vacationLedgerService = vacationLedgerService;
+        this.vacationDayCalculator = vacationDayCalculator;
+        this.calendarFeedVersions = calendarFeedVersions;
     }
 
     /**
@@ -66,17 +83,19 @@ public class VacationRequestService {
         vacationRequest.setCreatedAt(Instant.now());
         vacationRequest.setUpdatedAt(Instant.now());
 
-        Long userId = SecurityUtils.getCurrentUserId()
+        Long employeeId = currentEmployeeService
+            .getCurrentEmployeeId()
             .orElseThrow(() -> new BadRequestAlertException("Current user ID not found", "bookingRequest", "usernotfound"));
 
         Employee employee = employeeRepository
-            .findById(userId)
+            .findById(employeeId)
             .orElseThrow(() -> new BadRequestAlertException("Employee not found for current user", "bookingRequest", "employeenotfound"));
 
         vacationRequest.setEmployee(employee); // assuming you have employeeId field
 
         // Save entity
         vacationRequest = vacationRequestRepository.save(vacationRequest);
+        calendarFeedVersions.touchAfterCommit(vacationRequest);
 
         // Map entity back to DTO
         return vacationRequestMapper.toDto(vacationRequest);
@@ -84,6 +103,9 @@ public class VacationRequestService {
 
     /**
      * Update a vacationRequest.
+     * <p>
+     * The existing vacationRequest is locked first, so that concurrent updates see each other's status: the balance is
+     * only deducted when the vacationRequest becomes approved, not each time an approved one is saved again.
      *
      * @param vacationRequestDTO the entity to save.
      * @return the persisted entity.
@@ -92,31 +114,101 @@ public class VacationRequestService {
     public VacationRequestDTO update(VacationRequestDTO vacationRequestDTO) {
         LOG.debug("Request to update VacationRequest : {}", vacationRequestDTO);
 
+        Status previousStatus = vacationRequestRepository
+            .findOneForUpdate(vacationRequestDTO.getId())
+            .map(VacationRequest::getStatus)
+            .orElseThrow(() -> new BadRequestAlertException("VacationRequest not found", "vacationRequest", "idnotfound"));
+
         VacationRequest vacationRequest = vacationRequestMapper.toEntity(vacationRequestDTO);
+        // Stamped by the server, as the sync tokens of the calendar feeds compare them
+        vacationRequest.setUpdatedAt(Instant.now());
 
-        // لو status بقت ACCEPTED
-        if ("Approved".equalsIgnoreCase(vacationRequest.getStatus().toString())) {
+        // Deduct the balance and record the ledger entry on the transition to approved only, not on each save
+        if (vacationRequest.getStatus() == Status.APPROVED && previousStatus != Status.APPROVED) {
             Long employeeId = vacationRequest.getEmployee() != null ? vacationRequest.getEmployee().getId() : null;
 
             if (employeeId != null) {
-                Employee employee = employeeRepository
-                    .findById(employeeId)
-                    .orElseThrow(() -> new EntityNotFoundException("Employee not found"));
+                int days = requestedDays(vacationRequest);
+                deductVacationBalance(employeeId, days);
+                vacationLedgerService.recordVacations(List.of(new VacationLedgerService.ApprovedVacation(vacationRequest, days)));
+            }
+        }
 
-                int days = (int) ChronoUnit.DAYS.between(vacationRequest.getStartDate(), vacationRequest.getEndDate()) + 1;
+        vacationRequest = vacationRequestRepository.save(vacationRequest);
+        calendarFeedVersions.touchAfterCommit(vacationRequest);
+        if (vacationRequest.getStatus() != previousStatus) {
+            notifyDecision(vacationRequest);
+        }
+        return vacationRequestMapper.toDto(vacationRequest);
+    }
 
-                if (employee.getVacationBalance() != null && employee.getVacationBalance() >= days) {
-                    employee.setVacationBalance(employee.getVacationBalance() - days);
-                } else {
-                    throw new IllegalStateException("Not enough vacation balance");
-                }
+    /**
+     * Queue the approval or rejection email of a vacationRequest, sent once the current transaction commits.
+     *
+     * @param vacationRequest the decided vacationRequest.
+     */
+    protected void notifyDecision(VacationRequest vacationRequest) {
+        decisionNotification(vacationRequest).ifPresent(notification -> notificationOutboxService.enqueueAll(List.of(notification)));
+    }
+
+    /**
+     * Build the approval or rejection email of a vacationRequest.
+     *
+     * @param vacationRequest the decided vacationRequest.
+     * @return the notification, empty if the vacationRequest is not decided or its employee has no email.
+     */
+    protected Optional<NotificationOutboxService.Notification> decisionNotification(VacationRequest vacationRequest) {
+        Status status = vacationRequest.getStatus();
+        if (status != Status.APPROVED && status != Status.REJECTED) {
+            return Optional.empty();
+        }
+        Employee employee = vacationRequest.getEmployee() != null && vacationRequest.getEmployee().getId() != null
+            ? employeeRepository.findById(vacationRequest.getEmployee().getId()).orElse(null)
+            : null;
+        if (employee == null || employee.getEmail() == null) {
+            return Optional.empty();
+        }
+        boolean approved = status == Status.APPROVED;
+        String subject = approved ? "Vacation Approved ✅" : "Vacation Rejected ❌";
+        String message = approved ? "Your vacation request has been approved." : "Your vacation request has been rejected.";
+        return Optional.of(
+            new NotificationOutboxService.Notification(
+                VacationRequest.class.getSimpleName(),
+                vacationRequest.getId(),
+                status.name(),
+                vacationRequest.getUpdatedAt(),
+                List.of(employee.getEmail()),
+                subject,
+                message
+            )
+        );
+    }
 
-                employeeRepository.save(employee);
+    /**
+     * Deduct days from the vacation balance of an employee, in a single conditional update rather than a read, a check
+     * and a write that concurrent approvals could interleave.
+     *
+     * @param employeeId the id of the employee.
+     * @param days the number of days to deduct.
+     * @throws InsufficientVacationBalanceException if the employee has fewer days left.
+     */
+    protected void deductVacationBalance(Long employeeId, int days) {
+        if (employeeRepository.deductVacationBalance(employeeId, days) == 0) {
+            if (!employeeRepository.existsById(employeeId)) {
+                throw new EntityNotFoundException("Employee not found");
             }
+            throw new InsufficientVacationBalanceException(employeeId, days);
         }
+    }
 
-        vacationRequest = vacationRequestRepository.save(vacationRequest);
-        return vacationRequestMapper.toDto(vacationRequest);
+    /**
+     * Count the working days of a vacationRequest, both ends included, weekends and holidays excluded.
+     *
+     * @param vacationRequest the vacationRequest.
+     * @return the number of days.
+     */
+    protected int requestedDays(VacationRequest vacationRequest) {
+        return vacationDayCalculator.countWorkingDays(vacationRequest.getStartDate(), vacationRequest.getEndDate());
     }
 
     /**
@@ -131,11 +223,18 @@ public class VacationRequestService {
         return vacationRequestRepository
             .findById(vacationRequestDTO.getId())
             .map(existingVacationRequest -> {
+                calendarFeedVersions.touchAfterCommit(existingVacationRequest);
+                Status previousStatus = existingVacationRequest.getStatus();
                 vacationRequestMapper.partialUpdate(existingVacationRequest, vacationRequestDTO);
+                existingVacationRequest.setUpdatedAt(Instant.now());
 
-                return existingVacationRequest;
+                VacationRequest saved = vacationRequestRepository.save(existingVacationRequest);
+                calendarFeedVersions.touchAfterCommit(saved);
+                if (saved.getStatus() != previousStatus) {
+                    notifyDecision(saved);
+                }
+                return saved;
             })
-            .map(vacationRequestRepository::save)
             .map(vacationRequestMapper::toDto);
     }
 
@@ -158,6 +257,7 @@ public class VacationRequestService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete VacationRequest : {}", id);
+        vacationRequestRepository.findById(id).ifPresent(calendarFeedVersions::touchAfterCommit);
         vacationRequestRepository.deleteById(id);
     }
 }
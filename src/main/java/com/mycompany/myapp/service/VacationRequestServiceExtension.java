@@ -8,14 +8,24 @@ import com.mycompany.myapp.repository.AttachmentRepository;
 import com.mycompany.myapp.repository.EmployeeRepository;
 import com.mycompany.myapp.repository.VacationRequestRepository;
 import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.calendar.CalendarFeedVersions;
+import com.mycompany.myapp.service.dto.DecisionDTO;
+import com.mycompany.myapp.service.dto.VacationPreviewDTO;
 import com.mycompany.myapp.service.dto.VacationRequestDTO;
+import com.mycompany.myapp.service.mail.NotificationOutboxService;
 import com.mycompany.myapp.service.mapper.EmployeeMapper;
 import com.mycompany.myapp.service.mapper.VacationRequestMapper;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import jakarta.transaction.Transactional;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -36,10 +46,25 @@ public class VacationRequestServiceExtension extends VacationRequestService {
         VacationRequestMapper vacationRequestMapper,
         EmployeeRepository employeeRepository,
         EmployeeMapper employeeMapper,
+        NotificationOutboxService notificationOutboxService,
+        CurrentEmployeeService currentEmployeeService,
+        VacationLedgerService vacationLedgerService,
+        VacationDayCalculator vacationDayCalculator,
+        CalendarFeedVersions calendarFeedVersions,
         VacationRequestQueryService vacationRequestQueryService,
         AttachmentRepository attachmentRepository
     ) {
-        super(vacationRequestRepository, vacationRequestMapper, employeeRepository, employeeMapper);
+        super(
+            vacationRequestRepository,
+            vacationRequestMapper,
+            employeeRepository,
+            employeeMapper,
+            notificationOutboxService,
+            currentEmployeeService,
+            vacationLedgerService,
+            vacationDayCalculator,
+            calendarFeedVersions
+        );
         this.vacationRequestQueryService = vacationRequestQueryService;
         this.attachmentRepository = attachmentRepository;
     }
@@ -49,24 +74,29 @@ public class VacationRequestServiceExtension extends VacationRequestService {
      */
     public VacationRequestDTO save(VacationRequestDTO dto) {
         LOG.debug("Request to save VacationRequest : {}", dto);
+        vacationDayCalculator.checkVacationDates(dto.getStartDate(), dto.getEndDate());
 
         VacationRequest vacationRequestEntity = vacationRequestMapper.toEntity(dto);
         vacationRequestEntity.setStatus(Status.PENDING);
         vacationRequestEntity.setCreatedAt(Instant.now());
         vacationRequestEntity.setUpdatedAt(Instant.now());
 
-        Long userId = SecurityUtils.getCurrentUserId()
+        Long employeeId = currentEmployeeService
+            .getCurrentEmployeeId()
             .orElseThrow(() -> new BadRequestAlertException("Current user ID not found", "vacationRequest", "usernotfound"));
 
         Employee employee = employeeRepository
-            .findById(userId)
+            .findById(employeeId)
             .orElseThrow(() -> new BadRequestAlertException("Employee not found", "vacationRequest", "employeenotfound"));
         vacationRequestEntity.setEmployee(employee);
 
         VacationRequest savedVacationRequest = vacationRequestRepository.save(vacationRequestEntity);
+        calendarFeedVersions.touchAfterCommit(savedVacationRequest);
 
-        // Map and save attachments from DTO
-        if (dto.getAttachments() != null) {
+        // Map and save attachments from DTO, inserted in JDBC batches on flush as their ids come from the pooled sequence
+        if (dto.getAttachments() != null && !dto.getAttachments().isEmpty()) {
+            Instant now = Instant.now();
+            List<Attachment> attachments = new ArrayList<>(dto.getAttachments().size());
             dto
                 .getAttachments()
                 .forEach(attDto -> {
@@ -75,10 +105,11 @@ public class VacationRequestServiceExtension extends VacationRequestService {
                     attachment.setUrl(attDto.getUrl());
                     attachment.setFileSize(attDto.getFileSize());
                     attachment.setContentType(attDto.getContentType());
-                    attachment.setUploadedAt(attDto.getUploadedAt() != null ? attDto.getUploadedAt() : Instant.now());
+                    attachment.setUploadedAt(attDto.getUploadedAt() != null ? attDto.getUploadedAt() : now);
                     attachment.setVacationRequest(savedVacationRequest);
-                    attachmentRepository.save(attachment);
+                    attachments.add(attachment);
                 });
+            savedVacationRequest.setAttachments(new HashSet<>(attachmentRepository.saveAll(attachments)));
         }
 
         return vacationRequestMapper.toDto(savedVacationRequest);
@@ -87,12 +118,15 @@ public class VacationRequestServiceExtension extends VacationRequestService {
     @Transactional
     public VacationRequestDTO update(VacationRequestDTO dto) {
         LOG.debug("Request to update VacationRequest : {}", dto);
+        vacationDayCalculator.checkVacationDates(dto.getStartDate(), dto.getEndDate());
 
-        // Fetch existing entity
+        // Fetch and lock the existing entity, so that concurrent approvals see each other's status and deduct once
         VacationRequest vacationRequest = vacationRequestRepository
-            .findById(dto.getId())
+            .findOneForUpdate(dto.getId())
             .orElseThrow(() -> new BadRequestAlertException("VacationRequest not found", "vacationRequest", "idnotfound"));
 
+        Status previousStatus = vacationRequest.getStatus();
+
         // Map only updatable fields
         vacationRequest.setStartDate(dto.getStartDate());
         vacationRequest.setEndDate(dto.getEndDate());
@@ -103,33 +137,85 @@ public class VacationRequestServiceExtension extends VacationRequestService {
 
         // Ensure employee is set (important!)
         if (vacationRequest.getEmployee() == null) {
-            Long userId = SecurityUtils.getCurrentUserId()
+            Long employeeId = currentEmployeeService
+                .getCurrentEmployeeId()
                 .orElseThrow(() -> new BadRequestAlertException("Current user ID not found", "vacationRequest", "usernotfound"));
 
             Employee employee = employeeRepository
-                .findById(userId)
+                .findById(employeeId)
                 .orElseThrow(() -> new BadRequestAlertException("Employee not found", "vacationRequest", "employeenotfound"));
 
             vacationRequest.setEmployee(employee);
         }
 
-        // Handle vacation balance if approved
-        if ("Approved".equalsIgnoreCase(vacationRequest.getStatus().toString())) {
-            Employee employee = vacationRequest.getEmployee();
-            int days = (int) ChronoUnit.DAYS.between(vacationRequest.getStartDate(), vacationRequest.getEndDate()) + 1;
-            if (employee.getVacationBalance() != null && employee.getVacationBalance() >= days) {
-                employee.setVacationBalance(employee.getVacationBalance() - days);
-                employeeRepository.save(employee);
-            } else {
-                throw new IllegalStateException("Not enough vacation balance");
-            }
+        // Deduct the balance and record the ledger entry on the transition to approved only, not on each save
+        if (vacationRequest.getStatus() == Status.APPROVED && previousStatus != Status.APPROVED) {
+            int days = requestedDays(vacationRequest);
+            deductVacationBalance(vacationRequest.getEmployee().getId(), days);
+            vacationLedgerService.recordVacations(List.of(new VacationLedgerService.ApprovedVacation(vacationRequest, days)));
         }
 
         // Save the entity
         vacationRequest = vacationRequestRepository.save(vacationRequest);
+        calendarFeedVersions.touchAfterCommit(vacationRequest);
+        if (vacationRequest.getStatus() != previousStatus) {
+            notifyDecision(vacationRequest);
+        }
         return vacationRequestMapper.toDto(vacationRequest);
     }
 
+    /**
+     * Approve or reject many pending vacationRequests at once.
+     * <p>
+     * The vacationRequests are locked and updated in JDBC batches, each employee's balance is deducted once for all of
+     * their approved days, and the emails are queued together. Nothing is decided if a vacationRequest is missing or
+     * no longer pending, or if an employee has too few days left for all of their approved vacationRequests.
+     *
+     * @param decision the ids of the vacationRequests and the decision, {@code APPROVED} or {@code REJECTED}.
+     * @return the number of decided vacationRequests.
+     */
+    @Transactional
+    public int decide(DecisionDTO decision) {
+        LOG.debug("Request to decide VacationRequests : {}", decision);
+        Status status = decision.getDecision();
+        if (status != Status.APPROVED && status != Status.REJECTED) {
+            throw new BadRequestAlertException("A decision must approve or reject", "vacationRequest", "invaliddecision");
+        }
+        Set<Long> ids = new LinkedHashSet<>(decision.getIds());
+        List<VacationRequest> vacationRequests = vacationRequestRepository.findAllByIdForUpdate(ids);
+        if (vacationRequests.size() != ids.size()) {
+            throw new BadRequestAlertException("VacationRequest not found", "vacationRequest", "idnotfound");
+        }
+
+        Instant now = Instant.now();
+        Map<Long, Integer> approvedDaysByEmployee = new LinkedHashMap<>();
+        List<VacationLedgerService.ApprovedVacation> approvedVacations = new ArrayList<>(vacationRequests.size());
+        List<NotificationOutboxService.Notification> notifications = new ArrayList<>(vacationRequests.size());
+        for (VacationRequest vacationRequest : vacationRequests) {
+            if (vacationRequest.getStatus() != Status.PENDING) {
+                throw new BadRequestAlertException("VacationRequest is not pending", "vacationRequest", "notpending");
+            }
+            if (status == Status.APPROVED) {
+                if (vacationRequest.getEmployee() == null) {
+                    throw new BadRequestAlertException("Employee not found", "vacationRequest", "employeenotfound");
+                }
+                int days = requestedDays(vacationRequest);
+                approvedDaysByEmployee.merge(vacationRequest.getEmployee().getId(), days, Integer::sum);
+                approvedVacations.add(new VacationLedgerService.ApprovedVacation(vacationRequest, days));
+            }
+            // Flushed as batched updates, as hibernate.order_updates groups them by statement
+            vacationRequest.setStatus(status);
+            vacationRequest.setUpdatedAt(now);
+            calendarFeedVersions.touchAfterCommit(vacationRequest);
+            decisionNotification(vacationRequest).ifPresent(notifications::add);
+        }
+
+        approvedDaysByEmployee.forEach(this::deductVacationBalance);
+        vacationLedgerService.recordVacations(approvedVacations);
+        notificationOutboxService.enqueueAll(notifications);
+        return vacationRequests.size();
+    }
+
     /**
      * Delete a vacationRequest along with attachments
      */
@@ -143,6 +229,7 @@ public class VacationRequestServiceExtension extends VacationRequestService {
                 attachmentRepository.deleteAll(vacationRequest.getAttachments());
                 // Then delete vacation request
                 vacationRequestRepository.delete(vacationRequest);
+                calendarFeedVersions.touchAfterCommit(vacationRequest);
             });
     }
 
@@ -155,16 +242,16 @@ public class VacationRequestServiceExtension extends VacationRequestService {
     public List<VacationRequestDTO> findMyVacationRequests() {
         LOG.debug("Request to get VacationRequests for the current user");
 
-        String currentUserLogin = SecurityUtils.getCurrentUserLogin()
+        SecurityUtils.getCurrentUserLogin()
             .orElseThrow(() -> new BadRequestAlertException("User not authenticated", "vacationRequest", "usernotfound"));
 
-        Employee employee = employeeRepository
-            .findOneByUserLogin(currentUserLogin)
+        Long employeeId = currentEmployeeService
+            .getCurrentEmployeeId()
             .orElseThrow(() -> new BadRequestAlertException("Employee not found", "vacationRequest", "employeenotfound"));
 
-        List<VacationRequest> vacationRequests = vacationRequestRepository.findByEmployeeId(employee.getId());
+        List<VacationRequest> vacationRequests = vacationRequestRepository.findByEmployeeId(employeeId);
 
-        LOG.debug("Found {} vacation requests for user {}", vacationRequests.size(), currentUserLogin);
+        LOG.debug("Found {} vacation requests for employee {}", vacationRequests.size(), employeeId);
 
         return vacationRequests.stream().map(vacationRequestMapper::toDto).toList();
     }
@@ -176,19 +263,48 @@ public class VacationRequestServiceExtension extends VacationRequestService {
     public List<VacationRequestDTO> findMyVacationRequestsWithAttachments() {
         LOG.debug("Request to get VacationRequests with attachments for the current user");
 
-        String currentUserLogin = SecurityUtils.getCurrentUserLogin()
+        SecurityUtils.getCurrentUserLogin()
             .orElseThrow(() -> new BadRequestAlertException("User not authenticated", "vacationRequest", "usernotfound"));
 
-        Employee employee = employeeRepository
-            .findOneByUserLogin(currentUserLogin)
+        Long employeeId = currentEmployeeService
+            .getCurrentEmployeeId()
             .orElseThrow(() -> new BadRequestAlertException("Employee not found", "vacationRequest", "employeenotfound"));
 
-        List<VacationRequest> vacationRequests = vacationRequestRepository.findByEmployeeId(employee.getId());
+        List<VacationRequest> vacationRequests = vacationRequestRepository.findByEmployeeId(employeeId);
 
         vacationRequests.forEach(vr -> vr.getAttachments().size()); // force loading attachments if LAZY
 
-        LOG.debug("Found {} vacation requests with attachments for user {}", vacationRequests.size(), currentUserLogin);
+        LOG.debug("Found {} vacation requests with attachments for employee {}", vacationRequests.size(), employeeId);
 
         return vacationRequests.stream().map(vacationRequestMapper::toDto).toList();
     }
+
+    /**
+     * Preview the working days a vacation of the current employee would take, and their balance afterwards.
+     *
+     * @param startDate the first day of the vacation.
+     * @param endDate the last day of the vacation.
+     * @return the preview.
+     */
+    public VacationPreviewDTO previewMyVacation(LocalDate startDate, LocalDate endDate) {
+        LOG.debug("Request to preview a vacation from {} to {} for the current user", startDate, endDate);
+        vacationDayCalculator.checkVacationDates(startDate, endDate);
+
+        Long employeeId = currentEmployeeService
+            .getCurrentEmployeeId()
+            .orElseThrow(() -> new BadRequestAlertException("Employee not found", "vacationRequest", "employeenotfound"));
+        Employee employee = employeeRepository
+            .findById(employeeId)
+            .orElseThrow(() -> new BadRequestAlertException("Employee not found", "vacationRequest", "employeenotfound"));
+
+        VacationPreviewDTO preview = new VacationPreviewDTO();
+        preview.setStartDate(startDate);
+        preview.setEndDate(endDate);
+        preview.setDays(vacationDayCalculator.countWorkingDays(startDate, endDate));
+        preview.setVacationBalance(employee.getVacationBalance());
+        if (employee.getVacationBalance() != null) {
+            preview.setRemainingBalance(employee.getVacationBalance() - preview.getDays());
+        }
+        return preview;
+    }
 }
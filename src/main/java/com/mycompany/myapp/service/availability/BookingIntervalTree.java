@@ -0,0 +1,191 @@
+package com.mycompany.myapp.service.availability;
+
+/**
+ * Augmented AVL tree of half-open booking intervals {@code [start, end)} for a single meeting room.
+ * <p>
+ * Nodes are ordered by {@code (start, bookingId)} and carry the maximum end of their subtree, so an overlap
+ * check prunes every subtree that finishes before the requested window and answers in {@code O(log n)}.
+ * Bounds are expressed in epoch microseconds, the precision of the {@code datetime(6)} columns.
+ * <p>
+ * This class is not thread-safe; callers are expected to guard it.
+ */
+class BookingIntervalTree {
+
+    private Node root;
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add the interval of a booking. The caller must remove any previous interval of the same booking first.
+     */
+    void insert(long bookingId, long start, long end) {
+        root = insert(root, bookingId, start, end);
+    }
+
+    /**
+     * Remove the interval of a booking.
+     *
+     * @return {@code true} if the interval was present.
+     */
+    boolean remove(long bookingId, long start) {
+        int before = size;
+        root = remove(root, bookingId, start);
+        return size < before;
+    }
+
+    /**
+     * Check whether any interval, other than the one of {@code excludedBookingId}, overlaps {@code [start, end)}.
+     */
+    boolean overlaps(long start, long end, long excludedBookingId) {
+        return overlaps(root, start, end, excludedBookingId);
+    }
+
+    private static boolean overlaps(Node node, long start, long end, long excludedBookingId) {
+        if (node == null || node.maxEnd <= start) {
+            return false;
+        }
+        if (node.start < end && node.end > start && node.bookingId != excludedBookingId) {
+            return true;
+        }
+        if (overlaps(node.left, start, end, excludedBookingId)) {
+            return true;
+        }
+        return node.start < end && overlaps(node.right, start, end, excludedBookingId);
+    }
+
+    private Node insert(Node node, long bookingId, long start, long end) {
+        if (node == null) {
+            size++;
+            return new Node(bookingId, start, end);
+        }
+        int cmp = compare(start, bookingId, node);
+        if (cmp < 0) {
+            node.left = insert(node.left, bookingId, start, end);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, bookingId, start, end);
+        } else {
+            node.end = end;
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, long bookingId, long start) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, bookingId, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, bookingId, start);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, bookingId, start);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            successor.right = node.right;
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int compare(long start, long bookingId, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(bookingId, node.bookingId);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static final class Node {
+
+        private final long bookingId;
+        private final long start;
+        private long end;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long bookingId, long start, long end) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
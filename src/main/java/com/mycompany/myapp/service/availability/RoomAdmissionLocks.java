@@ -0,0 +1,55 @@
+package com.mycompany.myapp.service.availability;
+
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Striped locks serializing booking admissions per {@link com.mycompany.myapp.domain.MeetingRoom}.
+ * <p>
+ * A lock is held from the overlap check until the surrounding transaction completes, so the admissions of this
+ * instance queue here rather than on a database connection waiting for the row lock of the room. Rooms are spread over
+ * a fixed number of stripes: admissions for different rooms only wait for each other when their ids share a stripe.
+ */
+@Service
+public class RoomAdmissionLocks {
+
+    private static final int STRIPES = 256;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public RoomAdmissionLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Acquire the admission lock of a room until the current transaction completes.
+     *
+     * @param roomId the id of the meeting room.
+     * @throws IllegalStateException if no transaction synchronization is active.
+     */
+    public void lockUntilCompletion(Long roomId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Room admission requires an active transaction");
+        }
+        ReentrantLock lock = stripe(roomId);
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            }
+        );
+    }
+
+    ReentrantLock stripe(Long roomId) {
+        int hash = Long.hashCode(roomId);
+        hash ^= hash >>> 16;
+        return locks[hash & (STRIPES - 1)];
+    }
+}
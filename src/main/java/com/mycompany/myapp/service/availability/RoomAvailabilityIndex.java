@@ -0,0 +1,213 @@
+package com.mycompany.myapp.service.availability;
+
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.repository.BookingRequestRepository;
+import com.mycompany.myapp.repository.BookingRequestSlot;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index of the time windows occupied in each {@link com.mycompany.myapp.domain.MeetingRoom}.
+ * <p>
+ * The index is loaded from the {@code booking_request} table once the application is ready and is then kept in sync
+ * after each committed save, update or delete of a {@link BookingRequest}. Overlap checks are answered from a per-room
+ * {@link BookingIntervalTree} without a database round trip; as long as the index is not loaded, they fall back to
+ * {@link BookingRequestRepository#existsByMeetingRoomIdAndTimeOverlap}. Like that query, the index considers every
+ * booking of a room regardless of its status.
+ * <p>
+ * The index only learns the bookings committed by other instances on its refresh, so it answers the free room search,
+ * where a stale answer is harmless, and not the admission of a booking, which checks the database under the locks of
+ * the room.
+ */
+@Service
+public class RoomAvailabilityIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    private static final long NO_BOOKING = Long.MIN_VALUE;
+
+    private final BookingRequestRepository bookingRequestRepository;
+
+    private volatile Map<Long, BookingIntervalTree> roomTrees = new ConcurrentHashMap<>();
+
+    private volatile Map<Long, Slot> slotsByBookingId = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public RoomAvailabilityIndex(BookingRequestRepository bookingRequestRepository) {
+        this.bookingRequestRepository = bookingRequestRepository;
+    }
+
+    /**
+     * Load all booked intervals from the database, then reload them periodically to pick up rows written outside of
+     * the application (Liquibase fake data, manual fixes).
+     * <p>
+     * Index writes are serialized with the load, so a booking committed while the snapshot is read is applied on top of
+     * it rather than lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${application.availability-index.refresh-interval:PT15M}",
+        fixedDelayString = "${application.availability-index.refresh-interval:PT15M}"
+    )
+    @Transactional(readOnly = true)
+    public synchronized void load() {
+        try {
+            Map<Long, BookingIntervalTree> trees = new ConcurrentHashMap<>();
+            Map<Long, Slot> slots = new ConcurrentHashMap<>();
+            for (BookingRequestSlot slot : bookingRequestRepository.findAllSlots()) {
+                put(trees, slots, slot.getId(), slot.getMeetingRoomId(), slot.getStartTime(), slot.getEndTime());
+            }
+            roomTrees = trees;
+            slotsByBookingId = slots;
+            ready = true;
+            LOG.debug("Room availability index loaded with {} bookings in {} rooms", slots.size(), trees.size());
+        } catch (RuntimeException e) {
+            LOG.warn("Room availability index could not be loaded, overlap checks will query the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return {@code true} once the index has been loaded and is answering overlap checks.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Check whether a meeting room is already booked for any part of {@code [startTime, endTime)}.
+     *
+     * @param roomId the id of the meeting room.
+     * @param startTime the start of the requested window.
+     * @param endTime the end of the requested window.
+     * @return {@code true} if an existing booking overlaps the window.
+     */
+    public boolean hasOverlap(Long roomId, Instant startTime, Instant endTime) {
+        return hasOverlap(roomId, startTime, endTime, null);
+    }
+
+    /**
+     * Check whether a meeting room is already booked for any part of {@code [startTime, endTime)}, ignoring the
+     * booking being rescheduled.
+     *
+     * @param roomId the id of the meeting room.
+     * @param startTime the start of the requested window.
+     * @param endTime the end of the requested window.
+     * @param excludedBookingId the id of a booking to ignore, may be {@code null}.
+     * @return {@code true} if another booking overlaps the window.
+     */
+    public boolean hasOverlap(Long roomId, Instant startTime, Instant endTime, Long excludedBookingId) {
+        if (!ready || roomId == null || startTime == null || endTime == null) {
+            return excludedBookingId != null
+                ? bookingRequestRepository.existsOtherByMeetingRoomIdAndTimeOverlap(roomId, startTime, endTime, excludedBookingId)
+                : bookingRequestRepository.existsByMeetingRoomIdAndTimeOverlap(roomId, startTime, endTime);
+        }
+        BookingIntervalTree tree = roomTrees.get(roomId);
+        if (tree == null) {
+            return false;
+        }
+        synchronized (tree) {
+            return tree.overlaps(toMicros(startTime), toMicros(endTime), excludedBookingId != null ? excludedBookingId : NO_BOOKING);
+        }
+    }
+
+    /**
+     * Record the current interval of a booking once the surrounding transaction commits.
+     *
+     * @param bookingRequest the saved booking request.
+     */
+    public void indexAfterCommit(BookingRequest bookingRequest) {
+        Long id = bookingRequest.getId();
+        Long roomId = bookingRequest.getMeetingRoom() != null ? bookingRequest.getMeetingRoom().getId() : null;
+        Instant startTime = bookingRequest.getStartTime();
+        Instant endTime = bookingRequest.getEndTime();
+        afterCommit(() -> put(id, roomId, startTime, endTime));
+    }
+
+    /**
+     * Forget the interval of a booking once the surrounding transaction commits.
+     *
+     * @param bookingRequestId the id of the deleted booking request.
+     */
+    public void removeAfterCommit(Long bookingRequestId) {
+        afterCommit(() -> remove(bookingRequestId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+
+    synchronized void put(Long bookingId, Long roomId, Instant startTime, Instant endTime) {
+        put(roomTrees, slotsByBookingId, bookingId, roomId, startTime, endTime);
+    }
+
+    synchronized void remove(Long bookingId) {
+        remove(roomTrees, slotsByBookingId, bookingId);
+    }
+
+    private static void put(
+        Map<Long, BookingIntervalTree> trees,
+        Map<Long, Slot> slots,
+        Long bookingId,
+        Long roomId,
+        Instant startTime,
+        Instant endTime
+    ) {
+        if (bookingId == null) {
+            return;
+        }
+        remove(trees, slots, bookingId);
+        if (roomId == null || startTime == null || endTime == null) {
+            return;
+        }
+        Slot slot = new Slot(roomId, toMicros(startTime), toMicros(endTime));
+        BookingIntervalTree tree = trees.computeIfAbsent(roomId, id -> new BookingIntervalTree());
+        synchronized (tree) {
+            tree.insert(bookingId, slot.start(), slot.end());
+        }
+        slots.put(bookingId, slot);
+    }
+
+    private static void remove(Map<Long, BookingIntervalTree> trees, Map<Long, Slot> slots, Long bookingId) {
+        if (bookingId == null) {
+            return;
+        }
+        Slot slot = slots.remove(bookingId);
+        if (slot == null) {
+            return;
+        }
+        BookingIntervalTree tree = trees.get(slot.roomId());
+        if (tree != null) {
+            synchronized (tree) {
+                tree.remove(bookingId, slot.start());
+            }
+        }
+    }
+
+    private static long toMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    private record Slot(long roomId, long start, long end) {}
+}
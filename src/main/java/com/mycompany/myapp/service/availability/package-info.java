@@ -0,0 +1,4 @@
+/**
+ * In-memory indexes answering meeting room availability questions.
+ */
+package com.mycompany.myapp.service.availability;
@@ -0,0 +1,161 @@
+package com.mycompany.myapp.service.calendar;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.VacationRequest;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.repository.BookingRequestRepository;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.repository.MeetingRoomRepository;
+import com.mycompany.myapp.repository.VacationRequestRepository;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service building the iCalendar feeds of employees, with their bookings, invitations and vacations, and of meeting
+ * rooms, with their bookings.
+ * <p>
+ * A feed built from a sync token only holds the events created or updated since the feed that returned the token.
+ * Rejected events are kept as cancelled so that clients drop them; deleted ones only leave the full feed.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CalendarFeedService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CalendarFeedService.class);
+
+    private final BookingRequestRepository bookingRequestRepository;
+
+    private final VacationRequestRepository vacationRequestRepository;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final MeetingRoomRepository meetingRoomRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    public CalendarFeedService(
+        BookingRequestRepository bookingRequestRepository,
+        VacationRequestRepository vacationRequestRepository,
+        EmployeeRepository employeeRepository,
+        MeetingRoomRepository meetingRoomRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.bookingRequestRepository = bookingRequestRepository;
+        this.vacationRequestRepository = vacationRequestRepository;
+        this.employeeRepository = employeeRepository;
+        this.meetingRoomRepository = meetingRoomRepository;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * A calendar feed and the token to get the changes following it.
+     *
+     * @param content the iCalendar document.
+     * @param syncToken the sync token.
+     */
+    public record CalendarFeed(String content, String syncToken) {}
+
+    /**
+     * Build the feed of an employee.
+     *
+     * @param employeeId the id of the employee.
+     * @param changedAfter the time of the sync token of a previous feed, see {@link CalendarSyncTokens}, {@code null}
+     * for the full feed.
+     * @return the feed, empty if the employee does not exist.
+     */
+    public Optional<CalendarFeed> getEmployeeFeed(Long employeeId, Instant changedAfter) {
+        LOG.debug("Request to build the calendar feed of Employee : {}", employeeId);
+        Instant now = Instant.now();
+        Instant endAfter = now.minus(applicationProperties.getCalendarFeed().getHistory());
+        return employeeRepository
+            .findById(employeeId)
+            .map(employee -> {
+                List<BookingRequest> bookingRequests = bookingRequestRepository.findAllForEmployeeCalendar(
+                    employeeId,
+                    endAfter,
+                    changedAfter
+                );
+                List<VacationRequest> vacationRequests = vacationRequestRepository.findAllForEmployeeCalendar(
+                    employeeId,
+                    endAfter.atZone(ZoneOffset.UTC).toLocalDate(),
+                    changedAfter
+                );
+                ICalendarWriter writer = new ICalendarWriter().beginCalendar(employee.getName());
+                bookingRequests.forEach(bookingRequest -> writeBookingRequest(writer, bookingRequest, now));
+                vacationRequests.forEach(vacationRequest -> writeVacationRequest(writer, vacationRequest, employee.getName(), now));
+                return new CalendarFeed(writer.endCalendar(), CalendarSyncTokens.encode(now));
+            });
+    }
+
+    /**
+     * Build the feed of a meeting room.
+     *
+     * @param roomId the id of the meeting room.
+     * @param changedAfter the time of the sync token of a previous feed, see {@link CalendarSyncTokens}, {@code null}
+     * for the full feed.
+     * @return the feed, empty if the meeting room does not exist.
+     */
+    public Optional<CalendarFeed> getRoomFeed(Long roomId, Instant changedAfter) {
+        LOG.debug("Request to build the calendar feed of MeetingRoom : {}", roomId);
+        Instant now = Instant.now();
+        Instant endAfter = now.minus(applicationProperties.getCalendarFeed().getHistory());
+        return meetingRoomRepository
+            .findById(roomId)
+            .map(meetingRoom -> {
+                ICalendarWriter writer = new ICalendarWriter().beginCalendar(meetingRoom.getName());
+                bookingRequestRepository
+                    .findAllForRoomCalendar(roomId, endAfter, changedAfter)
+                    .forEach(bookingRequest -> writeBookingRequest(writer, bookingRequest, now));
+                return new CalendarFeed(writer.endCalendar(), CalendarSyncTokens.encode(now));
+            });
+    }
+
+    private static void writeBookingRequest(ICalendarWriter writer, BookingRequest bookingRequest, Instant now) {
+        String roomName = bookingRequest.getMeetingRoom() != null ? bookingRequest.getMeetingRoom().getName() : null;
+        Instant lastModified = bookingRequest.getUpdatedAt() != null ? bookingRequest.getUpdatedAt() : bookingRequest.getCreatedAt();
+        writer
+            .beginEvent("booking-" + bookingRequest.getId() + "@goat", lastModified != null ? lastModified : now)
+            .dateTime("DTSTART", bookingRequest.getStartTime())
+            .dateTime("DTEND", bookingRequest.getEndTime())
+            .text("SUMMARY", bookingRequest.getPurpose() != null ? bookingRequest.getPurpose() : "Meeting in " + roomName)
+            .text("LOCATION", roomName)
+            .value("STATUS", status(bookingRequest.getStatus()))
+            .dateTime("CREATED", bookingRequest.getCreatedAt())
+            .dateTime("LAST-MODIFIED", lastModified)
+            .endEvent();
+    }
+
+    private static void writeVacationRequest(ICalendarWriter writer, VacationRequest vacationRequest, String employeeName, Instant now) {
+        Instant lastModified = vacationRequest.getUpdatedAt() != null ? vacationRequest.getUpdatedAt() : vacationRequest.getCreatedAt();
+        String type = vacationRequest.getType() != null ? " (" + vacationRequest.getType().name().toLowerCase(Locale.ROOT) + ")" : "";
+        writer
+            .beginEvent("vacation-" + vacationRequest.getId() + "@goat", lastModified != null ? lastModified : now)
+            .date("DTSTART", vacationRequest.getStartDate())
+            // The end date of an all-day event is exclusive
+            .date("DTEND", vacationRequest.getEndDate().plusDays(1))
+            .text("SUMMARY", "Vacation of " + employeeName + type)
+            .value("STATUS", status(vacationRequest.getStatus()))
+            .dateTime("CREATED", vacationRequest.getCreatedAt())
+            .dateTime("LAST-MODIFIED", lastModified)
+            .endEvent();
+    }
+
+    private static String status(Status status) {
+        if (status == null) {
+            return null;
+        }
+        return switch (status) {
+            case PENDING -> "TENTATIVE";
+            case APPROVED -> "CONFIRMED";
+            case REJECTED -> "CANCELLED";
+        };
+    }
+}
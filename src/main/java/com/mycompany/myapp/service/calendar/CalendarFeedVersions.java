@@ -0,0 +1,132 @@
+package com.mycompany.myapp.service.calendar;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.VacationRequest;
+import java.time.Clock;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory change versions of the calendar feeds of each employee and each meeting room.
+ * <p>
+ * A version is bumped once a transaction changing a booking or a vacation of the feed commits, so the ETag of a feed
+ * is known without a database round trip. The ETags also hold the start of this instance, so versions restarted from
+ * zero never repeat an earlier ETag, and the current {@code max-staleness} period, so a feed changed through another
+ * instance is sent again within that period.
+ */
+@Service
+public class CalendarFeedVersions {
+
+    private final Map<Long, AtomicLong> employeeVersions = new ConcurrentHashMap<>();
+
+    private final Map<Long, AtomicLong> roomVersions = new ConcurrentHashMap<>();
+
+    private final Clock clock;
+
+    private final long maxStalenessMillis;
+
+    private final String instance;
+
+    @Autowired
+    public CalendarFeedVersions(ApplicationProperties applicationProperties) {
+        this(applicationProperties, Clock.systemUTC());
+    }
+
+    CalendarFeedVersions(ApplicationProperties applicationProperties, Clock clock) {
+        this.clock = clock;
+        this.maxStalenessMillis = Math.max(1, applicationProperties.getCalendarFeed().getMaxStaleness().toMillis());
+        this.instance = Long.toString(clock.millis(), Character.MAX_RADIX);
+    }
+
+    /**
+     * Get the ETag of the feed of an employee.
+     *
+     * @param employeeId the id of the employee.
+     * @return the ETag, unquoted.
+     */
+    public String employeeTag(Long employeeId) {
+        return tag("employee", employeeId, employeeVersions);
+    }
+
+    /**
+     * Get the ETag of the feed of a meeting room.
+     *
+     * @param roomId the id of the meeting room.
+     * @return the ETag, unquoted.
+     */
+    public String roomTag(Long roomId) {
+        return tag("room", roomId, roomVersions);
+    }
+
+    /**
+     * Bump the versions of the feeds a booking appears in, its owner's, its invited users' and its room's, once the
+     * surrounding transaction commits.
+     * <p>
+     * Call it before a booking changes too, so the feeds it leaves are bumped as well.
+     *
+     * @param bookingRequest the booking request.
+     */
+    public void touchAfterCommit(BookingRequest bookingRequest) {
+        Set<Long> employeeIds = new LinkedHashSet<>();
+        addId(employeeIds, bookingRequest.getEmployee());
+        bookingRequest.getInvitedUsers().forEach(invitedUser -> addId(employeeIds, invitedUser));
+        Long roomId = bookingRequest.getMeetingRoom() != null ? bookingRequest.getMeetingRoom().getId() : null;
+        afterCommit(() -> {
+            employeeIds.forEach(employeeId -> bump(employeeVersions, employeeId));
+            bump(roomVersions, roomId);
+        });
+    }
+
+    /**
+     * Bump the version of the feed of the employee of a vacation once the surrounding transaction commits.
+     *
+     * @param vacationRequest the vacation request.
+     */
+    public void touchAfterCommit(VacationRequest vacationRequest) {
+        Long employeeId = vacationRequest.getEmployee() != null ? vacationRequest.getEmployee().getId() : null;
+        afterCommit(() -> bump(employeeVersions, employeeId));
+    }
+
+    private String tag(String feed, Long id, Map<Long, AtomicLong> versions) {
+        AtomicLong version = versions.get(id);
+        return (
+            feed + "-" + id + "-" + instance + "-" + clock.millis() / maxStalenessMillis + "-" + (version != null ? version.get() : 0L)
+        );
+    }
+
+    private static void addId(Set<Long> ids, Employee employee) {
+        if (employee != null && employee.getId() != null) {
+            ids.add(employee.getId());
+        }
+    }
+
+    private static void bump(Map<Long, AtomicLong> versions, Long id) {
+        if (id != null) {
+            versions.computeIfAbsent(id, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                }
+            );
+        } else {
+            action.run();
+        }
+    }
+}
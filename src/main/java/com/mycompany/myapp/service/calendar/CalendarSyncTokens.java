@@ -0,0 +1,51 @@
+package com.mycompany.myapp.service.calendar;
+
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque sync tokens of the calendar feeds.
+ * <p>
+ * A token holds the time after which the changes following a feed start. Clients must not make any assumption about
+ * its content.
+ */
+public final class CalendarSyncTokens {
+
+    /**
+     * How far back a token starts from the time its feed was read, so that changes committed while it was read, with
+     * an earlier update time, are not missed. Events changed in that overlap are sent twice, which clients ignore as
+     * they carry the same UID.
+     */
+    static final Duration OVERLAP = Duration.ofMinutes(1);
+
+    private CalendarSyncTokens() {}
+
+    /**
+     * Get the token of a feed read at a time.
+     *
+     * @param readAt the time the feed was read.
+     * @return the token.
+     */
+    public static String encode(Instant readAt) {
+        String changedAfter = Long.toString(readAt.minus(OVERLAP).toEpochMilli());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(changedAfter.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token into the time after which its changes start.
+     *
+     * @param token the token.
+     * @return the time.
+     * @throws BadRequestAlertException if the token is invalid.
+     */
+    public static Instant decode(String token) {
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid sync token", "calendarFeed", "invalidsynctoken");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.mycompany.myapp.service.calendar;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Minimal writer of iCalendar (RFC 5545) documents: CRLF line endings, escaped text values and lines folded at 75
+ * octets.
+ */
+final class ICalendarWriter {
+
+    private static final String CRLF = "\r\n";
+
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final StringBuilder out = new StringBuilder();
+
+    ICalendarWriter beginCalendar(String name) {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//Goat//Calendar feed//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        return text("X-WR-CALNAME", name);
+    }
+
+    ICalendarWriter beginEvent(String uid, Instant stamp) {
+        line("BEGIN:VEVENT");
+        text("UID", uid);
+        return dateTime("DTSTAMP", stamp);
+    }
+
+    ICalendarWriter endEvent() {
+        return line("END:VEVENT");
+    }
+
+    String endCalendar() {
+        line("END:VCALENDAR");
+        return out.toString();
+    }
+
+    ICalendarWriter text(String name, String value) {
+        if (value == null) {
+            return this;
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // Dropped, a CRLF in the value is escaped as its LF
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return line(name + ":" + escaped);
+    }
+
+    ICalendarWriter dateTime(String name, Instant value) {
+        return value != null ? line(name + ":" + DATE_TIME.format(value)) : this;
+    }
+
+    ICalendarWriter date(String name, LocalDate value) {
+        return value != null ? line(name + ";VALUE=DATE:" + DATE.format(value)) : this;
+    }
+
+    ICalendarWriter value(String name, Object value) {
+        return value != null ? line(name + ":" + value) : this;
+    }
+
+    /**
+     * Append a content line, folded into lines of at most 75 UTF-8 octets continued by a space, without splitting a
+     * character.
+     */
+    private ICalendarWriter line(String line) {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int length = Character.charCount(codePoint);
+            int codePointOctets = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + codePointOctets > MAX_LINE_OCTETS) {
+                out.append(CRLF).append(' ');
+                octets = 1;
+            }
+            out.append(line, i, i + length);
+            octets += codePointOctets;
+            i += length;
+        }
+        out.append(CRLF);
+        return this;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * iCalendar feeds of the bookings and vacations of employees and meeting rooms.
+ */
+package com.mycompany.myapp.service.calendar;
@@ -29,6 +29,9 @@ public class AttachmentDTO implements Serializable {
 
     private Instant uploadedAt;
 
+    @Size(max = 64)
+    private String checksum;
+
     private VacationRequestDTO vacationRequest;
 
     public Long getId() {
@@ -79,6 +82,14 @@ public class AttachmentDTO implements Serializable {
         this.uploadedAt = uploadedAt;
     }
 
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
     public VacationRequestDTO getVacationRequest() {
         return vacationRequest;
     }
@@ -118,6 +129,7 @@ public class AttachmentDTO implements Serializable {
             ", fileSize=" + getFileSize() +
             ", contentType='" + getContentType() + "'" +
             ", uploadedAt='" + getUploadedAt() + "'" +
+            ", checksum='" + getChecksum() + "'" +
             ", vacationRequest=" + getVacationRequest() +
             "}";
     }
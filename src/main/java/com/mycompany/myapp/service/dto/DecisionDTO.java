@@ -0,0 +1,65 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.enumeration.Status;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A DTO for the approval or rejection of many pending requests at once.
+ */
+public class DecisionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_IDS = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_IDS)
+    private List<@NotNull Long> ids;
+
+    @NotNull
+    private Status decision;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Status getDecision() {
+        return decision;
+    }
+
+    public void setDecision(Status decision) {
+        this.decision = decision;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DecisionDTO decisionDTO)) {
+            return false;
+        }
+        return Objects.equals(ids, decisionDTO.ids) && decision == decisionDTO.decision;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ids, decision);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DecisionDTO{" +
+            "ids=" + getIds() +
+            ", decision='" + getDecision() + "'" +
+            "}";
+    }
+}
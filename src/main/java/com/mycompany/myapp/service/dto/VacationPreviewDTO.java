@@ -0,0 +1,97 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A DTO for the working days a vacation would take from the balance of an employee, before it is requested.
+ */
+public class VacationPreviewDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private int days;
+
+    private Integer vacationBalance;
+
+    private Integer remainingBalance;
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public Integer getVacationBalance() {
+        return vacationBalance;
+    }
+
+    public void setVacationBalance(Integer vacationBalance) {
+        this.vacationBalance = vacationBalance;
+    }
+
+    public Integer getRemainingBalance() {
+        return remainingBalance;
+    }
+
+    public void setRemainingBalance(Integer remainingBalance) {
+        this.remainingBalance = remainingBalance;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VacationPreviewDTO vacationPreviewDTO)) {
+            return false;
+        }
+        return (
+            Objects.equals(startDate, vacationPreviewDTO.startDate) &&
+            Objects.equals(endDate, vacationPreviewDTO.endDate) &&
+            days == vacationPreviewDTO.days &&
+            Objects.equals(vacationBalance, vacationPreviewDTO.vacationBalance) &&
+            Objects.equals(remainingBalance, vacationPreviewDTO.remainingBalance)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(startDate, endDate, days, vacationBalance, remainingBalance);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VacationPreviewDTO{" +
+            "startDate='" + getStartDate() + "'" +
+            ", endDate='" + getEndDate() + "'" +
+            ", days=" + getDays() +
+            ", vacationBalance=" + getVacationBalance() +
+            ", remainingBalance=" + getRemainingBalance() +
+            "}";
+    }
+}
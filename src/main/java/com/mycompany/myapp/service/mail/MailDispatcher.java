@@ -0,0 +1,228 @@
+package com.mycompany.myapp.service.mail;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Batched delivery of outbound mails, kept apart from the application {@code taskExecutor}.
+ * <p>
+ * Messages are put in a bounded queue and sent by dedicated workers, each batch over a single SMTP connection through
+ * {@link JavaMailSender#send(MimeMessage...)}. When the queue is full, a dispatch waits up to the configured offer
+ * timeout in total, whatever the number of its messages, before the remaining ones are rejected, so a burst of
+ * notifications slows its producer down instead of piling up in memory.
+ * Each queued message comes with a future completed once the mail server has accepted or refused it.
+ */
+@Service
+public class MailDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailDispatcher.class);
+
+    public static final String QUEUE_DEPTH_METER_NAME = "mail.dispatch.queue.depth";
+    public static final String BATCH_SIZE_METER_NAME = "mail.dispatch.batch.size";
+    public static final String SEND_LATENCY_METER_NAME = "mail.dispatch.send.latency";
+    public static final String REJECTED_METER_NAME = "mail.dispatch.rejected";
+    public static final String FAILED_METER_NAME = "mail.dispatch.failed";
+
+    private static final long POLL_INTERVAL_MILLIS = 500;
+
+    private final JavaMailSender javaMailSender;
+
+    private final ApplicationProperties.MailDispatch properties;
+
+    private final BlockingQueue<Envelope> queue;
+
+    private final ExecutorService workers;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private final Timer sendLatencyTimer;
+
+    private final Counter rejectedCounter;
+
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+
+    public MailDispatcher(JavaMailSender javaMailSender, ApplicationProperties applicationProperties, MeterRegistry registry) {
+        this.javaMailSender = javaMailSender;
+        this.properties = applicationProperties.getMailDispatch();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.workers = Executors.newFixedThreadPool(properties.getWorkers(), new CustomizableThreadFactory("mail-dispatch-"));
+        Gauge.builder(QUEUE_DEPTH_METER_NAME, queue, BlockingQueue::size)
+            .baseUnit("messages")
+            .description("Number of mails waiting to be sent")
+            .register(registry);
+        this.batchSizeSummary = DistributionSummary.builder(BATCH_SIZE_METER_NAME)
+            .baseUnit("messages")
+            .description("Number of mails sent over a single SMTP connection")
+            .register(registry);
+        this.sendLatencyTimer = Timer.builder(SEND_LATENCY_METER_NAME)
+            .description("Time spent sending a batch of mails")
+            .register(registry);
+        this.rejectedCounter = Counter.builder(REJECTED_METER_NAME)
+            .baseUnit("messages")
+            .description("Number of mails rejected because the dispatch queue stayed full")
+            .register(registry);
+        this.failedCounter = Counter.builder(FAILED_METER_NAME)
+            .baseUnit("messages")
+            .description("Number of mails the mail server did not accept")
+            .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.execute(this::drain);
+        }
+    }
+
+    /**
+     * Stop accepting mails, then let the workers send what is still queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            LOG.warn("Mail dispatch stopped with {} mails still queued", queue.size());
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Queue mails for delivery, waiting up to the offer timeout for room in the queue if needed.
+     *
+     * @param messages the mails to send.
+     * @return one future per mail, in the same order, completed when the mail is sent; a mail rejected because the
+     * queue stayed full completes with a {@link RejectedExecutionException}.
+     */
+    public List<CompletableFuture<Void>> dispatch(List<MimeMessage> messages) {
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>(messages.size());
+        long deadline = System.nanoTime() + properties.getOfferTimeout().toNanos();
+        int rejected = 0;
+        for (MimeMessage message : messages) {
+            Envelope envelope = new Envelope(message, new CompletableFuture<>());
+            if (!offer(envelope, deadline)) {
+                rejected++;
+                rejectedCounter.increment();
+                envelope.delivery().completeExceptionally(new RejectedExecutionException("Mail dispatch queue is full"));
+            }
+            deliveries.add(envelope.delivery());
+        }
+        if (rejected > 0) {
+            LOG.warn("Mail dispatch queue is full, {} of {} mails were rejected", rejected, messages.size());
+        }
+        return deliveries;
+    }
+
+    private boolean offer(Envelope envelope, long deadline) {
+        if (!running) {
+            return false;
+        }
+        try {
+            // Once the deadline has passed, only a free slot is taken
+            return queue.offer(envelope, Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        List<Envelope> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                if (nextBatch(batch)) {
+                    send(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Wait for a first mail, then collect more until the batch is full or the linger delay has elapsed.
+     */
+    private boolean nextBatch(List<Envelope> batch) throws InterruptedException {
+        Envelope first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+        batch.add(first);
+        int batchSize = properties.getBatchSize();
+        long deadline = System.nanoTime() + properties.getLinger().toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            Envelope next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return true;
+    }
+
+    private void send(List<Envelope> batch) {
+        batchSizeSummary.record(batch.size());
+        Timer.Sample sample = Timer.start();
+        try {
+            javaMailSender.send(batch.stream().map(Envelope::message).toArray(MimeMessage[]::new));
+            LOG.debug("Sent {} mails", batch.size());
+            batch.forEach(envelope -> envelope.delivery().complete(null));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            int failed = failedMessages.isEmpty() ? batch.size() : failedMessages.size();
+            // Counted before completing the deliveries, so that their callers see the count
+            failedCounter.increment(failed);
+            LOG.warn("{} of {} mails could not be sent", failed, batch.size(), e);
+            for (Envelope envelope : batch) {
+                Exception cause = failedMessages.isEmpty() ? e : failedMessages.get(envelope.message());
+                if (cause != null) {
+                    envelope.delivery().completeExceptionally(cause);
+                } else {
+                    envelope.delivery().complete(null);
+                }
+            }
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            LOG.warn("{} mails could not be sent", batch.size(), e);
+            batch.forEach(envelope -> envelope.delivery().completeExceptionally(e));
+        } finally {
+            sample.stop(sendLatencyTimer);
+        }
+    }
+
+    private record Envelope(MimeMessage message, CompletableFuture<Void> delivery) {}
+}
@@ -0,0 +1,120 @@
+package com.mycompany.myapp.service.mail;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.NotificationOutbox;
+import com.mycompany.myapp.service.MailService;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background relay delivering the {@link NotificationOutbox} through the {@link MailDispatcher}.
+ * <p>
+ * Notifications are claimed in batches in a short transaction, sent without holding any database connection, then
+ * marked as sent or rescheduled. The idempotency key of each notification travels in the {@value #IDEMPOTENCY_KEY_HEADER}
+ * header, so a mail sent again after a crash between delivery and acknowledgement can be recognized downstream.
+ */
+@Service
+public class NotificationOutboxRelay {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationOutboxRelay.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "X-Idempotency-Key";
+
+    private final NotificationOutboxService notificationOutboxService;
+
+    private final MailService mailService;
+
+    private final MailDispatcher mailDispatcher;
+
+    private final ApplicationProperties.NotificationOutbox properties;
+
+    public NotificationOutboxRelay(
+        NotificationOutboxService notificationOutboxService,
+        MailService mailService,
+        MailDispatcher mailDispatcher,
+        ApplicationProperties applicationProperties
+    ) {
+        this.notificationOutboxService = notificationOutboxService;
+        this.mailService = mailService;
+        this.mailDispatcher = mailDispatcher;
+        this.properties = applicationProperties.getNotificationOutbox();
+    }
+
+    /**
+     * Deliver the due notifications, batch after batch, until the outbox is drained.
+     */
+    @Scheduled(
+        initialDelayString = "${application.notification-outbox.poll-interval:PT5S}",
+        fixedDelayString = "${application.notification-outbox.poll-interval:PT5S}"
+    )
+    public void relay() {
+        List<NotificationOutbox> batch;
+        do {
+            batch = notificationOutboxService.claimDue();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() >= properties.getBatchSize());
+    }
+
+    /**
+     * Delete the delivered notifications older than the retention period, every night.
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void purge() {
+        int purged = notificationOutboxService.purgeSent();
+        LOG.debug("Purged {} delivered notifications", purged);
+    }
+
+    void deliver(List<NotificationOutbox> batch) {
+        List<NotificationOutbox> prepared = new ArrayList<>(batch.size());
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (NotificationOutbox notification : batch) {
+            try {
+                MimeMessage message = mailService.createMimeMessage(
+                    notification.getRecipient(),
+                    notification.getSubject(),
+                    notification.getContent(),
+                    false,
+                    false
+                );
+                message.setHeader(IDEMPOTENCY_KEY_HEADER, notification.getIdempotencyKey());
+                prepared.add(notification);
+                messages.add(message);
+            } catch (MessagingException e) {
+                notificationOutboxService.markFailed(notification.getId(), e.getMessage());
+            }
+        }
+
+        List<CompletableFuture<Void>> deliveries = mailDispatcher.dispatch(messages);
+        long deadline = System.nanoTime() + properties.getLease().toNanos();
+        List<Long> sentIds = new ArrayList<>(prepared.size());
+        for (int i = 0; i < prepared.size(); i++) {
+            Long id = prepared.get(i).getId();
+            try {
+                deliveries.get(i).get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                sentIds.add(id);
+            } catch (ExecutionException e) {
+                notificationOutboxService.markFailed(id, e.getCause().getMessage());
+            } catch (TimeoutException e) {
+                // Counted as a failed attempt, so a notification that never gets through is eventually given up
+                LOG.warn("Notification {} was not sent before its lease expired", id);
+                notificationOutboxService.markFailed(id, "Not sent before the lease expired");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        notificationOutboxService.markSent(sentIds);
+    }
+}
@@ -0,0 +1,223 @@
+package com.mycompany.myapp.service.mail;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.NotificationOutbox;
+import com.mycompany.myapp.domain.enumeration.OutboxStatus;
+import com.mycompany.myapp.repository.NotificationOutboxRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service writing notifications to the {@link NotificationOutbox} and tracking their delivery.
+ */
+@Service
+@Transactional
+public class NotificationOutboxService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationOutboxService.class);
+
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofHours(1);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+
+    private final ApplicationProperties.NotificationOutbox properties;
+
+    public NotificationOutboxService(
+        NotificationOutboxRepository notificationOutboxRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.properties = applicationProperties.getNotificationOutbox();
+    }
+
+    /**
+     * A notification of an event of an entity to its recipients.
+     *
+     * @param aggregateType the type of the notified entity.
+     * @param aggregateId the id of the notified entity.
+     * @param event the event, e.g. the new status of the entity.
+     * @param changedAt the instant of the change raising the event, e.g. the update date of the entity.
+     * @param recipients the email addresses.
+     * @param subject the subject.
+     * @param content the content.
+     */
+    public record Notification(
+        String aggregateType,
+        Long aggregateId,
+        String event,
+        Instant changedAt,
+        Collection<String> recipients,
+        String subject,
+        String content
+    ) {}
+
+    /**
+     * Queue a notification for each recipient, as part of the transaction changing the notified entity.
+     * <p>
+     * A notification is identified by the entity, the event, the change raising it and the recipient: queuing it again
+     * is a no-op, while the same event raised again by a later change, e.g. a request approved, set back to pending
+     * then approved again, is a new notification.
+     *
+     * @param aggregateType the type of the notified entity.
+     * @param aggregateId the id of the notified entity.
+     * @param event the event, e.g. the new status of the entity.
+     * @param changedAt the instant of the change raising the event, e.g. the update date of the entity.
+     * @param recipients the email addresses.
+     * @param subject the subject.
+     * @param content the content.
+     * @return the number of notifications queued.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int enqueue(
+        String aggregateType,
+        Long aggregateId,
+        String event,
+        Instant changedAt,
+        Collection<String> recipients,
+        String subject,
+        String content
+    ) {
+        return enqueueAll(List.of(new Notification(aggregateType, aggregateId, event, changedAt, recipients, subject, content)));
+    }
+
+    /**
+     * Queue many notifications at once, as part of the transaction changing the notified entities: the already queued
+     * ones are looked up with a single query, and the new ones inserted in JDBC batches.
+     *
+     * @param notifications the notifications.
+     * @return the number of notifications queued.
+     * @see #enqueue(String, Long, String, Instant, Collection, String, String)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int enqueueAll(Collection<Notification> notifications) {
+        Map<String, NotificationOutbox> outboxByKey = new LinkedHashMap<>();
+        Instant now = Instant.now();
+        for (Notification notification : notifications) {
+            for (String recipient : notification.recipients()) {
+                String key = idempotencyKey(
+                    notification.aggregateType(),
+                    notification.aggregateId(),
+                    notification.event(),
+                    notification.changedAt(),
+                    recipient
+                );
+                outboxByKey.computeIfAbsent(key, k ->
+                    new NotificationOutbox()
+                        .idempotencyKey(k)
+                        .aggregateType(notification.aggregateType())
+                        .aggregateId(notification.aggregateId())
+                        .recipient(recipient)
+                        .subject(notification.subject())
+                        .content(notification.content())
+                        .status(OutboxStatus.PENDING)
+                        .attempts(0)
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                );
+            }
+        }
+        if (outboxByKey.isEmpty()) {
+            return 0;
+        }
+        notificationOutboxRepository.findExistingIdempotencyKeys(outboxByKey.keySet()).forEach(outboxByKey::remove);
+        List<NotificationOutbox> queued = new ArrayList<>(outboxByKey.values());
+        notificationOutboxRepository.saveAll(queued);
+        LOG.debug("Queued {} notifications for {} events", queued.size(), notifications.size());
+        return queued.size();
+    }
+
+    /**
+     * Claim the notifications due for delivery: each one counts an attempt and is hidden from other relays until the
+     * lease expires, so a relay dying while sending does not lose it.
+     *
+     * @return the claimed notifications.
+     */
+    public List<NotificationOutbox> claimDue() {
+        Instant now = Instant.now();
+        List<NotificationOutbox> due = notificationOutboxRepository.findDueForUpdate(
+            OutboxStatus.PENDING,
+            now,
+            PageRequest.of(0, properties.getBatchSize())
+        );
+        Instant leaseEnd = now.plus(properties.getLease());
+        due.forEach(notification -> notification.attempts(notification.getAttempts() + 1).nextAttemptAt(leaseEnd));
+        return due;
+    }
+
+    /**
+     * Mark notifications as delivered.
+     *
+     * @param ids the ids of the notifications.
+     */
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            notificationOutboxRepository.markSent(ids, OutboxStatus.SENT, Instant.now());
+        }
+    }
+
+    /**
+     * Record a failed delivery: the notification is retried with an exponential backoff, or given up once it has used
+     * all of its attempts.
+     *
+     * @param id the id of the notification.
+     * @param error the reason of the failure.
+     */
+    public void markFailed(Long id, String error) {
+        notificationOutboxRepository
+            .findById(id)
+            .ifPresent(notification -> {
+                notification.lastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                if (notification.getAttempts() >= properties.getMaxAttempts()) {
+                    LOG.warn("Giving up notification {} after {} attempts: {}", id, notification.getAttempts(), error);
+                    notification.status(OutboxStatus.FAILED);
+                } else {
+                    notification.nextAttemptAt(Instant.now().plus(retryBackoff(notification.getAttempts())));
+                }
+            });
+    }
+
+    /**
+     * Delete the delivered notifications older than the retention period.
+     *
+     * @return the number of deleted notifications.
+     */
+    public int purgeSent() {
+        Instant before = Instant.now().minus(properties.getRetention());
+        return notificationOutboxRepository.deleteByStatusAndSentAtBefore(OutboxStatus.SENT, before);
+    }
+
+    Duration retryBackoff(int attempts) {
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return backoff.compareTo(MAX_RETRY_BACKOFF) > 0 ? MAX_RETRY_BACKOFF : backoff;
+    }
+
+    static String idempotencyKey(String aggregateType, Long aggregateId, String event, Instant changedAt, String recipient) {
+        String change = changedAt != null ? String.valueOf(changedAt.toEpochMilli()) : "";
+        String address = recipient.trim().toLowerCase(Locale.ROOT);
+        String naturalKey = aggregateType + ':' + aggregateId + ':' + event + ':' + change + ':' + address;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(naturalKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Outbound mail dispatch.
+ */
+package com.mycompany.myapp.service.mail;
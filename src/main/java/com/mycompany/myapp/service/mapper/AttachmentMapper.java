@@ -14,6 +14,15 @@ public interface AttachmentMapper extends EntityMapper<AttachmentDTO, Attachment
     @Mapping(target = "vacationRequest", source = "vacationRequest", qualifiedByName = "vacationRequestId")
     AttachmentDTO toDto(Attachment s);
 
+    // The checksum keys the stored content, so only an upload sets it
+    @Mapping(target = "checksum", ignore = true)
+    Attachment toEntity(AttachmentDTO attachmentDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "checksum", ignore = true)
+    void partialUpdate(@MappingTarget Attachment entity, AttachmentDTO dto);
+
     @Named("vacationRequestId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -23,6 +23,13 @@ public interface BookingRequestMapper extends EntityMapper<BookingRequestDTO, Bo
     @Mapping(target = "removeInvitedUsers", ignore = true)
     BookingRequest toEntity(BookingRequestDTO bookingRequestDTO);
 
+    // The meeting room is re-admitted by the service, rather than copied into the current one
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "meetingRoom", ignore = true)
+    @Mapping(target = "removeInvitedUsers", ignore = true)
+    void partialUpdate(@MappingTarget BookingRequest entity, BookingRequestDTO dto);
+
     // --- Employee mapping with id + name ---
     @Named("employeeBasic")
     @BeanMapping(ignoreByDefault = true)
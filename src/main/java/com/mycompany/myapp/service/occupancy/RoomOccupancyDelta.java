@@ -0,0 +1,40 @@
+package com.mycompany.myapp.service.occupancy;
+
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.enumeration.Status;
+import java.time.Instant;
+
+/**
+ * A change of the occupancy of a meeting room, as sent to the subscribers of {@link RoomOccupancyHub}.
+ * <p>
+ * A booking occupies its room while it is pending or approved; a {@code CHANGED} delta with a {@code REJECTED} status
+ * frees its time window.
+ *
+ * @param type the kind of change.
+ * @param bookingRequestId the id of the booking request.
+ * @param roomId the id of the meeting room.
+ * @param startTime the start of the booking.
+ * @param endTime the end of the booking.
+ * @param status the status of the booking.
+ */
+public record RoomOccupancyDelta(Type type, Long bookingRequestId, Long roomId, Instant startTime, Instant endTime, Status status) {
+    public enum Type {
+        /** The booking now occupies the room. */
+        BOOKED,
+        /** The time window or the status of the booking changed. */
+        CHANGED,
+        /** The booking no longer occupies the room, it was deleted or moved to another room. */
+        RELEASED,
+    }
+
+    static RoomOccupancyDelta of(Type type, Long roomId, BookingRequest bookingRequest) {
+        return new RoomOccupancyDelta(
+            type,
+            bookingRequest.getId(),
+            roomId,
+            bookingRequest.getStartTime(),
+            bookingRequest.getEndTime(),
+            bookingRequest.getStatus()
+        );
+    }
+}
@@ -0,0 +1,358 @@
+package com.mycompany.myapp.service.occupancy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.BookingRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fan-out of the occupancy changes of meeting rooms to server-sent event subscribers.
+ * <p>
+ * An idle subscriber holds no thread, only its emitter and a bounded buffer of pending events. A change is serialized
+ * once, offered to the buffer of each interested subscriber, and written by a small pool of sender threads, at most one
+ * at a time per subscriber. A subscriber whose buffer is full has fallen behind: it is evicted, its stream is closed,
+ * and it is expected to reconnect and reload the occupancy through the REST API. Eviction never waits on the
+ * connection. A write blocked on a stalled client holds its sender thread until the send timeout: the stream is then
+ * evicted and its sender interrupted, so a few stalled clients cannot starve the others. Undertow's socket write
+ * timeout ({@code server.undertow.options.socket.WRITE_TIMEOUT}) bounds the writes the interrupt does not end.
+ * <p>
+ * Changes are published once the transaction writing them commits, and only reach the subscribers of this instance.
+ */
+@Service
+public class RoomOccupancyHub {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RoomOccupancyHub.class);
+
+    public static final String EVENT_NAME = "occupancy";
+
+    public static final String SUBSCRIBERS_METER_NAME = "occupancy.stream.subscribers";
+    public static final String EVICTED_METER_NAME = "occupancy.stream.evicted";
+
+    private final ApplicationProperties.OccupancyStream properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService senders;
+
+    private final AtomicLong eventIds = new AtomicLong();
+
+    private final Counter evictedCounter;
+
+    private final long sendTimeoutNanos;
+
+    public RoomOccupancyHub(ApplicationProperties applicationProperties, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.properties = applicationProperties.getOccupancyStream();
+        this.objectMapper = objectMapper;
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads(), new CustomizableThreadFactory("occupancy-stream-"));
+        this.sendTimeoutNanos = properties.getSendTimeout().toNanos();
+        Gauge.builder(SUBSCRIBERS_METER_NAME, subscribers, Set::size)
+            .baseUnit("subscribers")
+            .description("Number of open room occupancy streams")
+            .register(registry);
+        this.evictedCounter = Counter.builder(EVICTED_METER_NAME)
+            .baseUnit("subscribers")
+            .description("Number of room occupancy streams closed because their client fell behind")
+            .register(registry);
+    }
+
+    /**
+     * Close the open streams and stop the sender threads.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdown();
+        if (!senders.awaitTermination(5, TimeUnit.SECONDS)) {
+            senders.shutdownNow();
+        }
+    }
+
+    /**
+     * Open a stream of the occupancy changes of some meeting rooms.
+     *
+     * @param roomIds the ids of the meeting rooms to follow, all of them if empty.
+     * @return the emitter of the stream.
+     * @throws ResponseStatusException with status {@code 503 (Service Unavailable)} when too many streams are open.
+     */
+    public SseEmitter subscribe(Set<Long> roomIds) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many room occupancy streams");
+        }
+        return subscribe(roomIds, new SseEmitter(properties.getTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(Set<Long> roomIds, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(roomIds), properties.getBufferSize());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // Sends the response headers right away, so the client knows the stream is open
+        offer(subscriber, SseEmitter.event().comment("subscribed").build());
+        LOG.debug("Room occupancy stream opened for rooms {}, {} open", roomIds, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Publish a new booking once the surrounding transaction commits.
+     *
+     * @param bookingRequest the booking request.
+     */
+    public void bookedAfterCommit(BookingRequest bookingRequest) {
+        publishAfterCommit(List.of(RoomOccupancyDelta.of(RoomOccupancyDelta.Type.BOOKED, roomId(bookingRequest), bookingRequest)));
+    }
+
+    /**
+     * Publish a changed booking once the surrounding transaction commits, as released from its previous room and
+     * booked in the new one when it moved.
+     *
+     * @param previousRoomId the id of the meeting room of the booking before the change.
+     * @param bookingRequest the booking request, changed.
+     */
+    public void changedAfterCommit(Long previousRoomId, BookingRequest bookingRequest) {
+        Long roomId = roomId(bookingRequest);
+        if (previousRoomId == null || Objects.equals(previousRoomId, roomId)) {
+            publishAfterCommit(List.of(RoomOccupancyDelta.of(RoomOccupancyDelta.Type.CHANGED, roomId, bookingRequest)));
+        } else {
+            publishAfterCommit(
+                List.of(
+                    RoomOccupancyDelta.of(RoomOccupancyDelta.Type.RELEASED, previousRoomId, bookingRequest),
+                    RoomOccupancyDelta.of(RoomOccupancyDelta.Type.BOOKED, roomId, bookingRequest)
+                )
+            );
+        }
+    }
+
+    /**
+     * Publish a deleted booking once the surrounding transaction commits.
+     *
+     * @param bookingRequest the booking request.
+     */
+    public void releasedAfterCommit(BookingRequest bookingRequest) {
+        publishAfterCommit(List.of(RoomOccupancyDelta.of(RoomOccupancyDelta.Type.RELEASED, roomId(bookingRequest), bookingRequest)));
+    }
+
+    /**
+     * Send a comment to every stream, so that proxies keep idle streams open and closed connections are noticed.
+     */
+    @Scheduled(
+        initialDelayString = "${application.occupancy-stream.heartbeat-interval:PT25S}",
+        fixedDelayString = "${application.occupancy-stream.heartbeat-interval:PT25S}"
+    )
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event().comment("heartbeat").build();
+        subscribers.forEach(subscriber -> offer(subscriber, event));
+    }
+
+    /**
+     * Evict the streams whose write has been blocked longer than the send timeout, and interrupt their sender threads.
+     */
+    @Scheduled(
+        initialDelayString = "${application.occupancy-stream.send-timeout:PT10S}",
+        fixedDelayString = "${application.occupancy-stream.send-timeout:PT10S}"
+    )
+    public void evictStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            synchronized (subscriber) {
+                long blocked = now - subscriber.sendStartedAt;
+                if (subscriber.sender != null && blocked > sendTimeoutNanos && subscribers.remove(subscriber)) {
+                    evictedCounter.increment();
+                    LOG.debug("Room occupancy stream evicted, a write is blocked for {}", Duration.ofNanos(blocked));
+                    subscriber.evicted.set(true);
+                    subscriber.queue.clear();
+                    subscriber.sender.interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of open streams.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Send occupancy changes to the streams following their rooms.
+     *
+     * @param deltas the changes.
+     */
+    void publish(List<RoomOccupancyDelta> deltas) {
+        for (RoomOccupancyDelta delta : deltas) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event;
+            try {
+                // Serialized once for all the subscribers
+                event = SseEmitter.event()
+                    .id(Long.toString(eventIds.incrementAndGet()))
+                    .name(EVENT_NAME)
+                    .data(objectMapper.writeValueAsString(delta), MediaType.APPLICATION_JSON)
+                    .build();
+            } catch (JsonProcessingException e) {
+                LOG.warn("Room occupancy change could not be serialized: {}", e.getMessage());
+                continue;
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.follows(delta.roomId())) {
+                    offer(subscriber, event);
+                }
+            }
+        }
+    }
+
+    private void publishAfterCommit(List<RoomOccupancyDelta> deltas) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publish(deltas);
+                    }
+                }
+            );
+        } else {
+            publish(deltas);
+        }
+    }
+
+    private void offer(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        if (subscriber.queue.offer(event)) {
+            schedule(subscriber);
+        } else if (subscribers.remove(subscriber)) {
+            evictedCounter.increment();
+            LOG.debug("Room occupancy stream evicted, {} events pending", subscriber.queue.size());
+            subscriber.evicted.set(true);
+            subscriber.queue.clear();
+            // Completed by a sender thread, as the emitter is locked while a write is blocked
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.evicted.get()) {
+                subscriber.emitter.complete();
+                return;
+            }
+            List<Set<ResponseBodyEmitter.DataWithMediaType>> events = new ArrayList<>();
+            subscriber.queue.drainTo(events);
+            for (Set<ResponseBodyEmitter.DataWithMediaType> event : events) {
+                send(subscriber, event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the stream completed, the emitter reports it through onError or onCompletion
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            if (subscriber.evicted.get()) {
+                // Interrupted by the send timeout, the emitter is no longer locked
+                subscriber.emitter.complete();
+            }
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // An event offered while the queue was drained may have found it still scheduled
+        if (!subscriber.queue.isEmpty() || subscriber.evicted.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    private static void send(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> event) throws IOException {
+        synchronized (subscriber) {
+            if (subscriber.evicted.get()) {
+                throw new IllegalStateException("Room occupancy stream evicted");
+            }
+            subscriber.sender = Thread.currentThread();
+            subscriber.sendStartedAt = System.nanoTime();
+        }
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            synchronized (subscriber) {
+                subscriber.sender = null;
+                // An eviction that interrupts the thread once the write is done must not reach the next stream it serves
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private static Long roomId(BookingRequest bookingRequest) {
+        return bookingRequest.getMeetingRoom() != null ? bookingRequest.getMeetingRoom().getId() : null;
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Set<Long> roomIds;
+
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final AtomicBoolean evicted = new AtomicBoolean();
+
+        // The thread writing to the stream and since when, guarded by the subscriber
+        private Thread sender;
+
+        private long sendStartedAt;
+
+        Subscriber(SseEmitter emitter, Set<Long> roomIds, int bufferSize) {
+            this.emitter = emitter;
+            this.roomIds = roomIds;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean follows(Long roomId) {
+            return roomIds.isEmpty() || roomIds.contains(roomId);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Live stream of the occupancy changes of meeting rooms, pushed to subscribers as server-sent events.
+ */
+package com.mycompany.myapp.service.occupancy;
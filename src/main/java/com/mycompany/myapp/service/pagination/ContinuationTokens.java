@@ -0,0 +1,94 @@
+package com.mycompany.myapp.service.pagination;
+
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+/**
+ * Opaque continuation tokens for keyset pagination.
+ * <p>
+ * A token holds the keys of the last element of a window, e.g. its {@code startTime} and {@code id}, so the next
+ * window can start right after it. Clients must not make any assumption about its content.
+ */
+public final class ContinuationTokens {
+
+    private static final String KEY_SEPARATOR = "&";
+
+    private static final String VALUE_SEPARATOR = "=";
+
+    private ContinuationTokens() {}
+
+    /**
+     * Get the token of the window following the given one.
+     *
+     * @param window the current window.
+     * @return the token, empty if this is the last window.
+     */
+    public static Optional<String> next(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(encode((KeysetScrollPosition) window.positionAt(window.size() - 1)));
+    }
+
+    /**
+     * Encode a keyset position.
+     *
+     * @param position the position.
+     * @return the token.
+     */
+    public static String encode(KeysetScrollPosition position) {
+        String keys = position
+            .getKeys()
+            .entrySet()
+            .stream()
+            .map(entry -> entry.getKey() + VALUE_SEPARATOR + entry.getValue())
+            .collect(Collectors.joining(KEY_SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token into a keyset position.
+     *
+     * @param token the token, {@code null} or blank for the first window.
+     * @param keyParsers the parser of each expected key.
+     * @param entityName the name of the paginated entity, for errors.
+     * @return the position.
+     * @throws BadRequestAlertException if the token is not one of ours.
+     */
+    public static KeysetScrollPosition decode(String token, Map<String, Function<String, ?>> keyParsers, String entityName) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String[] pairs = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(KEY_SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String pair : pairs) {
+                String[] keyAndValue = pair.split(VALUE_SEPARATOR, 2);
+                Function<String, ?> keyParser = keyParsers.get(keyAndValue[0]);
+                if (keyAndValue.length != 2 || keyParser == null || keys.put(keyAndValue[0], keyParser.apply(keyAndValue[1])) != null) {
+                    throw invalidToken(entityName);
+                }
+            }
+            if (keys.size() != keyParsers.size()) {
+                throw invalidToken(entityName);
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalidToken(entityName);
+        }
+    }
+
+    private static BadRequestAlertException invalidToken(String entityName) {
+        return new BadRequestAlertException("Invalid continuation token", entityName, "invalidcontinuationtoken");
+    }
+}
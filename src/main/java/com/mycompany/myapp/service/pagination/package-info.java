@@ -0,0 +1,4 @@
+/**
+ * Keyset (seek) pagination support.
+ */
+package com.mycompany.myapp.service.pagination;
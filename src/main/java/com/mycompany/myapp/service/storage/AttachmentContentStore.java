@@ -0,0 +1,121 @@
+package com.mycompany.myapp.service.storage;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Content-addressed store of the uploaded attachments, on the local file system.
+ * <p>
+ * A content is streamed into a temporary file through {@link FileChannel#transferFrom}, its SHA-256 checksum and size
+ * computed on the way, then moved under its checksum. Identical contents are stored once: the second upload only
+ * drops its temporary file. Stored files are never changed, so a checksum can serve as their strong ETag.
+ */
+@Service
+public class AttachmentContentStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AttachmentContentStore.class);
+
+    private static final Pattern CHECKSUM_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    // Bytes moved per transferFrom call, the copy itself goes through a small buffer of the channel
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    private final Path directory;
+
+    public AttachmentContentStore(ApplicationProperties applicationProperties) {
+        this.directory = Path.of(applicationProperties.getAttachmentStore().getDirectory()).toAbsolutePath();
+    }
+
+    /**
+     * A stored content.
+     *
+     * @param checksum the hex SHA-256 checksum of the content, its key in the store.
+     * @param size the size of the content, in bytes.
+     * @param deduplicated {@code true} if the same content was already stored.
+     */
+    public record StoredContent(String checksum, long size, boolean deduplicated) {}
+
+    /**
+     * Store a content, read to its end but not closed.
+     *
+     * @param content the content.
+     * @return the stored content.
+     * @throws IOException if the content cannot be read or written.
+     */
+    public StoredContent store(InputStream content) throws IOException {
+        Path incoming = directory.resolve("incoming");
+        Files.createDirectories(incoming);
+        Path temporaryFile = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (
+                ReadableByteChannel source = Channels.newChannel(new DigestInputStream(content, digest));
+                FileChannel target = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)
+            ) {
+                long transferred;
+                while ((transferred = target.transferFrom(source, size, TRANSFER_CHUNK_SIZE)) > 0) {
+                    size += transferred;
+                }
+                target.force(false);
+            }
+            String checksum = HexFormat.of().formatHex(digest.digest());
+            Path file = path(checksum);
+            if (Files.exists(file)) {
+                LOG.debug("Attachment content {} is already stored", checksum);
+                return new StoredContent(checksum, size, true);
+            }
+            Files.createDirectories(file.getParent());
+            // A concurrent upload of the same content may win the move, it leaves the same bytes
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Attachment content {} stored, {} bytes", checksum, size);
+            return new StoredContent(checksum, size, false);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Find a stored content.
+     *
+     * @param checksum the checksum of the content.
+     * @return the file of the content, empty if there is none or the checksum is malformed.
+     */
+    public Optional<Path> find(String checksum) {
+        if (checksum == null || !CHECKSUM_PATTERN.matcher(checksum).matches()) {
+            return Optional.empty();
+        }
+        Path file = path(checksum);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    // Two levels of 256 directories keep the directories small
+    private Path path(String checksum) {
+        return directory.resolve(checksum.substring(0, 2)).resolve(checksum.substring(2, 4)).resolve(checksum);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
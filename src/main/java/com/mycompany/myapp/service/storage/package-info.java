@@ -0,0 +1,4 @@
+/**
+ * Storage of the content of uploaded attachments.
+ */
+package com.mycompany.myapp.service.storage;
@@ -0,0 +1,96 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.repository.statistics.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements and entity loads of each request with {@link SqlStatementCounter}, and records them in
+ * distribution summaries tagged with the HTTP method and the mapping of the REST endpoint.
+ * <p>
+ * A statement prepared again and again within a request is logged as a possible N+1 select. The counts are also left
+ * in the {@link #COUNTS_ATTRIBUTE} request attribute, for the query budgets of the tests.
+ */
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlStatisticsFilter.class);
+
+    public static final String COUNTS_ATTRIBUTE = SqlStatisticsFilter.class.getName() + ".COUNTS";
+
+    public static final String STATEMENTS_METER_NAME = "http.server.requests.sql.statements";
+    public static final String ENTITY_LOADS_METER_NAME = "http.server.requests.entity.loads";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry registry;
+
+    private final int repeatedStatementThreshold;
+
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public SqlStatisticsFilter(MeterRegistry registry, int repeatedStatementThreshold) {
+        this.registry = registry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.end();
+            request.setAttribute(COUNTS_ATTRIBUTE, counts);
+            record(request, counts);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Counts counts) {
+        // Set once a REST endpoint is found for the request
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        Meters endpointMeters = meters.computeIfAbsent(request.getMethod() + " " + uri, key ->
+            new Meters(
+                summary(STATEMENTS_METER_NAME, "statements", "SQL statements prepared", request.getMethod(), uri),
+                summary(ENTITY_LOADS_METER_NAME, "entities", "entities loaded", request.getMethod(), uri)
+            )
+        );
+        endpointMeters.statements().record(counts.getStatements());
+        endpointMeters.entityLoads().record(counts.getEntityLoads());
+        counts
+            .getMostRepeatedStatement()
+            .filter(repeated -> repeated.getValue() >= repeatedStatementThreshold)
+            .ifPresent(repeated ->
+                LOG.warn(
+                    "Possible N+1 select in {} {}: statement prepared {} times: {}",
+                    request.getMethod(),
+                    uri,
+                    repeated.getValue(),
+                    repeated.getKey()
+                )
+            );
+    }
+
+    private DistributionSummary summary(String name, String baseUnit, String what, String method, String uri) {
+        return DistributionSummary.builder(name)
+            .baseUnit(baseUnit)
+            .description("Number of " + what + " per request")
+            .tag("method", method)
+            .tag("uri", uri)
+            .register(registry);
+    }
+
+    private record Meters(DistributionSummary statements, DistributionSummary entityLoads) {}
+}
@@ -3,11 +3,19 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.repository.AttachmentRepository;
 import com.mycompany.myapp.service.AttachmentService;
 import com.mycompany.myapp.service.dto.AttachmentDTO;
+import com.mycompany.myapp.service.storage.AttachmentContentStore;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -16,10 +24,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -44,9 +59,16 @@ public class AttachmentResource {
 
     private final AttachmentRepository attachmentRepository;
 
-    public AttachmentResource(AttachmentService attachmentService, AttachmentRepository attachmentRepository) {
+    private final AttachmentContentStore attachmentContentStore;
+
+    public AttachmentResource(
+        AttachmentService attachmentService,
+        AttachmentRepository attachmentRepository,
+        AttachmentContentStore attachmentContentStore
+    ) {
         this.attachmentService = attachmentService;
         this.attachmentRepository = attachmentRepository;
+        this.attachmentContentStore = attachmentContentStore;
     }
 
     /**
@@ -68,6 +90,98 @@ public class AttachmentResource {
             .body(attachmentDTO);
     }
 
+    /**
+     * {@code POST  /attachments/upload} : Upload the content of a new attachment.
+     * <p>
+     * The part is streamed into the content store from the file the container spooled it to, never read into memory.
+     *
+     * @param file the content.
+     * @param vacationRequestId the id of the vacation request of the attachment, if any.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new attachmentDTO, or with status {@code 400 (Bad Request)} if the vacation request does not exist.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     * @throws IOException if the content cannot be read or stored.
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<AttachmentDTO> uploadAttachment(
+        @RequestPart("file") MultipartFile file,
+        @RequestParam(value = "vacationRequestId", required = false) Long vacationRequestId
+    ) throws URISyntaxException, IOException {
+        LOG.debug("REST request to upload Attachment : {}, {} bytes", file.getOriginalFilename(), file.getSize());
+        AttachmentDTO attachmentDTO;
+        try (InputStream content = file.getInputStream()) {
+            attachmentDTO = attachmentService.upload(file.getOriginalFilename(), file.getContentType(), content, vacationRequestId);
+        }
+        return ResponseEntity.created(new URI("/api/attachments/" + attachmentDTO.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, attachmentDTO.getId().toString()))
+            .body(attachmentDTO);
+    }
+
+    /**
+     * {@code GET  /attachments/:id/content} : download the content of the "id" attachment.
+     * <p>
+     * The checksum of the content is its strong ETag, and a single byte range can be asked for, to resume a download.
+     * The requested bytes are copied from the file to the response output stream through a small buffer, never loaded
+     * whole.
+     *
+     * @param id the id of the attachment.
+     * @param request the HTTP request.
+     * @param response the HTTP response.
+     * @throws IOException if the content cannot be read or written.
+     */
+    @GetMapping("/{id}/content")
+    public void downloadAttachmentContent(@PathVariable("id") Long id, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        LOG.debug("REST request to download the content of Attachment : {}", id);
+        AttachmentDTO attachmentDTO = attachmentService.findOne(id).orElse(null);
+        Path file = attachmentDTO != null ? attachmentContentStore.find(attachmentDTO.getChecksum()).orElse(null) : null;
+        if (file == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        String eTag = "\"" + attachmentDTO.getChecksum() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+        try (InputStream content = Files.newInputStream(file)) {
+            long length = Files.size(file);
+            long start = 0;
+            long end = length - 1;
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            // A range of another version of the content is answered with the whole content
+            if (range != null && (ifRange == null || ifRange.equals(eTag))) {
+                List<HttpRange> ranges;
+                try {
+                    ranges = HttpRange.parseRanges(range);
+                } catch (IllegalArgumentException e) {
+                    ranges = List.of();
+                }
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start > end) {
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                        response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                        return;
+                    }
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            }
+            response.setContentType(
+                attachmentDTO.getContentType() != null ? attachmentDTO.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE
+            );
+            response.setContentLengthLong(end - start + 1);
+            response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(attachmentDTO.getName(), StandardCharsets.UTF_8).build().toString()
+            );
+            // A buffered copy through the output stream, not a sendfile: the response goes through the servlet filters
+            StreamUtils.copyRange(content, response.getOutputStream(), start, end);
+        }
+    }
+
     /**
      * {@code PUT  /attachments/:id} : Updates an existing attachment.
      *
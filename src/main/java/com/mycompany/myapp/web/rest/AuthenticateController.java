@@ -1,11 +1,13 @@
 package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.security.SecurityUtils.AUTHORITIES_CLAIM;
+import static com.mycompany.myapp.security.SecurityUtils.EMPLOYEE_ID_CLAIM;
 import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
 import static com.mycompany.myapp.security.SecurityUtils.USER_ID_CLAIM;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mycompany.myapp.security.DomainUserDetailsService.UserWithId;
+import com.mycompany.myapp.service.CurrentEmployeeService;
 import com.mycompany.myapp.web.rest.vm.LoginVM;
 import jakarta.validation.Valid;
 import java.security.Principal;
@@ -48,9 +50,16 @@ public class AuthenticateController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public AuthenticateController(JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final CurrentEmployeeService currentEmployeeService;
+
+    public AuthenticateController(
+        JwtEncoder jwtEncoder,
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        CurrentEmployeeService currentEmployeeService
+    ) {
         this.jwtEncoder = jwtEncoder;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.currentEmployeeService = currentEmployeeService;
     }
 
     @PostMapping("/authenticate")
@@ -100,6 +109,9 @@ public class AuthenticateController {
         if (authentication.getPrincipal() instanceof UserWithId user) {
             builder.claim(USER_ID_CLAIM, user.getId());
         }
+        currentEmployeeService
+            .findEmployeeId(authentication.getName())
+            .ifPresent(employeeId -> builder.claim(EMPLOYEE_ID_CLAIM, employeeId));
 
         JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
         return this.jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, builder.build())).getTokenValue();
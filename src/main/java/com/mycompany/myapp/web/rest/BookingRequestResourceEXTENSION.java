@@ -3,24 +3,35 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Employee;
 import com.mycompany.myapp.repository.BookingRequestRepository;
 import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.BookingRequestExportService;
 import com.mycompany.myapp.service.BookingRequestQueryService;
 import com.mycompany.myapp.service.BookingRequestService;
 import com.mycompany.myapp.service.BookingRequestServiceExtension;
 import com.mycompany.myapp.service.criteria.BookingRequestCriteria;
 import com.mycompany.myapp.service.dto.BookingRequestDTO;
+import com.mycompany.myapp.service.dto.DecisionDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
+import jakarta.validation.Valid;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 
 @RestController
@@ -28,17 +39,106 @@ import tech.jhipster.web.util.PaginationUtil;
 @PreAuthorize("hasAnyRole('USER','ADMIN')")
 public class BookingRequestResourceEXTENSION extends BookingRequestResource {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BookingRequestResourceEXTENSION.class);
+
+    private static final String ENTITY_NAME = "bookingRequest";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final BookingRequestService bookingRequestService;
+
     private final BookingRequestServiceExtension bookingRequestServiceExtension;
 
+    private final BookingRequestQueryService bookingRequestQueryService;
+
+    private final BookingRequestExportService bookingRequestExportService;
+
     public BookingRequestResourceEXTENSION(
         BookingRequestService bookingRequestService,
         BookingRequestRepository bookingRequestRepository,
         BookingRequestQueryService bookingRequestQueryService,
         EmployeeRepository employeeRepository,
-        BookingRequestServiceExtension bookingRequestServiceExtension
+        BookingRequestServiceExtension bookingRequestServiceExtension,
+        BookingRequestExportService bookingRequestExportService
     ) {
         super(bookingRequestService, bookingRequestRepository, bookingRequestQueryService, employeeRepository);
+        this.bookingRequestService = bookingRequestService;
         this.bookingRequestServiceExtension = bookingRequestServiceExtension;
+        this.bookingRequestQueryService = bookingRequestQueryService;
+        this.bookingRequestExportService = bookingRequestExportService;
+    }
+
+    /**
+     * {@code GET  /scroll} : get a window of bookingRequests in the {@code (startTime, id)} order, without offset.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param continuation the continuation token of the previous window, absent for the first one.
+     * @param size the maximum number of bookingRequests.
+     * @param direction the direction of the order.
+     * @param withCount whether to count all the matching bookingRequests, in the {@code X-Total-Count} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the window of bookingRequests in body.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<List<BookingRequestDTO>> scrollBookingRequests(
+        BookingRequestCriteria criteria,
+        @RequestParam(name = KeysetPaginationUtil.CONTINUATION_PARAMETER, required = false) String continuation,
+        @RequestParam(name = "size", defaultValue = "20") int size,
+        @RequestParam(name = "direction", defaultValue = "ASC") Sort.Direction direction,
+        @RequestParam(name = "withCount", defaultValue = "false") boolean withCount
+    ) {
+        Window<BookingRequestDTO> window = bookingRequestQueryService.scrollByCriteria(
+            criteria,
+            continuation,
+            direction,
+            KeysetPaginationUtil.boundSize(size)
+        );
+        Long totalCount = withCount ? bookingRequestQueryService.countByCriteria(criteria) : null;
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            window,
+            totalCount
+        );
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
+    /**
+     * {@code GET  /export} : export all the bookingRequests matching the criteria, streamed in the id order.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export, {@code NDJSON} or {@code CSV}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the bookingRequests, written while they are read.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<StreamingResponseBody> exportBookingRequests(
+        BookingRequestCriteria criteria,
+        @RequestParam(name = "format", defaultValue = "NDJSON") BookingRequestExportService.Format format
+    ) {
+        ContentDisposition contentDisposition = ContentDisposition.attachment()
+            .filename("booking-requests." + format.getFileExtension())
+            .build();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+            .body(outputStream -> bookingRequestExportService.exportByCriteria(criteria, format, outputStream));
+    }
+
+    /**
+     * {@code POST  /decisions} : approve or reject many pending bookingRequests at once.
+     *
+     * @param decision the ids of the bookingRequests and the decision.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 400 (Bad Request)} if
+     * a bookingRequest is missing or no longer pending, in which case none is decided.
+     */
+    @PostMapping("/decisions")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> decideBookingRequests(@Valid @RequestBody DecisionDTO decision) {
+        LOG.debug("REST request to decide BookingRequests : {}", decision);
+        int decided = bookingRequestService.decide(decision);
+        return ResponseEntity.noContent()
+            .headers(HeaderUtil.createAlert(applicationName, applicationName + "." + ENTITY_NAME + ".decided", String.valueOf(decided)))
+            .build();
     }
 
     @GetMapping("/my")
@@ -0,0 +1,148 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.CurrentEmployeeService;
+import com.mycompany.myapp.service.calendar.CalendarFeedService;
+import com.mycompany.myapp.service.calendar.CalendarFeedVersions;
+import com.mycompany.myapp.service.calendar.CalendarSyncTokens;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * REST controller for the iCalendar feeds of employees and meeting rooms, polled by calendar clients.
+ * <p>
+ * Each feed carries a strong ETag read from {@link CalendarFeedVersions}, so a poll of an unchanged feed is answered
+ * {@code 304 (Not Modified)} without a database query. The {@code X-Sync-Token} header of a feed can be sent back as
+ * the {@code since} parameter to get only the events changed since.
+ */
+@RestController
+@RequestMapping("/api/v1/calendar-feeds")
+public class CalendarFeedResource {
+
+    public static final String SYNC_TOKEN_PARAMETER = "since";
+
+    public static final String SYNC_TOKEN_HEADER = "X-Sync-Token";
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private static final Logger LOG = LoggerFactory.getLogger(CalendarFeedResource.class);
+
+    private final CalendarFeedService calendarFeedService;
+
+    private final CalendarFeedVersions calendarFeedVersions;
+
+    private final CurrentEmployeeService currentEmployeeService;
+
+    public CalendarFeedResource(
+        CalendarFeedService calendarFeedService,
+        CalendarFeedVersions calendarFeedVersions,
+        CurrentEmployeeService currentEmployeeService
+    ) {
+        this.calendarFeedService = calendarFeedService;
+        this.calendarFeedVersions = calendarFeedVersions;
+        this.currentEmployeeService = currentEmployeeService;
+    }
+
+    /**
+     * {@code GET /my.ics} : get the feed of the bookings, invitations and vacations of the current user.
+     *
+     * @param since the sync token of a previous feed, to get only the events changed since.
+     * @param request the request, for its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the feed in body, or with status
+     * {@code 304 (Not Modified)} if it did not change.
+     */
+    @GetMapping("/my.ics")
+    public ResponseEntity<String> getMyCalendarFeed(
+        @RequestParam(name = SYNC_TOKEN_PARAMETER, required = false) String since,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to get the calendar feed of the current user");
+        Long employeeId = currentEmployeeService
+            .getCurrentEmployeeId()
+            .orElseThrow(() -> new BadRequestAlertException("Employee not found", "calendarFeed", "employeenotfound"));
+        return feed(calendarFeedVersions.employeeTag(employeeId), since, request, changedAfter ->
+            calendarFeedService.getEmployeeFeed(employeeId, changedAfter)
+        );
+    }
+
+    /**
+     * {@code GET /employees/:id.ics} : get the feed of the bookings, invitations and vacations of an employee.
+     *
+     * @param id the id of the employee.
+     * @param since the sync token of a previous feed, to get only the events changed since.
+     * @param request the request, for its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the feed in body, with status
+     * {@code 304 (Not Modified)} if it did not change, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/employees/{id}.ics")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<String> getEmployeeCalendarFeed(
+        @PathVariable("id") Long id,
+        @RequestParam(name = SYNC_TOKEN_PARAMETER, required = false) String since,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to get the calendar feed of Employee : {}", id);
+        return feed(calendarFeedVersions.employeeTag(id), since, request, changedAfter ->
+            calendarFeedService.getEmployeeFeed(id, changedAfter)
+        );
+    }
+
+    /**
+     * {@code GET /rooms/:id.ics} : get the feed of the bookings of a meeting room.
+     *
+     * @param id the id of the meeting room.
+     * @param since the sync token of a previous feed, to get only the events changed since.
+     * @param request the request, for its {@code If-None-Match} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the feed in body, with status
+     * {@code 304 (Not Modified)} if it did not change, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/rooms/{id}.ics")
+    public ResponseEntity<String> getRoomCalendarFeed(
+        @PathVariable("id") Long id,
+        @RequestParam(name = SYNC_TOKEN_PARAMETER, required = false) String since,
+        WebRequest request
+    ) {
+        LOG.debug("REST request to get the calendar feed of MeetingRoom : {}", id);
+        return feed(calendarFeedVersions.roomTag(id), since, request, changedAfter -> calendarFeedService.getRoomFeed(id, changedAfter));
+    }
+
+    /**
+     * Answer {@code 304 (Not Modified)} when the client holds the current version of a feed, build it otherwise.
+     * <p>
+     * The tag is read before the feed is built, so it is never newer than the feed it is sent with.
+     */
+    private static ResponseEntity<String> feed(
+        String tag,
+        String since,
+        WebRequest request,
+        Function<Instant, Optional<CalendarFeedService.CalendarFeed>> builder
+    ) {
+        Instant changedAfter = since != null ? CalendarSyncTokens.decode(since) : null;
+        String etag = "\"" + tag + (changedAfter != null ? "-" + changedAfter.toEpochMilli() : "") + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return builder
+            .apply(changedAfter)
+            .map(feed ->
+                ResponseEntity.ok()
+                    .contentType(TEXT_CALENDAR)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .header(SYNC_TOKEN_HEADER, feed.syncToken())
+                    .body(feed.content())
+            )
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
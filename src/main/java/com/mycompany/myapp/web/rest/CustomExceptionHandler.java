@@ -25,6 +25,30 @@ public class CustomExceptionHandler {
             case "employeenotfound":
                 body.put("message", "Employee not found for current user.");
                 break;
+            case "invalidtimewindow":
+                body.put("message", "The end of the time window must be after its start.");
+                break;
+            case "invalidcontinuationtoken":
+                body.put("message", "The continuation token is invalid, start again from the first page.");
+                break;
+            case "insufficientbalance":
+                body.put("message", "The employee does not have enough vacation days left.");
+                break;
+            case "notpending":
+                body.put("message", "The request has already been decided.");
+                break;
+            case "invaliddecision":
+                body.put("message", "A decision must approve or reject the requests.");
+                break;
+            case "invalidsynctoken":
+                body.put("message", "The sync token is invalid, get the full feed again.");
+                break;
+            case "invaliddates":
+                body.put("message", "The end date must not be before the start date.");
+                break;
+            case "vacationtoolong":
+                body.put("message", "The vacation is longer than the maximum allowed.");
+                break;
             default:
                 body.put("message", "Invalid request.");
         }
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.MeetingRoomServiceExtension;
+import com.mycompany.myapp.service.dto.MeetingRoomDTO;
+import com.mycompany.myapp.service.occupancy.RoomOccupancyHub;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/meeting-rooms")
+@PreAuthorize("hasAnyRole('ADMIN','USER')")
+public class MeetingRoomResourceExtension {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MeetingRoomResourceExtension.class);
+
+    private final MeetingRoomServiceExtension meetingRoomServiceExtension;
+
+    private final RoomOccupancyHub roomOccupancyHub;
+
+    public MeetingRoomResourceExtension(MeetingRoomServiceExtension meetingRoomServiceExtension, RoomOccupancyHub roomOccupancyHub) {
+        this.meetingRoomServiceExtension = meetingRoomServiceExtension;
+        this.roomOccupancyHub = roomOccupancyHub;
+    }
+
+    /**
+     * {@code GET  /v1/meeting-rooms/available} : get the meeting rooms free for a whole time window, best fit first.
+     *
+     * @param start the start of the time window.
+     * @param end the end of the time window.
+     * @param minCapacity the minimum capacity, optional.
+     * @param equipmentId the id of the required equipment, optional.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of free meetingRooms in body.
+     */
+    @GetMapping("/available")
+    public ResponseEntity<List<MeetingRoomDTO>> getAvailableMeetingRooms(
+        @RequestParam Instant start,
+        @RequestParam Instant end,
+        @RequestParam(required = false) Integer minCapacity,
+        @RequestParam(required = false) Long equipmentId
+    ) {
+        LOG.debug("REST request to get available MeetingRooms from {} to {}", start, end);
+        return ResponseEntity.ok().body(meetingRoomServiceExtension.findAvailable(start, end, minCapacity, equipmentId));
+    }
+
+    /**
+     * {@code GET  /v1/meeting-rooms/occupancy/stream} : stream the occupancy changes of meeting rooms as server-sent
+     * events, named {@code occupancy} with a {@link com.mycompany.myapp.service.occupancy.RoomOccupancyDelta} in data.
+     * <p>
+     * Only the changes following the subscription are sent: load the current bookings first, then apply the changes.
+     * The stream is closed when the client falls behind or after the configured timeout, and must then be reopened.
+     *
+     * @param roomIds the ids of the meeting rooms to follow, optional, all of them by default.
+     * @return the stream, or the {@link org.springframework.http.ResponseEntity} with status
+     * {@code 503 (Service Unavailable)} when too many streams are open.
+     */
+    @GetMapping(value = "/occupancy/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOccupancy(@RequestParam(required = false) Set<Long> roomIds) {
+        LOG.debug("REST request to stream the occupancy of MeetingRooms : {}", roomIds);
+        return roomOccupancyHub.subscribe(roomIds != null ? roomIds : Set.of());
+    }
+}
@@ -1,16 +1,25 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import com.mycompany.myapp.domain.enumeration.VacationType;
 import com.mycompany.myapp.repository.VacationRequestRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.VacationLedgerService;
 import com.mycompany.myapp.service.VacationRequestQueryService;
 import com.mycompany.myapp.service.VacationRequestServiceExtension;
 import com.mycompany.myapp.service.criteria.VacationRequestCriteria;
+import com.mycompany.myapp.service.dto.DecisionDTO;
+import com.mycompany.myapp.service.dto.VacationPreviewDTO;
 import com.mycompany.myapp.service.dto.VacationRequestDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -18,6 +27,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -45,15 +56,18 @@ public class VacationRequestResourceExtension {
     private final VacationRequestServiceExtension vacationRequestServiceExtension;
     private final VacationRequestRepository vacationRequestRepository;
     private final VacationRequestQueryService vacationRequestQueryService;
+    private final VacationLedgerService vacationLedgerService;
 
     public VacationRequestResourceExtension(
         VacationRequestServiceExtension vacationRequestServiceExtension,
         VacationRequestRepository vacationRequestRepository,
-        VacationRequestQueryService vacationRequestQueryService
+        VacationRequestQueryService vacationRequestQueryService,
+        VacationLedgerService vacationLedgerService
     ) {
         this.vacationRequestServiceExtension = vacationRequestServiceExtension;
         this.vacationRequestRepository = vacationRequestRepository;
         this.vacationRequestQueryService = vacationRequestQueryService;
+        this.vacationLedgerService = vacationLedgerService;
     }
 
     /**
@@ -68,6 +82,23 @@ public class VacationRequestResourceExtension {
         return ResponseEntity.ok().body(requests);
     }
 
+    /**
+     * {@code GET /my/preview} : preview the working days a vacation of the current user would take from their balance.
+     *
+     * @param startDate the first day of the vacation.
+     * @param endDate the last day of the vacation.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the preview in body, or with status
+     * {@code 400 (Bad Request)} if the vacation ends before it starts or is longer than the maximum.
+     */
+    @GetMapping("/my/preview")
+    public ResponseEntity<VacationPreviewDTO> previewMyVacation(
+        @RequestParam("startDate") LocalDate startDate,
+        @RequestParam("endDate") LocalDate endDate
+    ) {
+        LOG.debug("REST request to preview a vacation from {} to {} for current user", startDate, endDate);
+        return ResponseEntity.ok().body(vacationRequestServiceExtension.previewMyVacation(startDate, endDate));
+    }
+
     /**
      * {@code GET /} : get all vacationRequests with optional criteria and pagination.
      */
@@ -83,6 +114,41 @@ public class VacationRequestResourceExtension {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET /scroll} : get a window of vacationRequests in the {@code (startDate, id)} order, without offset.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param continuation the continuation token of the previous window, absent for the first one.
+     * @param size the maximum number of vacationRequests.
+     * @param direction the direction of the order.
+     * @param withCount whether to count all the matching vacationRequests, in the {@code X-Total-Count} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the window of vacationRequests in body.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<List<VacationRequestDTO>> scrollVacationRequests(
+        VacationRequestCriteria criteria,
+        @RequestParam(name = KeysetPaginationUtil.CONTINUATION_PARAMETER, required = false) String continuation,
+        @RequestParam(name = "size", defaultValue = "20") int size,
+        @RequestParam(name = "direction", defaultValue = "ASC") Sort.Direction direction,
+        @RequestParam(name = "withCount", defaultValue = "false") boolean withCount
+    ) {
+        LOG.debug("REST request to scroll VacationRequests by criteria: {}", criteria);
+
+        Window<VacationRequestDTO> window = vacationRequestQueryService.scrollByCriteria(
+            criteria,
+            continuation,
+            direction,
+            KeysetPaginationUtil.boundSize(size)
+        );
+        Long totalCount = withCount ? vacationRequestQueryService.countByCriteria(criteria) : null;
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            window,
+            totalCount
+        );
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
     /**
      * {@code GET /count} : count all vacationRequests matching criteria.
      */
@@ -92,6 +158,37 @@ public class VacationRequestResourceExtension {
         return ResponseEntity.ok().body(vacationRequestQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET /summary} : get the vacation days taken in a year by vacation type, read from the ledger summaries.
+     *
+     * @param year the year.
+     * @param employeeId the id of an employee, to count only their days.
+     * @param department a department, to count only the days of its employees.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the days of each vacation type in body.
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Map<VacationType, Long>> getVacationSummary(
+        @RequestParam("year") int year,
+        @RequestParam(name = "employeeId", required = false) Long employeeId,
+        @RequestParam(name = "department", required = false) DepartmentType department
+    ) {
+        LOG.debug("REST request to get the vacation summary of {} for employee {} and department {}", year, employeeId, department);
+        return ResponseEntity.ok().body(vacationLedgerService.getTotals(year, employeeId, department));
+    }
+
+    /**
+     * {@code POST /ledger/replay} : rebuild the vacation balances and summaries from the ledger.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of employees replayed in body.
+     */
+    @PostMapping("/ledger/replay")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Integer> replayVacationLedger() {
+        LOG.debug("REST request to replay the vacation ledger");
+        return ResponseEntity.ok().body(vacationLedgerService.replay());
+    }
+
     /**
      * {@code GET /{id}} : get a vacationRequest by id.
      */
@@ -130,6 +227,24 @@ public class VacationRequestResourceExtension {
         return ResponseEntity.created(new URI("/api/v1/vacation-requests/" + result.getId())).body(result);
     }
 
+    /**
+     * {@code POST /decisions} : approve or reject many pending vacationRequests at once.
+     *
+     * @param decision the ids of the vacationRequests and the decision.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 400 (Bad Request)} if
+     * a vacationRequest is missing or no longer pending, or if an employee has too few days left, in which case none is
+     * decided.
+     */
+    @PostMapping("/decisions")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> decideVacationRequests(@Valid @RequestBody DecisionDTO decision) {
+        LOG.debug("REST request to decide VacationRequests : {}", decision);
+        int decided = vacationRequestServiceExtension.decide(decision);
+        return ResponseEntity.noContent()
+            .headers(HeaderUtil.createAlert(applicationName, applicationName + "." + ENTITY_NAME + ".decided", String.valueOf(decided)))
+            .build();
+    }
+
     /**
      * {@code PUT /} : update an existing vacationRequest.
      *
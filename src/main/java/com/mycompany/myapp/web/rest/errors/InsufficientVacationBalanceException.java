@@ -0,0 +1,28 @@
+package com.mycompany.myapp.web.rest.errors;
+
+/**
+ * Thrown when approving vacation days the employee does not have left.
+ */
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class InsufficientVacationBalanceException extends BadRequestAlertException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long employeeId;
+
+    private final int requestedDays;
+
+    public InsufficientVacationBalanceException(Long employeeId, int requestedDays) {
+        super("Not enough vacation balance", "vacationRequest", "insufficientbalance");
+        this.employeeId = employeeId;
+        this.requestedDays = requestedDays;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public int getRequestedDays() {
+        return requestedDays;
+    }
+}
@@ -0,0 +1,57 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.service.pagination.ContinuationTokens;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset pagination.
+ * <p>
+ * The token of the next window is returned in the {@value #CONTINUATION_TOKEN_HEADER} header and in a {@code next}
+ * link, the total count in the {@code X-Total-Count} header only when it was asked for.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CONTINUATION_PARAMETER = "continuation";
+
+    public static final String CONTINUATION_TOKEN_HEADER = "X-Continuation-Token";
+
+    public static final int MAX_SIZE = 500;
+
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate the keyset pagination headers of a window.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param window the window.
+     * @param totalCount the total number of elements, {@code null} when not counted.
+     * @param <T> the type of the elements.
+     * @return the headers.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Window<T> window, Long totalCount) {
+        HttpHeaders headers = new HttpHeaders();
+        if (totalCount != null) {
+            headers.add(HEADER_X_TOTAL_COUNT, Long.toString(totalCount));
+        }
+        ContinuationTokens.next(window).ifPresent(token -> {
+            headers.add(CONTINUATION_TOKEN_HEADER, token);
+            String next = uriBuilder.replaceQueryParam(CONTINUATION_PARAMETER, token).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        });
+        return headers;
+    }
+
+    /**
+     * Bound a requested window size to {@code [1, MAX_SIZE]}.
+     *
+     * @param size the requested size.
+     * @return the size to use.
+     */
+    public static int boundSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Utilities for the REST controllers.
+ */
+package com.mycompany.myapp.web.rest.util;
@@ -8,6 +8,7 @@ export interface IAttachment {
   fileSize?: number | null;
   contentType?: string | null;
   uploadedAt?: dayjs.Dayjs | null;
+  checksum?: string | null;
   vacationRequest?: IVacationRequest | null;
 }
 
@@ -0,0 +1,183 @@
+package com.mycompany.myapp.gatling;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.constantConcurrentUsers;
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.core.CoreDsl.repeat;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Session;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Load test of the main user journeys.
+ * <p>
+ * Each virtual employee authenticates, then three times searches a free meeting room, books it and lists their booking
+ * requests and invitations, and finally asks for a day off, which a manager approves. Bookings and vacations never
+ * overlap, so that every request is expected to succeed.
+ * <p>
+ * The load is set by the {@code loadtest.users-per-second}, {@code loadtest.duration} (in seconds),
+ * {@code loadtest.employees} and {@code loadtest.meeting-rooms} system properties. Setting
+ * {@code loadtest.concurrent-users} instead keeps that many employees busy at once, e.g. to compare the thread models
+ * of the application under a fixed number of clients. The p50 and p99 of each request are checked against
+ * {@code load-test-baseline.properties}.
+ */
+public class GoatLoadSimulation extends Simulation {
+
+    private static final List<String> REQUEST_NAMES = List.of(
+        "authenticate",
+        "search-meeting-rooms",
+        "create-booking-request",
+        "my-booking-requests",
+        "my-invitations",
+        "create-vacation-request",
+        "approve-vacation-request"
+    );
+
+    private static final int BOOKINGS_PER_EMPLOYEE = 3;
+
+    private static final Duration BOOKING_DURATION = Duration.ofMinutes(30);
+
+    private final int usersPerSecond = Integer.getInteger("loadtest.users-per-second", 5);
+
+    private final Integer concurrentUsers = Integer.getInteger("loadtest.concurrent-users");
+
+    private final int durationSeconds = Integer.getInteger("loadtest.duration", 120);
+
+    private final int employeeCount = Integer.getInteger("loadtest.employees", 200);
+
+    private final int meetingRoomCount = Integer.getInteger("loadtest.meeting-rooms", 50);
+
+    private final LoadTestEnvironment environment = LoadTestEnvironment.start(employeeCount, meetingRoomCount);
+
+    private final Instant firstSlot = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+
+    private final LocalDate firstVacationDay = LocalDate.now().plusYears(1);
+
+    private final AtomicLong bookingSlots = new AtomicLong();
+
+    private final AtomicLong vacationDays = new AtomicLong();
+
+    private final AtomicLong employees = new AtomicLong();
+
+    private final Iterator<Map<String, Object>> employeeFeeder = Stream.generate(
+        (Supplier<Map<String, Object>>) () -> Map.of("login", LoadTestEnvironment.login(employees.getAndIncrement() % employeeCount))
+    ).iterator();
+
+    private final HttpProtocolBuilder httpProtocol = http
+        .baseUrl(environment.getBaseUrl())
+        .acceptHeader("application/json")
+        .contentTypeHeader("application/json");
+
+    private final ChainBuilder authenticate = exec(
+        http("authenticate")
+            .post("/api/authenticate")
+            .body(StringBody("{\"username\":\"#{login}\",\"password\":\"" + LoadTestEnvironment.PASSWORD + "\"}"))
+            .check(status().is(200), jsonPath("$.id_token").saveAs("token"))
+    );
+
+    private final ChainBuilder bookMeetingRoom = exec(this::nextBookingSlot).exec(
+        http("search-meeting-rooms")
+            .get("/api/v1/meeting-rooms/available")
+            .header("Authorization", "Bearer #{token}")
+            .queryParam("start", "#{startTime}")
+            .queryParam("end", "#{endTime}")
+            .check(status().is(200)),
+        http("create-booking-request")
+            .post("/api/v1/booking-requests")
+            .header("Authorization", "Bearer #{token}")
+            .body(
+                StringBody(
+                    "{\"startTime\":\"#{startTime}\",\"endTime\":\"#{endTime}\",\"status\":\"PENDING\"," +
+                    "\"purpose\":\"Load test\",\"meetingRoom\":{\"id\":#{meetingRoomId}}}"
+                )
+            )
+            .check(status().is(201)),
+        http("my-booking-requests")
+            .get("/api/v1/booking-requests/my?size=20")
+            .header("Authorization", "Bearer #{token}")
+            .check(status().is(200)),
+        http("my-invitations")
+            .get("/api/v1/booking-requests/my-invitations")
+            .header("Authorization", "Bearer #{token}")
+            .check(status().is(200))
+    );
+
+    private final ChainBuilder takeDayOff = exec(this::nextVacationDay).exec(
+        http("create-vacation-request")
+            .post("/api/v1/vacation-requests")
+            .header("Authorization", "Bearer #{token}")
+            .body(
+                StringBody(
+                    "{\"startDate\":\"#{vacationDay}\",\"endDate\":\"#{vacationDay}\",\"type\":\"ANNUAL\",\"status\":\"PENDING\"}"
+                )
+            )
+            .check(status().is(201), jsonPath("$.id").saveAs("vacationRequestId")),
+        http("approve-vacation-request")
+            .put("/api/v1/vacation-requests/#{vacationRequestId}")
+            .header("Authorization", "Bearer " + environment.getManagerToken())
+            .body(
+                StringBody(
+                    "{\"id\":#{vacationRequestId},\"startDate\":\"#{vacationDay}\",\"endDate\":\"#{vacationDay}\"," +
+                    "\"type\":\"ANNUAL\",\"status\":\"APPROVED\"}"
+                )
+            )
+            .check(status().is(200))
+    );
+
+    private final ScenarioBuilder employeeJourney = scenario("Employee journey")
+        .feed(employeeFeeder)
+        .exec(authenticate)
+        .exec(repeat(BOOKINGS_PER_EMPLOYEE).on(bookMeetingRoom))
+        .exec(takeDayOff);
+
+    {
+        Duration duration = Duration.ofSeconds(durationSeconds);
+        setUp(
+            concurrentUsers != null
+                ? employeeJourney.injectClosed(constantConcurrentUsers(concurrentUsers).during(duration))
+                : employeeJourney.injectOpen(constantUsersPerSec(usersPerSecond).during(duration))
+        )
+            .protocols(httpProtocol)
+            .assertions(LoadTestBaseline.load().assertions(REQUEST_NAMES));
+    }
+
+    @Override
+    public void after() {
+        environment.close();
+    }
+
+    /**
+     * Take the next free slot: the slots go round the meeting rooms, then move on by the duration of a booking.
+     */
+    private Session nextBookingSlot(Session session) {
+        long slot = bookingSlots.getAndIncrement();
+        List<Long> meetingRoomIds = environment.getMeetingRoomIds();
+        Instant startTime = firstSlot.plus(BOOKING_DURATION.multipliedBy(slot / meetingRoomIds.size()));
+        return session
+            .set("meetingRoomId", meetingRoomIds.get((int) (slot % meetingRoomIds.size())))
+            .set("startTime", startTime.toString())
+            .set("endTime", startTime.plus(BOOKING_DURATION).toString());
+    }
+
+    private Session nextVacationDay(Session session) {
+        return session.set("vacationDay", firstVacationDay.plusDays(vacationDays.getAndIncrement()).toString());
+    }
+}
@@ -0,0 +1,63 @@
+package com.mycompany.myapp.gatling;
+
+import static io.gatling.javaapi.core.CoreDsl.details;
+import static io.gatling.javaapi.core.CoreDsl.global;
+
+import io.gatling.javaapi.core.Assertion;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The thresholds of {@code load-test-baseline.properties}, as Gatling assertions.
+ */
+final class LoadTestBaseline {
+
+    static final String RESOURCE = "/load-test-baseline.properties";
+
+    private final Properties thresholds;
+
+    private LoadTestBaseline(Properties thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    static LoadTestBaseline load() {
+        Properties thresholds = new Properties();
+        try (InputStream input = LoadTestBaseline.class.getResourceAsStream(RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException("Missing load test baseline " + RESOURCE);
+            }
+            thresholds.load(input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read load test baseline " + RESOURCE, e);
+        }
+        return new LoadTestBaseline(thresholds);
+    }
+
+    /**
+     * Build the assertions of the given requests, and of the whole run.
+     *
+     * @param requestNames the names of the requests, as given to Gatling.
+     * @return the assertions.
+     */
+    List<Assertion> assertions(List<String> requestNames) {
+        List<Assertion> assertions = new ArrayList<>();
+        assertions.add(global().failedRequests().percent().lte(number("global.max-failed-percent")));
+        for (String requestName : requestNames) {
+            assertions.add(details(requestName).responseTime().percentile(50.0).lte((int) number(requestName + ".p50")));
+            assertions.add(details(requestName).responseTime().percentile(99.0).lte((int) number(requestName + ".p99")));
+            assertions.add(details(requestName).requestsPerSec().gte(number(requestName + ".min-throughput")));
+        }
+        return assertions;
+    }
+
+    private double number(String key) {
+        String value = thresholds.getProperty(key);
+        if (value == null) {
+            throw new IllegalStateException("Missing threshold " + key + " in load test baseline " + RESOURCE);
+        }
+        return Double.parseDouble(value.trim());
+    }
+}
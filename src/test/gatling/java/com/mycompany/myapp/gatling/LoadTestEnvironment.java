@@ -0,0 +1,191 @@
+package com.mycompany.myapp.gatling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.mycompany.myapp.GoatApp;
+import com.mycompany.myapp.config.MariadbTestContainer;
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.repository.MeetingRoomRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+
+/**
+ * The application under load: started with the {@code prod} profile on a random port, against a Testcontainers MariaDB
+ * and a GreenMail SMTP server, with employees, their users and meeting rooms to book. The {@code loadtest.spring-profiles}
+ * system property replaces the profiles, e.g. with {@code prod,virtual-threads}.
+ */
+public final class LoadTestEnvironment implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadTestEnvironment.class);
+
+    static final String PASSWORD = "load-test";
+
+    static final String MANAGER_LOGIN = "admin";
+
+    private static final String MANAGER_PASSWORD = "admin";
+
+    private final MariadbTestContainer database;
+
+    private final GreenMail smtpServer;
+
+    private final ConfigurableApplicationContext applicationContext;
+
+    private final String baseUrl;
+
+    private final String managerToken;
+
+    private final List<Long> meetingRoomIds;
+
+    private LoadTestEnvironment(int employees, int meetingRooms) {
+        database = new MariadbTestContainer();
+        database.afterPropertiesSet();
+        smtpServer = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP).dynamicPort());
+        smtpServer.start();
+        JdbcDatabaseContainer<?> container = database.getTestContainer();
+        applicationContext = new SpringApplicationBuilder(GoatApp.class)
+            .profiles(System.getProperty("loadtest.spring-profiles", "prod").split(","))
+            .properties(
+                Map.of(
+                    "server.port",
+                    "0",
+                    "spring.docker.compose.enabled",
+                    "false",
+                    "spring.datasource.url",
+                    container.getJdbcUrl(),
+                    "spring.datasource.username",
+                    container.getUsername(),
+                    "spring.datasource.password",
+                    container.getPassword(),
+                    "spring.mail.host",
+                    "127.0.0.1",
+                    "spring.mail.port",
+                    String.valueOf(smtpServer.getSmtp().getPort())
+                )
+            )
+            .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) applicationContext).getWebServer().getPort();
+        meetingRoomIds = insertMeetingRooms(meetingRooms);
+        insertEmployees(employees);
+        managerToken = authenticate(MANAGER_LOGIN, MANAGER_PASSWORD);
+        LOG.info("Load test application started at {} with {} employees and {} meeting rooms", baseUrl, employees, meetingRooms);
+    }
+
+    /**
+     * Start the database, the SMTP server and the application.
+     *
+     * @param employees the number of employees, each with a user named {@link #login(long)}.
+     * @param meetingRooms the number of meeting rooms.
+     * @return the started environment.
+     */
+    static LoadTestEnvironment start(int employees, int meetingRooms) {
+        return new LoadTestEnvironment(employees, meetingRooms);
+    }
+
+    static String login(long index) {
+        return "load-test-" + index;
+    }
+
+    String getBaseUrl() {
+        return baseUrl;
+    }
+
+    String getManagerToken() {
+        return managerToken;
+    }
+
+    List<Long> getMeetingRoomIds() {
+        return meetingRoomIds;
+    }
+
+    @Override
+    public void close() {
+        LOG.info("Load test finished, {} mails received", smtpServer.getReceivedMessages().length);
+        applicationContext.close();
+        smtpServer.stop();
+        database.destroy();
+    }
+
+    private List<Long> insertMeetingRooms(int count) {
+        MeetingRoomRepository meetingRoomRepository = applicationContext.getBean(MeetingRoomRepository.class);
+        return meetingRoomRepository
+            .saveAll(
+                IntStream.range(0, count)
+                    .mapToObj(i -> new MeetingRoom().name("Load test room " + i).capacity(4 + i % 20).requiresApproval(i % 4 == 0))
+                    .toList()
+            )
+            .stream()
+            .map(MeetingRoom::getId)
+            .toList();
+    }
+
+    private void insertEmployees(int count) {
+        UserRepository userRepository = applicationContext.getBean(UserRepository.class);
+        EmployeeRepository employeeRepository = applicationContext.getBean(EmployeeRepository.class);
+        Authority userAuthority = applicationContext.getBean(AuthorityRepository.class).findById(AuthoritiesConstants.USER).orElseThrow();
+        String passwordHash = applicationContext.getBean(PasswordEncoder.class).encode(PASSWORD);
+        Instant now = Instant.now();
+        for (long i = 0; i < count; i++) {
+            User user = new User();
+            user.setLogin(login(i));
+            user.setPassword(passwordHash);
+            user.setActivated(true);
+            user.setEmail(login(i) + "@localhost");
+            user.setLangKey("en");
+            user.setAuthorities(Set.of(userAuthority));
+            user = userRepository.save(user);
+            employeeRepository.save(
+                new Employee()
+                    .name("Load test employee " + i)
+                    .email(login(i) + "@example.com")
+                    .userRole(DepartmentType.EMPLOYEE)
+                    .createdAt(now)
+                    .vacationBalance(100_000)
+                    .user(user)
+            );
+        }
+    }
+
+    private String authenticate(String login, String password) {
+        ObjectMapper objectMapper = applicationContext.getBean(ObjectMapper.class);
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of("username", login, "password", password))))
+                .build();
+            HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Could not authenticate " + login + ": " + response.statusCode());
+            }
+            return objectMapper.readTree(response.body()).get("id_token").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not authenticate " + login, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while authenticating " + login, e);
+        }
+    }
+}
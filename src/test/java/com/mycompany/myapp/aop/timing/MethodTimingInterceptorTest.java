@@ -0,0 +1,171 @@
+package com.mycompany.myapp.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.MethodTimingConfiguration;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.service.VacationDayCalculator;
+import com.mycompany.myapp.service.occupancy.RoomOccupancyHub;
+import com.mycompany.myapp.web.rest.CalendarFeedResource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import java.time.Duration;
+import java.util.List;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+class MethodTimingInterceptorTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void recordsCallsByOutcome() {
+        Greeter greeter = proxy(new MethodTimingInterceptor(() -> meterRegistry, 1.0, Duration.ofMinutes(1)));
+
+        greeter.greet("Ada");
+        greeter.greet("Grace");
+        assertThatThrownBy(() -> greeter.greet(null)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(timer("greet", "success").count()).isEqualTo(2);
+        assertThat(timer("greet", "failure").count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsNothingWhenNoCallIsSampled() {
+        Greeter greeter = proxy(new MethodTimingInterceptor(() -> meterRegistry, 0.0, Duration.ofMinutes(1)));
+
+        greeter.greet("Ada");
+
+        assertThat(meterRegistry.find(MethodTimingInterceptor.METER_NAME).timers()).isEmpty();
+    }
+
+    @Test
+    void createsTheTimersOfAMethodOnce() {
+        Greeter greeter = proxy(new MethodTimingInterceptor(() -> meterRegistry, 1.0, Duration.ofMinutes(1)));
+
+        for (int i = 0; i < 100; i++) {
+            greeter.greet("Ada");
+        }
+
+        // A success and a failure timer
+        assertThat(meterRegistry.find(MethodTimingInterceptor.METER_NAME).timers()).hasSize(2);
+        assertThat(timer("greet", "success").count()).isEqualTo(100);
+    }
+
+    @Test
+    void matchesTheBeansOfTheConfiguredPackages() {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(MethodTimingInterceptor.pointcutExpression(List.of("com.mycompany.myapp.service")));
+
+        assertThat(pointcut.matches(VacationDayCalculator.class)).isTrue();
+        assertThat(pointcut.matches(RoomOccupancyHub.class)).isTrue();
+        assertThat(pointcut.matches(CalendarFeedResource.class)).isFalse();
+        assertThatThrownBy(() -> MethodTimingInterceptor.pointcutExpression(List.of())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void timesTheInheritedMethodsOfSpringDataRepositories() {
+        Object repository = springDataRepository();
+        Advisor advisor = advisor(List.of("com.mycompany.myapp.repository"));
+
+        assertThat(AopUtils.canApply(advisor, repository.getClass())).isTrue();
+        assertThat(AopUtils.canApply(advisor(List.of("com.mycompany.myapp.service")), repository.getClass())).isFalse();
+
+        // Proxied the way the auto-proxy creator wraps a JDK proxy: by its interfaces
+        ProxyFactory proxyFactory = new ProxyFactory(repository);
+        proxyFactory.setInterfaces(EmployeeRepository.class);
+        proxyFactory.addAdvisor(advisor);
+        ((EmployeeRepository) proxyFactory.getProxy()).findById(1L);
+
+        assertThat(
+            meterRegistry
+                .get(MethodTimingInterceptor.METER_NAME)
+                .tag("class", "EmployeeRepository")
+                .tag("method", "findById")
+                .tag("outcome", "success")
+                .timer()
+                .count()
+        ).isEqualTo(1);
+    }
+
+    @Test
+    void namesRepositoriesAfterTheirInterface() {
+        Object repository = new ProxyFactory(EmployeeRepository.class, (MethodInterceptor) invocation -> null).getProxy();
+
+        assertThat(MethodTimingInterceptor.userClass(repository.getClass())).isEqualTo(EmployeeRepository.class);
+        assertThat(MethodTimingInterceptor.userClass(DefaultGreeter.class)).isEqualTo(DefaultGreeter.class);
+    }
+
+    private Advisor advisor(List<String> packages) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMethodTiming().setPackages(packages);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        return new MethodTimingConfiguration().methodTimingAdvisor(applicationProperties, beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    /**
+     * A repository proxy created by Spring Data, as in the application context, over a mocked entity manager.
+     */
+    private static Object springDataRepository() {
+        EntityManager entityManager = mock(EntityManager.class, RETURNS_DEEP_STUBS);
+        when(entityManager.getDelegate()).thenReturn(new Object());
+        Metamodel metamodel = mock(Metamodel.class);
+        doReturn(mock(EntityType.class, RETURNS_DEEP_STUBS)).when(metamodel).managedType(Employee.class);
+        when(entityManager.getMetamodel()).thenReturn(metamodel);
+        return new JpaRepositoryFactory(entityManager).getRepository(EmployeeRepository.class);
+    }
+
+    private Timer timer(String method, String outcome) {
+        return meterRegistry
+            .get(MethodTimingInterceptor.METER_NAME)
+            .tag("class", "DefaultGreeter")
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .timer();
+    }
+
+    private static Greeter proxy(MethodTimingInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(new DefaultGreeter());
+        proxyFactory.addAdvice(interceptor);
+        return (Greeter) proxyFactory.getProxy();
+    }
+
+    interface Greeter {
+        String greet(String name);
+    }
+
+    static class DefaultGreeter implements Greeter {
+
+        @Override
+        public String greet(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("A name is required");
+            }
+            return "Hello " + name;
+        }
+    }
+}
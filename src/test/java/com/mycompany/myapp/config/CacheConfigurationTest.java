@@ -0,0 +1,51 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import java.time.Duration;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheConfigurationTest {
+
+    private static final String REGION = "com.mycompany.myapp.domain.MeetingRoom";
+
+    private ApplicationProperties.Cache properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties().getCache();
+        properties.setMaxEntries(1000);
+        properties.setTimeToLive(Duration.ofHours(1));
+    }
+
+    @Test
+    void usesDefaultsForUnconfiguredRegion() {
+        CaffeineConfiguration<Object, Object> configuration = CacheConfiguration.regionConfiguration(properties, REGION);
+
+        assertThat(configuration.getMaximumSize()).isEqualTo(OptionalLong.of(1000));
+        assertThat(configuration.getExpireAfterWrite()).isEqualTo(OptionalLong.of(Duration.ofHours(1).toNanos()));
+        assertThat(configuration.isStatisticsEnabled()).isTrue();
+        assertThat(configuration.isStoreByValue()).isFalse();
+    }
+
+    @Test
+    void overridesDefaultsPerRegion() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxEntries(50L);
+        properties.getRegions().put(REGION, region);
+
+        CaffeineConfiguration<Object, Object> configuration = CacheConfiguration.regionConfiguration(properties, REGION);
+
+        assertThat(configuration.getMaximumSize()).isEqualTo(OptionalLong.of(50));
+        assertThat(configuration.getExpireAfterWrite()).isEqualTo(OptionalLong.of(Duration.ofHours(1).toNanos()));
+
+        region.setTimeToLive(Duration.ofMinutes(5));
+
+        assertThat(CacheConfiguration.regionConfiguration(properties, REGION).getExpireAfterWrite()).isEqualTo(
+            OptionalLong.of(Duration.ofMinutes(5).toNanos())
+        );
+    }
+}
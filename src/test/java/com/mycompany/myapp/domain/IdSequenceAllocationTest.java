@@ -0,0 +1,67 @@
+package com.mycompany.myapp.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.Constants;
+import jakarta.persistence.Entity;
+import jakarta.persistence.SequenceGenerator;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+class IdSequenceAllocationTest {
+
+    @Test
+    void allEntitiesAllocateIdsInBlocksOfTheSequenceIncrement() {
+        List<Field> idFields = entityClasses()
+            .stream()
+            .flatMap(entityClass -> Arrays.stream(entityClass.getDeclaredFields()))
+            .filter(field -> field.isAnnotationPresent(SequenceGenerator.class))
+            .toList();
+
+        assertThat(idFields).extracting(field -> field.getDeclaringClass().getSimpleName()).contains("Attachment", "Employee", "User");
+        assertThat(idFields).allSatisfy(field -> {
+            SequenceGenerator sequenceGenerator = field.getAnnotation(SequenceGenerator.class);
+            assertThat(sequenceGenerator.name()).as(field.toString()).isEqualTo("sequenceGenerator");
+            assertThat(sequenceGenerator.allocationSize()).as(field.toString()).isEqualTo(Constants.ID_SEQUENCE_ALLOCATION_SIZE);
+        });
+    }
+
+    @Test
+    void liquibaseDefaultsToTheSameIncrement() throws Exception {
+        try (InputStream masterChangelog = getClass().getResourceAsStream("/config/liquibase/master.xml")) {
+            NodeList properties = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder()
+                .parse(masterChangelog)
+                .getElementsByTagName("property");
+            String increment = null;
+            for (int i = 0; i < properties.getLength(); i++) {
+                Element property = (Element) properties.item(i);
+                if (Constants.ID_SEQUENCE_INCREMENT_PARAMETER.equals(property.getAttribute("name"))) {
+                    increment = property.getAttribute("value");
+                }
+            }
+            assertThat(increment).isEqualTo(String.valueOf(Constants.ID_SEQUENCE_ALLOCATION_SIZE));
+        }
+    }
+
+    private static List<Class<?>> entityClasses() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        return scanner
+            .findCandidateComponents(IdSequenceAllocationTest.class.getPackageName())
+            .stream()
+            .map(BeanDefinition::getBeanClassName)
+            .<Class<?>>map(className -> ClassUtils.resolveClassName(className, IdSequenceAllocationTest.class.getClassLoader()))
+            .toList();
+    }
+}
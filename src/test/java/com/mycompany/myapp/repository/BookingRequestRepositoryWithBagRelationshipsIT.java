@@ -0,0 +1,279 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import com.mycompany.myapp.domain.enumeration.Status;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link BookingRequestRepositoryWithBagRelationshipsImpl}.
+ * <p>
+ * The benchmark comparing with the former fetch strategy only runs when {@code -Dbenchmark.rows} is set, e.g.
+ * {@code ./mvnw verify -Dit.test=BookingRequestRepositoryWithBagRelationshipsIT -Dbenchmark.rows=100000}.
+ */
+@IntegrationTest
+@Transactional
+class BookingRequestRepositoryWithBagRelationshipsIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookingRequestRepositoryWithBagRelationshipsIT.class);
+
+    private static final Instant START = Instant.parse("2025-09-01T08:00:00Z");
+
+    private static final int INVITED_USERS = 3;
+
+    @Autowired
+    private BookingRequestRepository bookingRequestRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void fetchesPageWithRelationshipsInTwoQueriesPlusCount() {
+        List<Long> ids = insertBookingRequests(12);
+        statistics.clear();
+
+        Page<BookingRequest> page = bookingRequestRepository.findAllWithEagerRelationships(
+            PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "startTime"))
+        );
+        page.getContent().forEach(BookingRequestRepositoryWithBagRelationshipsIT::touchRelationships);
+
+        assertThat(page.getTotalElements()).isEqualTo(12);
+        assertThat(page.getContent()).extracting(BookingRequest::getId).containsExactlyElementsOf(reversed(ids).subList(5, 10));
+        assertThat(page.getContent()).allSatisfy(bookingRequest -> assertThat(bookingRequest.getInvitedUsers()).hasSize(INVITED_USERS));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void skipsCountOnLastPage() {
+        insertBookingRequests(3);
+        statistics.clear();
+
+        Page<BookingRequest> page = bookingRequestRepository.findAllWithEagerRelationships(PageRequest.of(0, 5, Sort.by("id")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findsOneWithRelationshipsInOneQuery() {
+        Long id = insertBookingRequests(1).get(0);
+        statistics.clear();
+
+        BookingRequest bookingRequest = bookingRequestRepository.findOneWithEagerRelationships(id).orElseThrow();
+        touchRelationships(bookingRequest);
+
+        assertThat(bookingRequest.getInvitedUsers()).hasSize(INVITED_USERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void scrollsThroughWindowsInTwoQueriesEach() {
+        List<Long> ids = insertBookingRequests(7);
+        statistics.clear();
+
+        List<Long> scrolled = new ArrayList<>();
+        Window<BookingRequest> window = bookingRequestRepository.scrollWithEagerRelationships(
+            null,
+            ScrollPosition.keyset(),
+            Sort.Direction.DESC,
+            3
+        );
+        int windows = 1;
+        window.forEach(bookingRequest -> scrolled.add(bookingRequest.getId()));
+        while (window.hasNext()) {
+            window = bookingRequestRepository.scrollWithEagerRelationships(
+                null,
+                (KeysetScrollPosition) window.positionAt(window.size() - 1),
+                Sort.Direction.DESC,
+                3
+            );
+            windows++;
+            window.forEach(bookingRequest -> scrolled.add(bookingRequest.getId()));
+        }
+
+        assertThat(windows).isEqualTo(3);
+        assertThat(scrolled).containsExactlyElementsOf(reversed(ids));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L * windows);
+    }
+
+    @Test
+    void streamsDetachedChunksFromOneQuery() {
+        List<Long> ids = insertBookingRequests(7);
+        em.flush();
+        statistics.clear();
+
+        List<Long> streamed = new ArrayList<>();
+        List<Integer> chunkSizes = new ArrayList<>();
+        bookingRequestRepository.streamWithEagerRelationships(null, 3, chunk -> {
+            chunkSizes.add(chunk.size());
+            chunk.forEach(bookingRequest -> {
+                assertThat(em.contains(bookingRequest)).isFalse();
+                assertThat(bookingRequest.getInvitedUsers()).hasSize(INVITED_USERS);
+                assertThat(bookingRequest.getMeetingRoom().getName()).isNotNull();
+                streamed.add(bookingRequest.getId());
+            });
+        });
+
+        assertThat(chunkSizes).containsExactly(3, 3, 1);
+        assertThat(streamed).containsExactlyElementsOf(ids);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+    void benchmarkAgainstFetchAfterFindAll() {
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+        insertBookingRequests(rows);
+        int pageSize = 20;
+        int pages = 50;
+        int lastPage = rows / pageSize - 1;
+        List<Pageable> pageables = IntStream.range(0, pages)
+            .mapToObj(i -> (Pageable) PageRequest.of(lastPage * i / pages, pageSize, Sort.by(Sort.Direction.DESC, "startTime")))
+            .toList();
+
+        // Warm up both strategies before measuring
+        measure(pageables, this::findAllThenFetchInvitedUsers);
+        measure(pageables, bookingRequestRepository::findAllWithEagerRelationships);
+
+        long[] former = measure(pageables, this::findAllThenFetchInvitedUsers);
+        long[] current = measure(pageables, bookingRequestRepository::findAllWithEagerRelationships);
+        LOG.info(
+            "{} rows, {} pages of {}: findAll + fetchInvitedUsers {} ms / {} statements, findAllWithEagerRelationships {} ms / {} statements",
+            rows,
+            pages,
+            pageSize,
+            former[0],
+            former[1],
+            current[0],
+            current[1]
+        );
+        assertThat(current[1]).isLessThan(former[1]);
+    }
+
+    private long[] measure(List<Pageable> pageables, Function<Pageable, Page<BookingRequest>> strategy) {
+        em.clear();
+        statistics.clear();
+        long start = System.nanoTime();
+        for (Pageable pageable : pageables) {
+            strategy.apply(pageable).getContent().forEach(BookingRequestRepositoryWithBagRelationshipsIT::touchRelationships);
+            em.clear();
+        }
+        return new long[] { (System.nanoTime() - start) / 1_000_000, statistics.getPrepareStatementCount() };
+    }
+
+    /**
+     * The former strategy: a page of booking requests, then their invited users with {@code in :bookingRequests}, put
+     * back in order through a map of boxed ids.
+     */
+    private Page<BookingRequest> findAllThenFetchInvitedUsers(Pageable pageable) {
+        Page<BookingRequest> page = bookingRequestRepository.findAll(pageable);
+        List<BookingRequest> bookingRequests = page.getContent();
+        HashMap<Object, Integer> order = new HashMap<>();
+        IntStream.range(0, bookingRequests.size()).forEach(index -> order.put(bookingRequests.get(index).getId(), index));
+        List<BookingRequest> result = new ArrayList<>(
+            em
+                .createQuery(
+                    "select bookingRequest from BookingRequest bookingRequest left join fetch bookingRequest.invitedUsers where bookingRequest in :bookingRequests",
+                    BookingRequest.class
+                )
+                .setParameter("bookingRequests", bookingRequests)
+                .getResultList()
+        );
+        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
+        return new PageImpl<>(result, pageable, page.getTotalElements());
+    }
+
+    private List<Long> insertBookingRequests(int count) {
+        MeetingRoom meetingRoom = new MeetingRoom().name("Bag room").capacity(10).requiresApproval(false);
+        em.persist(meetingRoom);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i <= INVITED_USERS; i++) {
+            Employee employee = new Employee()
+                .name("Bag employee " + i)
+                .email("bag-" + i + "@example.com")
+                .userRole(DepartmentType.EMPLOYEE)
+                .createdAt(START)
+                .vacationBalance(0);
+            em.persist(employee);
+            employees.add(employee);
+        }
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BookingRequest bookingRequest = new BookingRequest()
+                .startTime(START.plus(i, ChronoUnit.HOURS))
+                .endTime(START.plus(i, ChronoUnit.HOURS).plus(30, ChronoUnit.MINUTES))
+                .status(Status.APPROVED)
+                .createdAt(START)
+                .employee(employees.get(0))
+                .meetingRoom(meetingRoom);
+            bookingRequest.getInvitedUsers().addAll(employees.subList(1, INVITED_USERS + 1));
+            em.persist(bookingRequest);
+            ids.add(bookingRequest.getId());
+            if (i % 1_000 == 999) {
+                em.flush();
+                em.clear();
+                meetingRoom = em.getReference(MeetingRoom.class, meetingRoom.getId());
+                employees = employees.stream().map(employee -> em.getReference(Employee.class, employee.getId())).toList();
+            }
+        }
+        em.flush();
+        em.clear();
+        return ids;
+    }
+
+    private static void touchRelationships(BookingRequest bookingRequest) {
+        bookingRequest.getEmployee().getName();
+        bookingRequest.getMeetingRoom().getName();
+        bookingRequest.getInvitedUsers().forEach(Employee::getName);
+    }
+
+    private static <T> List<T> reversed(List<T> list) {
+        List<T> copy = new ArrayList<>(list);
+        Collections.reverse(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,34 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.domain.BookingRequest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BookingRequestRepositoryWithBagRelationshipsImplTest {
+
+    @Test
+    void ordersBookingRequestsLikeTheIds() {
+        List<BookingRequest> fetched = List.of(bookingRequest(7L), bookingRequest(1L), bookingRequest(42L), bookingRequest(3L));
+
+        List<BookingRequest> ordered = BookingRequestRepositoryWithBagRelationshipsImpl.inIdOrder(new long[] { 42L, 3L, 7L, 1L }, fetched);
+
+        assertThat(ordered).extracting(BookingRequest::getId).containsExactly(42L, 3L, 7L, 1L);
+    }
+
+    @Test
+    void skipsIdsWithoutBookingRequest() {
+        List<BookingRequest> fetched = List.of(bookingRequest(2L), bookingRequest(9L));
+
+        List<BookingRequest> ordered = BookingRequestRepositoryWithBagRelationshipsImpl.inIdOrder(new long[] { 9L, 5L, 2L }, fetched);
+
+        assertThat(ordered).extracting(BookingRequest::getId).containsExactly(9L, 2L);
+    }
+
+    private static BookingRequest bookingRequest(Long id) {
+        BookingRequest bookingRequest = new BookingRequest();
+        bookingRequest.setId(id);
+        return bookingRequest;
+    }
+}
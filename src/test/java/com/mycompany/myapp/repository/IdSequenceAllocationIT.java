@@ -0,0 +1,167 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.domain.Attachment;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.repository.statistics.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the pooled-lo allocation of the entity ids from {@code sequence_generator}.
+ * <p>
+ * The insert throughput benchmark only runs when {@code -Dbenchmark.rows} is set, e.g.
+ * {@code ./mvnw verify -Dit.test=IdSequenceAllocationIT -Dbenchmark.rows=10000}; run it on two commits to compare them.
+ */
+@IntegrationTest
+@Transactional
+class IdSequenceAllocationIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdSequenceAllocationIT.class);
+
+    private static final Instant START = Instant.parse("2025-11-17T08:00:00Z");
+
+    private static final int BATCH_SIZE = 25;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sequenceIsIncrementedByTheAllocationSize() {
+        Integer increment = jdbcTemplate.queryForObject("select increment from sequence_generator", Integer.class);
+
+        assertThat(increment).isEqualTo(Constants.ID_SEQUENCE_ALLOCATION_SIZE);
+    }
+
+    @Test
+    void allocatesTheIdsOfABulkInsertInBlocks() {
+        int rows = 3 * Constants.ID_SEQUENCE_ALLOCATION_SIZE;
+
+        SqlStatementCounter.Counts counts = SqlStatementCounter.begin();
+        List<Employee> employees;
+        try {
+            employees = employeeRepository.saveAll(IntStream.range(0, rows).mapToObj(IdSequenceAllocationIT::employee).toList());
+            em.flush();
+        } finally {
+            SqlStatementCounter.end();
+        }
+
+        assertThat(employees).extracting(Employee::getId).doesNotHaveDuplicates();
+        // One sequence call per block, a block more if the first one straddles, and the insert batches
+        int sequenceCalls = rows / Constants.ID_SEQUENCE_ALLOCATION_SIZE + 1;
+        assertThat(counts.getStatements()).isLessThanOrEqualTo(sequenceCalls + rows / BATCH_SIZE);
+    }
+
+    @Test
+    void handsOutIdsFromTheSequenceValue() {
+        // The optimizer may be in the middle of a block left by other tests: insert until the ids jump to a new one
+        long previous = employeeRepository.saveAndFlush(employee(0)).getId();
+        Long blockStart = null;
+        for (int i = 1; i <= Constants.ID_SEQUENCE_ALLOCATION_SIZE && blockStart == null; i++) {
+            long id = employeeRepository.saveAndFlush(employee(i)).getId();
+            if (id != previous + 1) {
+                blockStart = id;
+            }
+            previous = id;
+        }
+        assertThat(blockStart).isNotNull();
+        // Taken by another writer, as the backfill of the vacation ledger does
+        Long next = jdbcTemplate.queryForObject("select next value for sequence_generator", Long.class);
+
+        // Pooled-lo takes a value as the lowest id of its block, so the whole block stays below the next value
+        assertThat(blockStart + Constants.ID_SEQUENCE_ALLOCATION_SIZE - 1).isLessThan(next);
+        assertThat(employeeRepository.saveAndFlush(employee(-2)).getId()).isNotEqualTo(next);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+    void benchmarkBulkInsertThroughput() {
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+        MeetingRoom meetingRoom = new MeetingRoom().name("Sequence room").capacity(10).requiresApproval(false);
+        em.persist(meetingRoom);
+        Employee employee = employee(-1);
+        em.persist(employee);
+        em.flush();
+
+        // Warm up before measuring
+        measure("warm-up", rows / 10, IdSequenceAllocationIT::employee);
+
+        // Offset past the warm-up, as the emails are unique
+        measure("employees", rows, i -> employee(rows + i));
+        measure("bookingRequests", rows, i ->
+            new BookingRequest()
+                .startTime(START.plus(i, ChronoUnit.HOURS))
+                .endTime(START.plus(i, ChronoUnit.HOURS).plus(30, ChronoUnit.MINUTES))
+                .status(Status.PENDING)
+                .createdAt(START)
+                .employee(employee)
+                .meetingRoom(meetingRoom)
+        );
+        measure("attachments", rows, i -> new Attachment().name("scan-" + i + ".pdf").url("/files/scan-" + i + ".pdf").uploadedAt(START));
+    }
+
+    private void measure(String entities, int rows, IntFunction<Object> entity) {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.begin();
+        long start = System.nanoTime();
+        try {
+            List<Object> pending = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < rows; i++) {
+                Object created = entity.apply(i);
+                em.persist(created);
+                pending.add(created);
+                if (pending.size() == BATCH_SIZE) {
+                    em.flush();
+                    pending.forEach(em::detach);
+                    pending.clear();
+                }
+            }
+            em.flush();
+        } finally {
+            SqlStatementCounter.end();
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        LOG.info(
+            "{} {}: {} ms, {} inserts/s, {} statements with an allocation size of {}",
+            rows,
+            entities,
+            elapsedMillis,
+            rows * 1000L / elapsedMillis,
+            counts.getStatements(),
+            Constants.ID_SEQUENCE_ALLOCATION_SIZE
+        );
+    }
+
+    private static Employee employee(int i) {
+        return new Employee()
+            .name("Sequence employee " + i)
+            .email("sequence-" + i + "@example.com")
+            .userRole(DepartmentType.EMPLOYEE)
+            .createdAt(START)
+            .vacationBalance(30);
+    }
+}
@@ -0,0 +1,216 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.BookingRequest_;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.Employee_;
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.domain.VacationRequest;
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.domain.enumeration.VacationType;
+import com.mycompany.myapp.repository.statistics.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests checking that the queries of the repositories are served by an index. Each test calls a repository
+ * method, captures the SQL Hibernate prepares for it through the {@link SqlStatementCounter}, and runs its
+ * {@code EXPLAIN} with the same parameters. A plan scanning a whole table or a whole index fails the build.
+ * <p>
+ * Enough rows are inserted for a full scan to cost more than an index lookup, otherwise the optimizer may rightly
+ * prefer to read a tiny table.
+ */
+@IntegrationTest
+@Transactional
+class QueryPlanIT {
+
+    private static final Instant START = Instant.parse("2025-09-01T08:00:00Z");
+
+    private static final LocalDate START_DATE = LocalDate.of(2025, 9, 1);
+
+    private static final int ROOMS = 20;
+
+    private static final int EMPLOYEES = 40;
+
+    private static final int BOOKING_REQUESTS = 2_000;
+
+    private static final int VACATION_REQUESTS = 1_000;
+
+    private static final String LOGIN = "query-plan";
+
+    private static final List<String> FULL_SCANS = List.of("ALL", "index");
+
+    @Autowired
+    private BookingRequestRepository bookingRequestRepository;
+
+    @Autowired
+    private VacationRequestRepository vacationRequestRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long roomId;
+
+    private Long employeeId;
+
+    @BeforeEach
+    void insertRows() {
+        User user = new User();
+        user.setLogin(LOGIN);
+        user.setPassword("$2a$10$" + "x".repeat(53));
+        user.setActivated(true);
+        user.setEmail(LOGIN + "@localhost");
+        user.setLangKey("en");
+        em.persist(user);
+
+        List<MeetingRoom> rooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            MeetingRoom room = new MeetingRoom().name("Plan room " + i).capacity(10).requiresApproval(false);
+            em.persist(room);
+            rooms.add(room);
+        }
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee()
+                .name("Plan employee " + i)
+                .email("plan-" + i + "@example.com")
+                .userRole(DepartmentType.EMPLOYEE)
+                .createdAt(START)
+                .vacationBalance(20)
+                .user(i == 0 ? user : null);
+            em.persist(employee);
+            employees.add(employee);
+        }
+        for (int i = 0; i < BOOKING_REQUESTS; i++) {
+            Instant startTime = START.plus(i, ChronoUnit.HOURS);
+            BookingRequest bookingRequest = new BookingRequest()
+                .startTime(startTime)
+                .endTime(startTime.plus(30, ChronoUnit.MINUTES))
+                .status(Status.APPROVED)
+                .createdAt(START)
+                .employee(employees.get(i % EMPLOYEES))
+                .meetingRoom(rooms.get(i % ROOMS));
+            bookingRequest.getInvitedUsers().add(employees.get((i + 1) % EMPLOYEES));
+            em.persist(bookingRequest);
+        }
+        for (int i = 0; i < VACATION_REQUESTS; i++) {
+            em.persist(
+                new VacationRequest()
+                    .startDate(START_DATE.plusDays(i))
+                    .endDate(START_DATE.plusDays(i + 1L))
+                    .type(VacationType.ANNUAL)
+                    .status(Status.PENDING)
+                    .createdAt(START)
+                    .employee(employees.get(i % EMPLOYEES))
+            );
+        }
+        em.flush();
+        em.clear();
+        roomId = rooms.get(0).getId();
+        employeeId = employees.get(0).getId();
+    }
+
+    @Test
+    void roomOverlapUsesIndex() {
+        Instant startTime = START.plus(99, ChronoUnit.HOURS);
+        Instant endTime = START.plus(100, ChronoUnit.HOURS);
+        String sql = generatedSql(() -> bookingRequestRepository.existsByMeetingRoomIdAndTimeOverlap(roomId, startTime, endTime));
+
+        assertNoFullScan(sql, roomId, Timestamp.from(endTime), Timestamp.from(startTime));
+    }
+
+    @Test
+    void invitationsUseIndex() {
+        String sql = generatedSql(() -> bookingRequestRepository.findAllByInvitedUser(employeeId));
+
+        assertNoFullScan(sql, employeeId);
+    }
+
+    @Test
+    void bookingRequestsOfEmployeeUseIndex() {
+        Specification<BookingRequest> ofEmployee = (root, query, cb) ->
+            cb.equal(root.get(BookingRequest_.employee).get(Employee_.id), employeeId);
+        // The ids of the page, the booking requests are then fetched by id
+        String sql = generatedSql(() ->
+            bookingRequestRepository.findAllWithEagerRelationships(ofEmployee, PageRequest.of(0, 20, Sort.by(BookingRequest_.START_TIME)))
+        );
+
+        assertNoFullScan(sql, employeeId, 20);
+    }
+
+    @Test
+    void vacationRequestsOfEmployeeUseIndex() {
+        String sql = generatedSql(() -> vacationRequestRepository.findByEmployeeId(employeeId));
+
+        assertNoFullScan(sql, employeeId);
+    }
+
+    @Test
+    void employeeOfLoginUsesIndex() {
+        String sql = generatedSql(() -> employeeRepository.findOneByUserLogin(LOGIN));
+
+        assertNoFullScan(sql, LOGIN);
+    }
+
+    @Test
+    void bookingRequestWindowUsesIndex() {
+        Instant lastStartTime = START.plus(1_000, ChronoUnit.HOURS);
+        KeysetScrollPosition position = ScrollPosition.forward(
+            Map.of(BookingRequest_.START_TIME, lastStartTime, BookingRequest_.ID, Long.MAX_VALUE)
+        );
+        // The keys of the window, one more than its size, the booking requests are then fetched by id
+        String sql = generatedSql(() -> bookingRequestRepository.scrollWithEagerRelationships(null, position, Sort.Direction.ASC, 20));
+
+        assertNoFullScan(sql, Timestamp.from(lastStartTime), Timestamp.from(lastStartTime), Long.MAX_VALUE, 21);
+    }
+
+    /**
+     * Run a repository call and capture the first SQL statement Hibernate prepares for it.
+     */
+    private String generatedSql(Runnable repositoryCall) {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.begin();
+        try {
+            repositoryCall.run();
+        } finally {
+            SqlStatementCounter.end();
+        }
+        assertThat(counts.getDistinctStatements()).isNotEmpty();
+        return counts.getDistinctStatements().get(0);
+    }
+
+    private void assertNoFullScan(String sql, Object... parameters) {
+        assertThat(sql.chars().filter(c -> c == '?').count()).as("parameters of %s", sql).isEqualTo(parameters.length);
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, parameters);
+        assertThat(plan)
+            .as("plan of %s", sql)
+            .isNotEmpty()
+            .allSatisfy(step -> assertThat(step.get("type")).as("access of %s in %s", step.get("table"), plan).isNotIn(FULL_SCANS));
+    }
+}
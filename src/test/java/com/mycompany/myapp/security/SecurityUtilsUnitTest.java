@@ -1,5 +1,6 @@
 package com.mycompany.myapp.security;
 
+import static com.mycompany.myapp.security.SecurityUtils.EMPLOYEE_ID_CLAIM;
 import static com.mycompany.myapp.security.SecurityUtils.USER_ID_CLAIM;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -61,6 +62,23 @@ class SecurityUtilsUnitTest {
         assertThat(contextUserId.orElse(null)).isEqualTo(userId);
     }
 
+    @Test
+    void testGetCurrentEmployeeId() {
+        var employeeId = 7L;
+        var securityContext = SecurityContextHolder.createEmptyContext();
+        var now = Instant.now();
+        var jwt = Jwt.withTokenValue("token")
+            .issuedAt(now)
+            .expiresAt(now.plusSeconds(60))
+            .claim(EMPLOYEE_ID_CLAIM, employeeId)
+            .header("Test", "test")
+            .build();
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken(jwt, "token"));
+        SecurityContextHolder.setContext(securityContext);
+        var contextEmployeeId = SecurityUtils.getCurrentEmployeeId();
+        assertThat(contextEmployeeId.orElse(null)).isEqualTo(employeeId);
+    }
+
     @Test
     void testIsAuthenticated() {
         SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
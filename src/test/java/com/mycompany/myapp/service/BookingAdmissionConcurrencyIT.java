@@ -0,0 +1,211 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.repository.BookingRequestRepository;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.repository.MeetingRoomRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.dto.BookingRequestDTO;
+import com.mycompany.myapp.service.mapper.BookingRequestMapper;
+import com.mycompany.myapp.service.mapper.MeetingRoomMapper;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Integration tests admitting bookings of the same meeting room in parallel, against the real database, to check that
+ * a window is never booked twice. Each admission reads the database before waiting for the locks of the room, so a
+ * check answered from the snapshot of its transaction would miss the booking committed meanwhile.
+ */
+@IntegrationTest
+class BookingAdmissionConcurrencyIT {
+
+    private static final String LOGIN = "concurrent-booking";
+
+    private static final int THREADS = 16;
+
+    private static final Instant START_TIME = Instant.parse("2030-01-07T09:00:00Z");
+
+    @Autowired
+    private BookingRequestService bookingRequestService;
+
+    @Autowired
+    private CurrentEmployeeService currentEmployeeService;
+
+    @Autowired
+    private BookingRequestRepository bookingRequestRepository;
+
+    @Autowired
+    private BookingRequestMapper bookingRequestMapper;
+
+    @Autowired
+    private MeetingRoomMapper meetingRoomMapper;
+
+    @Autowired
+    private MeetingRoomRepository meetingRoomRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    private Employee employee;
+
+    private MeetingRoom meetingRoom;
+
+    @BeforeEach
+    void insertRoomAndEmployee() {
+        currentEmployeeService.evictEmployeeId(LOGIN);
+        user = new User();
+        user.setLogin(LOGIN);
+        user.setPassword(RandomStringUtils.insecure().nextAlphanumeric(60));
+        user.setActivated(true);
+        user = userRepository.saveAndFlush(user);
+        employee = employeeRepository.saveAndFlush(
+            new Employee()
+                .name("Concurrent booker")
+                .email("concurrent-booking@example.com")
+                .userRole(DepartmentType.EMPLOYEE)
+                .createdAt(Instant.now())
+                .vacationBalance(0)
+                .user(user)
+        );
+        meetingRoom = meetingRoomRepository.saveAndFlush(new MeetingRoom().name("Concurrent room").capacity(4).requiresApproval(false));
+    }
+
+    @AfterEach
+    void deleteBookings() {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "select id from booking_request where meeting_room_id = ?",
+            Long.class,
+            meetingRoom.getId()
+        );
+        for (Long id : ids) {
+            jdbcTemplate.update("delete from notification_outbox where aggregate_type = 'BookingRequest' and aggregate_id = ?", id);
+        }
+        bookingRequestRepository.deleteAllById(ids);
+        meetingRoomRepository.deleteById(meetingRoom.getId());
+        employeeRepository.deleteById(employee.getId());
+        userRepository.deleteById(user.getId());
+        currentEmployeeService.evictEmployeeId(LOGIN);
+    }
+
+    @Test
+    void parallelBookingsOfTheSameWindowAdmitOne() throws Exception {
+        List<Callable<BookingRequestDTO>> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            BookingRequestDTO booking = new BookingRequestDTO();
+            booking.setStartTime(START_TIME);
+            booking.setEndTime(START_TIME.plus(1, ChronoUnit.HOURS));
+            booking.setPurpose("Concurrent booking " + i);
+            booking.setMeetingRoom(meetingRoomMapper.toDto(meetingRoom));
+            bookings.add(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(LOGIN, null, List.of()));
+                try {
+                    return bookingRequestService.save(booking);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+
+        assertThat(runInParallel(bookings)).isEqualTo(1);
+        assertThat(countBookings(START_TIME, START_TIME.plus(1, ChronoUnit.HOURS))).isEqualTo(1);
+    }
+
+    @Test
+    void parallelReschedulesOntoTheSameWindowAdmitOne() throws Exception {
+        Instant targetTime = START_TIME.minus(7, ChronoUnit.DAYS);
+        List<Callable<BookingRequestDTO>> reschedules = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            // One booking per day, all moved to the same hour of the week before
+            BookingRequest existing = bookingRequestRepository.saveAndFlush(
+                new BookingRequest()
+                    .startTime(START_TIME.plus(i + 1, ChronoUnit.DAYS))
+                    .endTime(START_TIME.plus(i + 1, ChronoUnit.DAYS).plus(1, ChronoUnit.HOURS))
+                    .status(Status.APPROVED)
+                    .createdAt(Instant.now())
+                    .employee(employee)
+                    .meetingRoom(meetingRoom)
+            );
+            BookingRequestDTO reschedule = bookingRequestMapper.toDto(existing);
+            reschedule.setStartTime(targetTime);
+            reschedule.setEndTime(targetTime.plus(1, ChronoUnit.HOURS));
+            reschedules.add(() -> bookingRequestService.update(reschedule));
+        }
+
+        assertThat(runInParallel(reschedules)).isEqualTo(1);
+        assertThat(countBookings(targetTime, targetTime.plus(1, ChronoUnit.HOURS))).isEqualTo(1);
+    }
+
+    private int runInParallel(List<Callable<BookingRequestDTO>> admissions) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        int admitted = 0;
+        try {
+            List<Future<BookingRequestDTO>> futures = new ArrayList<>();
+            for (Callable<BookingRequestDTO> admission : admissions) {
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return admission.call();
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<BookingRequestDTO> future : futures) {
+                try {
+                    future.get();
+                    admitted++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause())
+                        .isInstanceOfSatisfying(BadRequestAlertException.class, error ->
+                            assertThat(error.getErrorKey()).isEqualTo("timeoverlap")
+                        );
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return admitted;
+    }
+
+    private long countBookings(Instant startTime, Instant endTime) {
+        return bookingRequestRepository
+            .findAll()
+            .stream()
+            .filter(booking -> booking.getMeetingRoom().getId().equals(meetingRoom.getId()))
+            .filter(booking -> booking.getStartTime().isBefore(endTime) && booking.getEndTime().isAfter(startTime))
+            .count();
+    }
+}
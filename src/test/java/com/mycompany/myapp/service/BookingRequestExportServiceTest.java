@@ -0,0 +1,109 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.repository.BookingRequestRepository;
+import com.mycompany.myapp.service.criteria.BookingRequestCriteria;
+import com.mycompany.myapp.service.mapper.BookingRequestMapperImpl;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BookingRequestExportServiceTest {
+
+    private static final Instant START_TIME = Instant.parse("2026-03-02T09:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private BookingRequestExportService bookingRequestExportService;
+
+    @BeforeEach
+    void setUp() {
+        BookingRequestRepository bookingRequestRepository = mock(BookingRequestRepository.class);
+        doAnswer(invocation -> {
+            Consumer<List<BookingRequest>> chunkConsumer = invocation.getArgument(2);
+            chunkConsumer.accept(List.of(bookingRequest(1L, "Weekly, \"sync\""), bookingRequest(2L, "Planning")));
+            chunkConsumer.accept(List.of(bookingRequest(3L, null).addInvitedUsers(new Employee().id(9L).name("Jane"))));
+            return null;
+        })
+            .when(bookingRequestRepository)
+            .streamWithEagerRelationships(any(), eq(BookingRequestExportService.CHUNK_SIZE), any());
+        bookingRequestExportService = new BookingRequestExportService(
+            bookingRequestRepository,
+            mock(BookingRequestQueryService.class),
+            new BookingRequestMapperImpl(),
+            objectMapper
+        );
+    }
+
+    @Test
+    void exportsOneJsonDocumentPerLine() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        bookingRequestExportService.exportByCriteria(new BookingRequestCriteria(), BookingRequestExportService.Format.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[3]).isEmpty();
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("purpose").asText()).isEqualTo("Weekly, \"sync\"");
+        assertThat(first.get("startTime").asText()).isEqualTo(START_TIME.toString());
+        assertThat(first.get("meetingRoom").get("name").asText()).isEqualTo("Room 1");
+        JsonNode third = objectMapper.readTree(lines[2]);
+        assertThat(third.get("invitedUsers").get(0).get("name").asText()).isEqualTo("Jane");
+    }
+
+    @Test
+    void exportsCsvWithHeader() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        bookingRequestExportService.exportByCriteria(new BookingRequestCriteria(), BookingRequestExportService.Format.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).isEqualTo(String.join(",", BookingRequestExportService.CSV_HEADER));
+        assertThat(lines[1]).isEqualTo(
+            "1,2026-03-02T09:00:00Z,2026-03-02T10:00:00Z,PENDING,2026-03-01T09:00:00Z,,\"Weekly, \"\"sync\"\"\",5,John,1,Room 1,"
+        );
+        assertThat(lines[3]).endsWith(",,5,John,3,Room 3,9");
+    }
+
+    @Test
+    void quotesCsvFieldsOnlyWhenNeeded() {
+        assertThat(BookingRequestExportService.csvField("Planning")).isEqualTo("Planning");
+        assertThat(BookingRequestExportService.csvField("a,b")).isEqualTo("\"a,b\"");
+        assertThat(BookingRequestExportService.csvField("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(BookingRequestExportService.csvField("two\nlines")).isEqualTo("\"two\nlines\"");
+    }
+
+    private static BookingRequest bookingRequest(Long id, String purpose) {
+        return new BookingRequest()
+            .id(id)
+            .startTime(START_TIME)
+            .endTime(START_TIME.plusSeconds(3600))
+            .status(Status.PENDING)
+            .createdAt(START_TIME.minusSeconds(86400))
+            .purpose(purpose)
+            .employee(new Employee().id(5L).name("John"))
+            .meetingRoom(new MeetingRoom().id(id).name("Room " + id));
+    }
+}
@@ -0,0 +1,107 @@
+package com.mycompany.myapp.service;
+
+import static com.mycompany.myapp.security.SecurityUtils.EMPLOYEE_ID_CLAIM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.repository.EmployeeRepository;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class CurrentEmployeeServiceTest {
+
+    private EmployeeRepository employeeRepository;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private CurrentEmployeeService currentEmployeeService;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        cacheManager = new ConcurrentMapCacheManager(EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE);
+        currentEmployeeService = new CurrentEmployeeService(employeeRepository, cacheManager);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readsEmployeeIdFromToken() {
+        Instant now = Instant.now();
+        Jwt jwt = Jwt.withTokenValue("token")
+            .issuedAt(now)
+            .expiresAt(now.plusSeconds(60))
+            .subject("jane")
+            .claim(EMPLOYEE_ID_CLAIM, 7L)
+            .header("Test", "test")
+            .build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(jwt, "token"));
+
+        assertThat(currentEmployeeService.getCurrentEmployeeId()).contains(7L);
+        verify(employeeRepository, never()).findIdByUserLogin(any());
+    }
+
+    @Test
+    void looksUpEmployeeIdByLoginWithoutClaim() {
+        when(employeeRepository.findIdByUserLogin("jane")).thenReturn(Optional.of(7L));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("jane", "password"));
+
+        assertThat(currentEmployeeService.getCurrentEmployeeId()).contains(7L);
+    }
+
+    @Test
+    void isEmptyWhenNotAuthenticated() {
+        assertThat(currentEmployeeService.getCurrentEmployeeId()).isEmpty();
+        verify(employeeRepository, never()).findIdByUserLogin(any());
+    }
+
+    @Test
+    void evictsCachedEmployeeIds() {
+        cacheManager.getCache(EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE).put("jane", 7L);
+        cacheManager.getCache(EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE).put("john", 8L);
+
+        currentEmployeeService.evictEmployeeId("jane");
+
+        assertThat(cacheManager.getCache(EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE).get("jane")).isNull();
+        assertThat(cacheManager.getCache(EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE).get("john")).isNotNull();
+
+        currentEmployeeService.clearEmployeeIds();
+
+        assertThat(cacheManager.getCache(EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE).get("john")).isNull();
+    }
+
+    @Test
+    void evictsCachedEmployeeIdsOnceTheTransactionCommits() {
+        cacheManager.getCache(EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE).put("jane", 7L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            currentEmployeeService.evictEmployeeId("jane");
+
+            // Still cached until the commit, as a lookup before it would cache the old employee again
+            assertThat(cacheManager.getCache(EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE).get("jane")).isNotNull();
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+
+            assertThat(cacheManager.getCache(EmployeeRepository.EMPLOYEE_ID_BY_LOGIN_CACHE).get("jane")).isNull();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
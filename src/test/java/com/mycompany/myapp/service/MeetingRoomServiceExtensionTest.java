@@ -0,0 +1,85 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.Equipment;
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.repository.MeetingRoomRepository;
+import com.mycompany.myapp.service.availability.RoomAvailabilityIndex;
+import com.mycompany.myapp.service.dto.MeetingRoomDTO;
+import com.mycompany.myapp.service.mapper.MeetingRoomMapperImpl;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MeetingRoomServiceExtensionTest {
+
+    private static final Instant START = Instant.parse("2025-09-01T09:00:00Z");
+    private static final Instant END = Instant.parse("2025-09-01T10:00:00Z");
+
+    private MeetingRoomRepository meetingRoomRepository;
+
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    private MeetingRoomServiceExtension meetingRoomServiceExtension;
+
+    @BeforeEach
+    void setUp() {
+        meetingRoomRepository = mock(MeetingRoomRepository.class);
+        roomAvailabilityIndex = mock(RoomAvailabilityIndex.class);
+        meetingRoomServiceExtension = new MeetingRoomServiceExtension(
+            meetingRoomRepository,
+            new MeetingRoomMapperImpl(),
+            roomAvailabilityIndex
+        );
+    }
+
+    @Test
+    void filtersBookedRoomsThroughIndexAndRanksByBestFit() {
+        MeetingRoom large = room(1L, 20, false);
+        MeetingRoom booked = room(2L, 6, false);
+        MeetingRoom approval = room(3L, 6, true);
+        MeetingRoom equipped = room(4L, 6, false).addEquipment(new Equipment().id(1L).name("Projector"));
+        MeetingRoom plain = room(5L, 6, false);
+        when(roomAvailabilityIndex.isReady()).thenReturn(true);
+        when(roomAvailabilityIndex.hasOverlap(2L, START, END)).thenReturn(true);
+        when(meetingRoomRepository.findAllWithEquipmentByMinCapacity(4, null)).thenReturn(
+            List.of(large, booked, approval, equipped, plain)
+        );
+
+        List<MeetingRoomDTO> available = meetingRoomServiceExtension.findAvailable(START, END, 4, null);
+
+        assertThat(available).extracting(MeetingRoomDTO::getId).containsExactly(5L, 4L, 3L, 1L);
+        verify(meetingRoomRepository, never()).findAllAvailableWithEquipment(anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void queriesBookingsUntilIndexIsLoaded() {
+        when(roomAvailabilityIndex.isReady()).thenReturn(false);
+        when(meetingRoomRepository.findAllAvailableWithEquipment(1, 7L, START, END)).thenReturn(List.of(room(1L, 10, false)));
+
+        List<MeetingRoomDTO> available = meetingRoomServiceExtension.findAvailable(START, END, null, 7L);
+
+        assertThat(available).extracting(MeetingRoomDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void rejectsEmptyTimeWindow() {
+        assertThatThrownBy(() -> meetingRoomServiceExtension.findAvailable(END, START, 1, null))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "invalidtimewindow");
+    }
+
+    private static MeetingRoom room(Long id, int capacity, boolean requiresApproval) {
+        return new MeetingRoom().id(id).name("Room " + id).capacity(capacity).requiresApproval(requiresApproval);
+    }
+}
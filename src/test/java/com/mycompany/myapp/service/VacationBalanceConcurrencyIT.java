@@ -0,0 +1,205 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.VacationRequest;
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.domain.enumeration.VacationType;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.repository.VacationRequestRepository;
+import com.mycompany.myapp.service.dto.VacationRequestDTO;
+import com.mycompany.myapp.service.mapper.VacationRequestMapper;
+import com.mycompany.myapp.web.rest.errors.InsufficientVacationBalanceException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Integration tests approving vacationRequests of the same employee in parallel, against the real database, to check
+ * that the balance is never overdrawn nor loses or repeats a deduction.
+ */
+@IntegrationTest
+class VacationBalanceConcurrencyIT {
+
+    private static final int BALANCE = 10;
+
+    private static final int REQUESTS = 32;
+
+    private static final int THREADS = 16;
+
+    // A Wednesday: every request takes a single working day, one week after the other
+    private static final LocalDate START_DATE = LocalDate.of(2026, 7, 1);
+
+    @Autowired
+    private VacationRequestServiceExtension vacationRequestServiceExtension;
+
+    // The base service, behind PUT /api/vacation-requests/{id}
+    @Autowired
+    private VacationRequestService vacationRequestService;
+
+    @Autowired
+    private VacationRequestRepository vacationRequestRepository;
+
+    @Autowired
+    private VacationRequestMapper vacationRequestMapper;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee employee;
+
+    private List<VacationRequest> vacationRequests;
+
+    @BeforeEach
+    void insertPendingVacationRequests() {
+        employee = employeeRepository.saveAndFlush(
+            new Employee()
+                .name("Concurrent employee")
+                .email("concurrent-balance@example.com")
+                .userRole(DepartmentType.EMPLOYEE)
+                .createdAt(Instant.now())
+                .vacationBalance(BALANCE)
+        );
+        vacationRequests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            vacationRequests.add(
+                new VacationRequest()
+                    .startDate(START_DATE.plusWeeks(i))
+                    .endDate(START_DATE.plusWeeks(i))
+                    .type(VacationType.ANNUAL)
+                    .status(Status.PENDING)
+                    .createdAt(Instant.now())
+                    .employee(employee)
+            );
+        }
+        vacationRequests = vacationRequestRepository.saveAllAndFlush(vacationRequests);
+    }
+
+    @AfterEach
+    void deleteVacationRequests() {
+        List<Long> ids = vacationRequests.stream().map(VacationRequest::getId).toList();
+        for (Long id : ids) {
+            jdbcTemplate.update("delete from notification_outbox where aggregate_type = 'VacationRequest' and aggregate_id = ?", id);
+        }
+        vacationRequestRepository.deleteAllById(ids);
+        employeeRepository.deleteById(employee.getId());
+    }
+
+    @Test
+    void parallelApprovalsNeverOverdrawTheBalance() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        int approved = 0;
+        int refused = 0;
+        try {
+            List<Future<VacationRequestDTO>> futures = new ArrayList<>();
+            for (VacationRequest vacationRequest : vacationRequests) {
+                VacationRequestDTO approval = vacationRequestMapper.toDto(vacationRequest);
+                approval.setStatus(Status.APPROVED);
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return vacationRequestServiceExtension.update(approval);
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<VacationRequestDTO> future : futures) {
+                try {
+                    future.get();
+                    approved++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(InsufficientVacationBalanceException.class);
+                    refused++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(approved).isEqualTo(BALANCE);
+        assertThat(refused).isEqualTo(REQUESTS - BALANCE);
+        assertThat(employeeRepository.findById(employee.getId()).orElseThrow().getVacationBalance()).isZero();
+        assertThat(vacationRequestRepository.findByEmployeeId(employee.getId()))
+            .filteredOn(vacationRequest -> vacationRequest.getStatus() == Status.APPROVED)
+            .hasSize(BALANCE);
+    }
+
+    @Test
+    void parallelApprovalsOfTheSameVacationRequestDeductOnce() throws Exception {
+        VacationRequest vacationRequest = vacationRequests.get(0);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<VacationRequestDTO>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                VacationRequestDTO approval = vacationRequestMapper.toDto(vacationRequest);
+                approval.setStatus(Status.APPROVED);
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return vacationRequestServiceExtension.update(approval);
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<VacationRequestDTO> future : futures) {
+                assertThat(future.get().getStatus()).isEqualTo(Status.APPROVED);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(employeeRepository.findById(employee.getId()).orElseThrow().getVacationBalance()).isEqualTo(BALANCE - 1);
+    }
+
+    @Test
+    void parallelUpdatesOfTheSameApprovedVacationRequestDeductOnce() throws Exception {
+        VacationRequest vacationRequest = vacationRequests.get(0);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<VacationRequestDTO>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                VacationRequestDTO approval = vacationRequestMapper.toDto(vacationRequest);
+                approval.setStatus(Status.APPROVED);
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return vacationRequestService.update(approval);
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<VacationRequestDTO> future : futures) {
+                assertThat(future.get().getStatus()).isEqualTo(Status.APPROVED);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Saving the approved request once more does not deduct again either
+        VacationRequestDTO approved = vacationRequestMapper.toDto(vacationRequest);
+        approved.setStatus(Status.APPROVED);
+        vacationRequestService.update(approved);
+
+        assertThat(employeeRepository.findById(employee.getId()).orElseThrow().getVacationBalance()).isEqualTo(BALANCE - 1);
+    }
+}
@@ -0,0 +1,139 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+class VacationDayCalculatorTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void countsWeekdaysOnly() throws IOException {
+        VacationDayCalculator calculator = calculator("");
+
+        // Monday 2026-03-02 to Sunday 2026-03-15
+        assertThat(calculator.countWorkingDays(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 15))).isEqualTo(10);
+        assertThat(calculator.countWorkingDays(LocalDate.of(2026, 3, 7), LocalDate.of(2026, 3, 8))).isZero();
+        assertThat(calculator.countWorkingDays(LocalDate.of(2026, 3, 3), LocalDate.of(2026, 3, 3))).isEqualTo(1);
+        assertThat(calculator.countWorkingDays(LocalDate.of(2026, 3, 3), LocalDate.of(2026, 3, 2))).isZero();
+    }
+
+    @Test
+    void skipsDatedAndYearlyHolidays() throws IOException {
+        VacationDayCalculator calculator = calculator("# Comment\n--12-25\n2026-12-28 # Bridge day\n\n--02-29\n");
+
+        // Monday 2026-12-21 to Friday 2027-01-01, without Christmas and the bridge day
+        assertThat(calculator.countWorkingDays(LocalDate.of(2026, 12, 21), LocalDate.of(2027, 1, 1))).isEqualTo(8);
+        assertThat(calculator.isWorkingDay(LocalDate.of(2026, 12, 25))).isFalse();
+        assertThat(calculator.isWorkingDay(LocalDate.of(2027, 12, 28))).isTrue();
+        assertThat(calculator.isWorkingDay(LocalDate.of(2028, 2, 29))).isFalse();
+        assertThat(calculator.isWorkingDay(LocalDate.of(2027, 3, 1))).isTrue();
+    }
+
+    @Test
+    void countsLikeALoopOverTheDays() throws IOException {
+        VacationDayCalculator calculator = calculator("--01-01\n--05-01\n2024-12-31\n2025-07-04\n");
+        LocalDate origin = LocalDate.of(2023, 12, 20);
+
+        for (int start = 0; start < 800; start += 7) {
+            for (int length = 0; length < 500; length += 13) {
+                LocalDate startDate = origin.plusDays(start);
+                LocalDate endDate = startDate.plusDays(length);
+                long expected = Stream.iterate(startDate, date -> !date.isAfter(endDate), date -> date.plusDays(1))
+                    .filter(calculator::isWorkingDay)
+                    .count();
+                assertThat(calculator.countWorkingDays(startDate, endDate)).as("%s to %s", startDate, endDate).isEqualTo((int) expected);
+            }
+        }
+    }
+
+    @Test
+    void usesTheConfiguredWeekend() throws IOException {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getVacation().setHolidayCalendar(calendar("").toUri().toString());
+        applicationProperties.getVacation().setWeekendDays(List.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+        VacationDayCalculator calculator = new VacationDayCalculator(applicationProperties, new DefaultResourceLoader());
+
+        // Sunday 2026-03-01 to Saturday 2026-03-07
+        assertThat(calculator.countWorkingDays(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 7))).isEqualTo(5);
+        assertThat(calculator.isWorkingDay(LocalDate.of(2026, 3, 1))).isTrue();
+        assertThat(calculator.isWorkingDay(LocalDate.of(2026, 3, 6))).isFalse();
+    }
+
+    @Test
+    void rejectsAnInvalidCalendar() throws IOException {
+        assertThatThrownBy(() -> calculator("2026-13-01\n")).isInstanceOf(IllegalStateException.class).hasMessageContaining("line 1");
+    }
+
+    @Test
+    void loadsTheDefaultCalendar() {
+        VacationDayCalculator calculator = new VacationDayCalculator(new ApplicationProperties(), new DefaultResourceLoader());
+
+        assertThat(calculator.isWorkingDay(LocalDate.of(2026, 1, 1))).isFalse();
+        assertThat(calculator.isWorkingDay(LocalDate.of(2026, 1, 2))).isTrue();
+    }
+
+    @Test
+    void cachesOnlyTheYearsNearTheCurrentOne() throws IOException {
+        VacationDayCalculator calculator = calculator("");
+        int currentYear = Year.now().getValue();
+
+        assertThat(calculator.countWorkingDays(LocalDate.of(currentYear - 100, 1, 1), LocalDate.of(currentYear + 100, 12, 31)))
+            .isPositive();
+        assertThat(calculator.getCachedYearCount()).isEqualTo(2 * 5 + 1);
+        assertThat(calculator.countWorkingDays(LocalDate.of(3000, 1, 1), LocalDate.of(3000, 1, 31))).isEqualTo(23);
+        assertThat(calculator.getCachedYearCount()).isEqualTo(2 * 5 + 1);
+    }
+
+    @Test
+    void checksTheVacationDates() throws IOException {
+        VacationDayCalculator calculator = calculator("");
+        LocalDate startDate = LocalDate.of(2026, 1, 1);
+
+        calculator.checkVacationDates(startDate, startDate);
+        calculator.checkVacationDates(startDate, startDate.plusDays(365));
+        assertThatThrownBy(() -> calculator.checkVacationDates(startDate, startDate.minusDays(1)))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "invaliddates");
+        assertThatThrownBy(() -> calculator.checkVacationDates(startDate, startDate.plusDays(366)))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "vacationtoolong");
+        assertThatThrownBy(() -> calculator.checkVacationDates(LocalDate.MIN, LocalDate.MAX)).isInstanceOf(BadRequestAlertException.class);
+    }
+
+    @Test
+    void countsBitsAcrossWords() {
+        long[] words = { -1L, -1L, 0L, 1L };
+
+        assertThat(VacationDayCalculator.countBits(words, 0, 256)).isEqualTo(129);
+        assertThat(VacationDayCalculator.countBits(words, 60, 70)).isEqualTo(10);
+        assertThat(VacationDayCalculator.countBits(words, 64, 128)).isEqualTo(64);
+        assertThat(VacationDayCalculator.countBits(words, 100, 193)).isEqualTo(29);
+        assertThat(VacationDayCalculator.countBits(words, 5, 5)).isZero();
+    }
+
+    private VacationDayCalculator calculator(String holidays) throws IOException {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getVacation().setHolidayCalendar(calendar(holidays).toUri().toString());
+        return new VacationDayCalculator(applicationProperties, new DefaultResourceLoader());
+    }
+
+    private Path calendar(String holidays) throws IOException {
+        return Files.writeString(Files.createTempFile(directory, "holidays", ".txt"), holidays);
+    }
+}
@@ -0,0 +1,150 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.VacationRequest;
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.domain.enumeration.VacationType;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.repository.VacationRequestRepository;
+import com.mycompany.myapp.service.dto.VacationRequestDTO;
+import com.mycompany.myapp.service.mapper.VacationRequestMapper;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link VacationLedgerService}, against the native upsert of the summary rows and the
+ * replay of the ledger on the real database.
+ */
+@IntegrationTest
+@Transactional
+class VacationLedgerServiceIT {
+
+    private static final LocalDate START_DATE = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private VacationLedgerService vacationLedgerService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    // The base service, behind PUT /api/vacation-requests/{id}
+    @Autowired
+    private VacationRequestService vacationRequestService;
+
+    @Autowired
+    private VacationRequestRepository vacationRequestRepository;
+
+    @Autowired
+    private VacationRequestMapper vacationRequestMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee employee;
+
+    @BeforeEach
+    void initTest() {
+        employee = employeeRepository.saveAndFlush(
+            new Employee()
+                .name("Ledger employee")
+                .email("vacation-ledger@example.com")
+                .userRole(DepartmentType.EMPLOYEE)
+                .createdAt(Instant.now())
+                .vacationBalance(25)
+        );
+    }
+
+    @Test
+    void addsToTheSummaryRowOfAKeyOnDuplicate() {
+        vacationLedgerService.recordVacations(
+            List.of(approvedVacation(1L, VacationType.ANNUAL, 3), approvedVacation(2L, VacationType.SICK, 1))
+        );
+        vacationLedgerService.recordVacations(List.of(approvedVacation(3L, VacationType.ANNUAL, 2)));
+        em.flush();
+
+        assertThat(vacationLedgerService.getTotals(START_DATE.getYear(), employee.getId(), null))
+            .containsEntry(VacationType.ANNUAL, 5L)
+            .containsEntry(VacationType.SICK, 1L);
+        assertThat(summaryRows()).isEqualTo(2);
+    }
+
+    @Test
+    void replaysTheBalanceAndTheSummaryRowsExactly() {
+        vacationLedgerService.recordOpeningBalance(employee.getId(), 20);
+        vacationLedgerService.recordAdjustment(employee.getId(), 20, 25);
+        vacationLedgerService.recordVacations(
+            List.of(
+                approvedVacation(1L, VacationType.ANNUAL, 3),
+                approvedVacation(2L, VacationType.ANNUAL, 2),
+                approvedVacation(3L, VacationType.SICK, 1)
+            )
+        );
+        em.flush();
+        // Lose the balance and the summary rows, the ledger alone must bring them back
+        jdbcTemplate.update("update employee set vacation_balance = 999 where id = ?", employee.getId());
+        jdbcTemplate.update("delete from vacation_day_summary where employee_id = ?", employee.getId());
+
+        assertThat(vacationLedgerService.replay()).isPositive();
+
+        assertThat(employeeRepository.findById(employee.getId()).orElseThrow().getVacationBalance()).isEqualTo(25 - 3 - 2 - 1);
+        assertThat(vacationLedgerService.getTotals(START_DATE.getYear(), employee.getId(), null))
+            .containsEntry(VacationType.ANNUAL, 5L)
+            .containsEntry(VacationType.SICK, 1L);
+        assertThat(summaryRows()).isEqualTo(2);
+    }
+
+    @Test
+    void recordsAVacationOnceWhenAnApprovedRequestIsSavedAgain() {
+        VacationRequest vacationRequest = vacationRequestRepository.saveAndFlush(
+            new VacationRequest()
+                .employee(employee)
+                .startDate(START_DATE)
+                .endDate(START_DATE.plusDays(2))
+                .type(VacationType.ANNUAL)
+                .status(Status.PENDING)
+                .createdAt(Instant.now())
+        );
+        VacationRequestDTO approval = vacationRequestMapper.toDto(vacationRequest);
+        approval.setStatus(Status.APPROVED);
+
+        vacationRequestService.update(approval);
+        vacationRequestService.update(approval);
+        em.flush();
+        em.clear();
+
+        // Three working days from Monday, counted once
+        assertThat(vacationLedgerService.getTotals(START_DATE.getYear(), employee.getId(), null))
+            .hasSize(1)
+            .containsEntry(VacationType.ANNUAL, 3L);
+        assertThat(employeeRepository.findById(employee.getId()).orElseThrow().getVacationBalance()).isEqualTo(25 - 3);
+    }
+
+    private VacationLedgerService.ApprovedVacation approvedVacation(Long id, VacationType type, int days) {
+        return new VacationLedgerService.ApprovedVacation(
+            new VacationRequest().id(id).employee(employee).startDate(START_DATE).endDate(START_DATE).type(type),
+            days
+        );
+    }
+
+    private Integer summaryRows() {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from vacation_day_summary where employee_id = ?",
+            Integer.class,
+            employee.getId()
+        );
+    }
+}
@@ -0,0 +1,104 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.VacationLedgerEntry;
+import com.mycompany.myapp.domain.VacationRequest;
+import com.mycompany.myapp.domain.enumeration.VacationLedgerEntryType;
+import com.mycompany.myapp.domain.enumeration.VacationType;
+import com.mycompany.myapp.repository.VacationDaySummaryRepository;
+import com.mycompany.myapp.repository.VacationDayTotal;
+import com.mycompany.myapp.repository.VacationLedgerEntryRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class VacationLedgerServiceTest {
+
+    private VacationLedgerEntryRepository vacationLedgerEntryRepository;
+
+    private VacationDaySummaryRepository vacationDaySummaryRepository;
+
+    private VacationLedgerService vacationLedgerService;
+
+    @BeforeEach
+    void setup() {
+        vacationLedgerEntryRepository = mock(VacationLedgerEntryRepository.class);
+        vacationDaySummaryRepository = mock(VacationDaySummaryRepository.class);
+        vacationLedgerService = new VacationLedgerService(vacationLedgerEntryRepository, vacationDaySummaryRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordsVacationsWithOneSummaryUpdatePerKey() {
+        Employee employee = new Employee().id(1L);
+        List<VacationLedgerService.ApprovedVacation> approvedVacations = List.of(
+            approvedVacation(10L, employee, LocalDate.of(2026, 3, 2), VacationType.ANNUAL, 3),
+            approvedVacation(11L, employee, LocalDate.of(2026, 5, 4), VacationType.ANNUAL, 2),
+            approvedVacation(12L, employee, LocalDate.of(2026, 6, 1), VacationType.SICK, 1),
+            approvedVacation(13L, employee, LocalDate.of(2025, 12, 31), VacationType.ANNUAL, 4)
+        );
+
+        vacationLedgerService.recordVacations(approvedVacations);
+
+        ArgumentCaptor<List<VacationLedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(vacationLedgerEntryRepository).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(VacationLedgerEntry::getVacationRequestId, VacationLedgerEntry::getYear, VacationLedgerEntry::getDays)
+            .containsExactly(tuple(10L, 2026, -3), tuple(11L, 2026, -2), tuple(12L, 2026, -1), tuple(13L, 2025, -4));
+        assertThat(captor.getValue()).allMatch(entry -> entry.getEntryType() == VacationLedgerEntryType.VACATION);
+        verify(vacationDaySummaryRepository).addDays(1L, 2026, "ANNUAL", 5);
+        verify(vacationDaySummaryRepository).addDays(1L, 2026, "SICK", 1);
+        verify(vacationDaySummaryRepository).addDays(1L, 2025, "ANNUAL", 4);
+        verifyNoMoreInteractions(vacationDaySummaryRepository);
+    }
+
+    @Test
+    void skipsAdjustmentsThatChangeNothing() {
+        vacationLedgerService.recordAdjustment(1L, 12, 12);
+        vacationLedgerService.recordAdjustment(1L, null, 0);
+
+        verify(vacationLedgerEntryRepository, never()).save(any());
+        verify(vacationDaySummaryRepository, never()).addDays(anyLong(), anyInt(), anyString(), anyInt());
+    }
+
+    @Test
+    void getsTotalsForEveryVacationType() {
+        VacationDayTotal annual = mock(VacationDayTotal.class);
+        when(annual.getVacationType()).thenReturn(VacationType.ANNUAL);
+        when(annual.getDays()).thenReturn(7L);
+        when(vacationDaySummaryRepository.sumByYear(2026)).thenReturn(List.of(annual));
+
+        Map<VacationType, Long> totals = vacationLedgerService.getTotals(2026, null, null);
+
+        assertThat(totals).hasSize(VacationType.values().length).containsEntry(VacationType.ANNUAL, 7L);
+        assertThat(totals.values()).containsOnly(0L, 7L);
+    }
+
+    private static VacationLedgerService.ApprovedVacation approvedVacation(
+        Long id,
+        Employee employee,
+        LocalDate startDate,
+        VacationType type,
+        int days
+    ) {
+        return new VacationLedgerService.ApprovedVacation(
+            new VacationRequest().id(id).employee(employee).startDate(startDate).endDate(startDate).type(type),
+            days
+        );
+    }
+}
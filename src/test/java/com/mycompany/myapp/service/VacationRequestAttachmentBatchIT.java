@@ -0,0 +1,170 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.domain.enumeration.DepartmentType;
+import com.mycompany.myapp.domain.enumeration.Status;
+import com.mycompany.myapp.domain.enumeration.VacationType;
+import com.mycompany.myapp.repository.statistics.SqlStatementCounter;
+import com.mycompany.myapp.service.dto.AttachmentDTO;
+import com.mycompany.myapp.service.dto.VacationRequestDTO;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the batched insert of the attachments of a new vacationRequest by
+ * {@link VacationRequestServiceExtension#save(VacationRequestDTO)}.
+ * <p>
+ * The benchmark comparing with one insert per attachment only runs when {@code -Dbenchmark.rows} is set, e.g.
+ * {@code ./mvnw verify -Dit.test=VacationRequestAttachmentBatchIT -Dbenchmark.rows=500}.
+ */
+@IntegrationTest
+@Transactional
+@WithMockUser(VacationRequestAttachmentBatchIT.LOGIN)
+class VacationRequestAttachmentBatchIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VacationRequestAttachmentBatchIT.class);
+
+    static final String LOGIN = "vacation-attachments";
+
+    private static final int ATTACHMENTS = 20;
+
+    private static final String OTHER_CHECKSUM = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Autowired
+    private VacationRequestServiceExtension vacationRequestServiceExtension;
+
+    @Autowired
+    private CurrentEmployeeService currentEmployeeService;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    void initTest() {
+        // The employee of the login is cached, and a new one is created for each test
+        currentEmployeeService.evictEmployeeId(LOGIN);
+        User user = new User();
+        user.setLogin(LOGIN);
+        user.setPassword(RandomStringUtils.insecure().nextAlphanumeric(60));
+        user.setActivated(true);
+        em.persist(user);
+        em.persist(
+            new Employee()
+                .name("Attaching employee")
+                .email("vacation-attachments@example.com")
+                .userRole(DepartmentType.EMPLOYEE)
+                .createdAt(Instant.now())
+                .vacationBalance(30)
+                .user(user)
+        );
+        em.flush();
+    }
+
+    @Test
+    void insertsTheAttachmentsInOneBatch() {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.begin();
+        VacationRequestDTO result;
+        try {
+            result = vacationRequestServiceExtension.save(vacationRequestWithAttachments(ATTACHMENTS));
+            em.flush();
+        } finally {
+            SqlStatementCounter.end();
+        }
+
+        assertThat(result.getAttachments()).hasSize(ATTACHMENTS).allSatisfy(attachment -> assertThat(attachment.getId()).isNotNull());
+        // The employee of the user, at most one sequence call, the vacationRequest and the batch of attachments
+        assertThat(counts.getStatements()).isLessThanOrEqualTo(4);
+        assertThat(counts.getMostRepeatedStatement()).hasValueSatisfying(statement -> assertThat(statement.getValue()).isEqualTo(1));
+    }
+
+    @Test
+    void ignoresTheChecksumsSentWithTheAttachments() {
+        VacationRequestDTO vacationRequest = vacationRequestWithAttachments(1);
+        // The checksum of another user's upload would otherwise give access to its content
+        vacationRequest.getAttachments().forEach(attachment -> attachment.setChecksum(OTHER_CHECKSUM));
+
+        VacationRequestDTO result = vacationRequestServiceExtension.save(vacationRequest);
+
+        assertThat(result.getAttachments()).singleElement().satisfies(attachment -> assertThat(attachment.getChecksum()).isNull());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+    void benchmarkAgainstOneInsertPerAttachment() {
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+        Session session = em.unwrap(Session.class);
+        Integer batchSize = session.getJdbcBatchSize();
+
+        // Warm up both before measuring
+        measure(rows / 10, 1);
+        measure(rows / 10, batchSize);
+
+        long[] former = measure(rows, 1);
+        long[] current = measure(rows, batchSize);
+        LOG.info(
+            "{} vacationRequests of {} attachments: one insert per attachment {} ms / {} statements, batched {} ms / {} statements",
+            rows,
+            ATTACHMENTS,
+            former[0],
+            former[1],
+            current[0],
+            current[1]
+        );
+        assertThat(current[1]).isLessThan(former[1]);
+    }
+
+    private long[] measure(int rows, Integer batchSize) {
+        Session session = em.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        em.clear();
+        SqlStatementCounter.Counts counts = SqlStatementCounter.begin();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < rows; i++) {
+                vacationRequestServiceExtension.save(vacationRequestWithAttachments(ATTACHMENTS));
+                em.flush();
+                em.clear();
+            }
+        } finally {
+            SqlStatementCounter.end();
+        }
+        return new long[] { (System.nanoTime() - start) / 1_000_000, counts.getStatements() };
+    }
+
+    private static VacationRequestDTO vacationRequestWithAttachments(int attachments) {
+        VacationRequestDTO vacationRequest = new VacationRequestDTO();
+        vacationRequest.setStartDate(LocalDate.of(2026, 3, 2));
+        vacationRequest.setEndDate(LocalDate.of(2026, 3, 6));
+        vacationRequest.setType(VacationType.ANNUAL);
+        vacationRequest.setStatus(Status.PENDING);
+        vacationRequest.setAttachments(
+            IntStream.range(0, attachments)
+                .mapToObj(i -> {
+                    AttachmentDTO attachment = new AttachmentDTO();
+                    attachment.setName("scan-" + i + ".pdf");
+                    attachment.setUrl("/files/scan-" + i + ".pdf");
+                    attachment.setFileSize(1024L);
+                    attachment.setContentType("application/pdf");
+                    return attachment;
+                })
+                .toList()
+        );
+        return vacationRequest;
+    }
+}
@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service.availability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class RoomAdmissionLocksTest {
+
+    private final RoomAdmissionLocks roomAdmissionLocks = new RoomAdmissionLocks();
+
+    @Test
+    void requiresTransactionSynchronization() {
+        assertThatThrownBy(() -> roomAdmissionLocks.lockUntilCompletion(1L)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void holdsLockUntilTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            roomAdmissionLocks.lockUntilCompletion(1L);
+            assertThat(roomAdmissionLocks.stripe(1L).isHeldByCurrentThread()).isTrue();
+
+            completeTransaction();
+
+            assertThat(roomAdmissionLocks.stripe(1L).isLocked()).isFalse();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void serializesAdmissionsForTheSameRoom() throws Exception {
+        int threads = 8;
+        int admissionsPerThread = 500;
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < admissionsPerThread; i++) {
+                            TransactionSynchronizationManager.initSynchronization();
+                            try {
+                                roomAdmissionLocks.lockUntilCompletion(42L);
+                                maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                                inside.decrementAndGet();
+                                completeTransaction();
+                            } finally {
+                                TransactionSynchronizationManager.clearSynchronization();
+                            }
+                        }
+                        return null;
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxInside.get()).isEqualTo(1);
+    }
+
+    @Test
+    void spreadsRoomsOverStripes() {
+        long distinct = LongStream.range(1, 257).mapToObj(roomAdmissionLocks::stripe).distinct().count();
+
+        assertThat(distinct).isEqualTo(256);
+    }
+
+    private static void completeTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
@@ -0,0 +1,134 @@
+package com.mycompany.myapp.service.availability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.repository.BookingRequestRepository;
+import com.mycompany.myapp.repository.BookingRequestSlot;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RoomAvailabilityIndexTest {
+
+    private static final Instant T0 = Instant.parse("2025-09-01T08:00:00Z");
+
+    private BookingRequestRepository bookingRequestRepository;
+
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @BeforeEach
+    void setup() {
+        bookingRequestRepository = mock(BookingRequestRepository.class);
+        roomAvailabilityIndex = new RoomAvailabilityIndex(bookingRequestRepository);
+    }
+
+    @Test
+    void fallsBackToDatabaseUntilLoaded() {
+        when(bookingRequestRepository.existsByMeetingRoomIdAndTimeOverlap(1L, at(0), at(60))).thenReturn(true);
+
+        assertThat(roomAvailabilityIndex.isReady()).isFalse();
+        assertThat(roomAvailabilityIndex.hasOverlap(1L, at(0), at(60))).isTrue();
+    }
+
+    @Test
+    void answersFromLoadedIntervals() {
+        when(bookingRequestRepository.findAllSlots()).thenReturn(List.of(slot(10L, 1L, 60, 120), slot(11L, 2L, 0, 30)));
+
+        roomAvailabilityIndex.load();
+
+        assertThat(roomAvailabilityIndex.isReady()).isTrue();
+        assertThat(roomAvailabilityIndex.hasOverlap(1L, at(90), at(150))).isTrue();
+        assertThat(roomAvailabilityIndex.hasOverlap(1L, at(0), at(60))).isFalse();
+        assertThat(roomAvailabilityIndex.hasOverlap(1L, at(120), at(180))).isFalse();
+        assertThat(roomAvailabilityIndex.hasOverlap(1L, at(90), at(100), 10L)).isFalse();
+        assertThat(roomAvailabilityIndex.hasOverlap(3L, at(0), at(1000))).isFalse();
+        verify(bookingRequestRepository, never()).existsByMeetingRoomIdAndTimeOverlap(anyLong(), any(), any());
+    }
+
+    @Test
+    void tracksSavedMovedAndDeletedBookings() {
+        when(bookingRequestRepository.findAllSlots()).thenReturn(List.of());
+        roomAvailabilityIndex.load();
+
+        roomAvailabilityIndex.put(20L, 1L, at(0), at(60));
+        assertThat(roomAvailabilityIndex.hasOverlap(1L, at(30), at(45))).isTrue();
+
+        roomAvailabilityIndex.put(20L, 2L, at(0), at(60));
+        assertThat(roomAvailabilityIndex.hasOverlap(1L, at(30), at(45))).isFalse();
+        assertThat(roomAvailabilityIndex.hasOverlap(2L, at(30), at(45))).isTrue();
+
+        roomAvailabilityIndex.remove(20L);
+        assertThat(roomAvailabilityIndex.hasOverlap(2L, at(30), at(45))).isFalse();
+    }
+
+    @Test
+    void findsOverlapHiddenBehindShorterIntervals() {
+        when(bookingRequestRepository.findAllSlots()).thenReturn(List.of(slot(1L, 1L, 0, 600), slot(2L, 1L, 10, 20)));
+
+        roomAvailabilityIndex.load();
+
+        assertThat(roomAvailabilityIndex.hasOverlap(1L, at(300), at(360))).isTrue();
+    }
+
+    @Test
+    void intervalTreeMatchesLinearScan() {
+        Random random = new Random(42);
+        BookingIntervalTree tree = new BookingIntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+        for (long id = 0; id < 2_000; id++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(500);
+            tree.insert(id, start, end);
+            intervals.add(new long[] { id, start, end });
+            if (random.nextInt(4) == 0) {
+                long[] removed = intervals.remove(random.nextInt(intervals.size()));
+                assertThat(tree.remove(removed[0], removed[1])).isTrue();
+            }
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+
+        for (int i = 0; i < 5_000; i++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(200);
+            boolean expected = intervals.stream().anyMatch(interval -> interval[1] < end && interval[2] > start);
+            assertThat(tree.overlaps(start, end, Long.MIN_VALUE)).isEqualTo(expected);
+        }
+    }
+
+    private static Instant at(long minutes) {
+        return T0.plusSeconds(minutes * 60);
+    }
+
+    private static BookingRequestSlot slot(Long id, Long roomId, long startMinutes, long endMinutes) {
+        return new BookingRequestSlot() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getMeetingRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public Instant getStartTime() {
+                return at(startMinutes);
+            }
+
+            @Override
+            public Instant getEndTime() {
+                return at(endMinutes);
+            }
+        };
+    }
+}
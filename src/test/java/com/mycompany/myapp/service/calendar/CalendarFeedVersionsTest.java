@@ -0,0 +1,99 @@
+package com.mycompany.myapp.service.calendar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.domain.VacationRequest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CalendarFeedVersionsTest {
+
+    private MutableClock clock;
+
+    private CalendarFeedVersions calendarFeedVersions;
+
+    @BeforeEach
+    void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCalendarFeed().setMaxStaleness(Duration.ofMinutes(15));
+        clock = new MutableClock(Instant.parse("2026-03-02T09:00:00Z"));
+        calendarFeedVersions = new CalendarFeedVersions(applicationProperties, clock);
+    }
+
+    @Test
+    void bumpsTheFeedsOfABooking() {
+        BookingRequest bookingRequest = new BookingRequest()
+            .employee(new Employee().id(1L))
+            .meetingRoom(new MeetingRoom().id(10L))
+            .addInvitedUsers(new Employee().id(2L));
+        String ownerTag = calendarFeedVersions.employeeTag(1L);
+        String invitedUserTag = calendarFeedVersions.employeeTag(2L);
+        String otherTag = calendarFeedVersions.employeeTag(3L);
+        String roomTag = calendarFeedVersions.roomTag(10L);
+
+        calendarFeedVersions.touchAfterCommit(bookingRequest);
+
+        assertThat(calendarFeedVersions.employeeTag(1L)).isNotEqualTo(ownerTag);
+        assertThat(calendarFeedVersions.employeeTag(2L)).isNotEqualTo(invitedUserTag);
+        assertThat(calendarFeedVersions.employeeTag(3L)).isEqualTo(otherTag);
+        assertThat(calendarFeedVersions.roomTag(10L)).isNotEqualTo(roomTag);
+    }
+
+    @Test
+    void bumpsTheFeedOfAVacation() {
+        String tag = calendarFeedVersions.employeeTag(1L);
+
+        calendarFeedVersions.touchAfterCommit(new VacationRequest().employee(new Employee().id(1L)));
+
+        assertThat(calendarFeedVersions.employeeTag(1L)).isNotEqualTo(tag);
+        assertThat(calendarFeedVersions.roomTag(1L)).isNotEqualTo(calendarFeedVersions.employeeTag(1L));
+    }
+
+    @Test
+    void keepsTheTagsWithinTheMaxStaleness() {
+        String tag = calendarFeedVersions.roomTag(10L);
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(calendarFeedVersions.roomTag(10L)).isEqualTo(tag);
+
+        clock.advance(Duration.ofMinutes(10));
+        assertThat(calendarFeedVersions.roomTag(10L)).isNotEqualTo(tag);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
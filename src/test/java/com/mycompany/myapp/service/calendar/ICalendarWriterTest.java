@@ -0,0 +1,46 @@
+package com.mycompany.myapp.service.calendar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class ICalendarWriterTest {
+
+    @Test
+    void writesAnEvent() {
+        String calendar = new ICalendarWriter()
+            .beginCalendar("Room 1")
+            .beginEvent("booking-1@goat", Instant.parse("2026-03-02T08:00:00Z"))
+            .dateTime("DTSTART", Instant.parse("2026-03-02T09:30:00Z"))
+            .date("DTEND", LocalDate.of(2026, 3, 3))
+            .text("SUMMARY", "Review; budget, plan\\\r\nnext")
+            .value("STATUS", "CONFIRMED")
+            .value("LOCATION", null)
+            .endEvent()
+            .endCalendar();
+
+        assertThat(calendar)
+            .startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n")
+            .contains("X-WR-CALNAME:Room 1\r\n")
+            .contains("BEGIN:VEVENT\r\nUID:booking-1@goat\r\nDTSTAMP:20260302T080000Z\r\nDTSTART:20260302T093000Z\r\n")
+            .contains("DTEND;VALUE=DATE:20260303\r\n")
+            .contains("SUMMARY:Review\\; budget\\, plan\\\\\\nnext\r\n")
+            .contains("STATUS:CONFIRMED\r\nEND:VEVENT\r\n")
+            .doesNotContain("LOCATION")
+            .endsWith("END:VCALENDAR\r\n");
+    }
+
+    @Test
+    void foldsLongLinesWithoutSplittingCharacters() {
+        String summary = "é".repeat(100);
+        String calendar = new ICalendarWriter().beginEvent("booking-1@goat", Instant.EPOCH).text("SUMMARY", summary).endCalendar();
+
+        for (String line : calendar.split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+        }
+        assertThat(calendar.replace("\r\n ", "")).contains("SUMMARY:" + summary + "\r\n");
+    }
+}
@@ -0,0 +1,161 @@
+package com.mycompany.myapp.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+class MailDispatcherTest {
+
+    private JavaMailSender javaMailSender;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private MailDispatcher mailDispatcher;
+
+    @BeforeEach
+    void setup() {
+        javaMailSender = mock(JavaMailSender.class);
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getMailDispatch().setWorkers(1);
+        applicationProperties.getMailDispatch().setBatchSize(10);
+        applicationProperties.getMailDispatch().setLinger(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        mailDispatcher.stop();
+    }
+
+    @Test
+    void sendsQueuedMailsInBatches() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch sent = new CountDownLatch(25);
+        doAnswer(invocation -> {
+            batchSizes.add(invocation.getArguments().length);
+            for (int i = 0; i < invocation.getArguments().length; i++) {
+                sent.countDown();
+            }
+            return null;
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+        start();
+
+        List<CompletableFuture<Void>> deliveries = mailDispatcher.dispatch(messages(25));
+
+        assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        mailDispatcher.stop();
+        assertThat(batchSizes).containsExactly(10, 10, 5);
+        assertThat(meterRegistry.get(MailDispatcher.BATCH_SIZE_METER_NAME).summary().totalAmount()).isEqualTo(25);
+        assertThat(meterRegistry.get(MailDispatcher.SEND_LATENCY_METER_NAME).timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsMailsWhenQueueStaysFull() throws InterruptedException {
+        applicationProperties.getMailDispatch().setQueueCapacity(2);
+        applicationProperties.getMailDispatch().setBatchSize(1);
+        applicationProperties.getMailDispatch().setOfferTimeout(Duration.ofMillis(20));
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return null;
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+        start();
+
+        mailDispatcher.dispatch(messages(1));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<Void>> deliveries = mailDispatcher.dispatch(messages(4));
+        release.countDown();
+
+        assertThat(deliveries).filteredOn(CompletableFuture::isCompletedExceptionally).hasSize(2);
+        assertThatThrownBy(() -> deliveries.get(3).join()).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get(MailDispatcher.REJECTED_METER_NAME).counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(MailDispatcher.QUEUE_DEPTH_METER_NAME).gauge()).isNotNull();
+    }
+
+    @Test
+    void waitsForTheQueueOnceForAllTheMailsOfADispatch() throws InterruptedException {
+        applicationProperties.getMailDispatch().setQueueCapacity(1);
+        applicationProperties.getMailDispatch().setBatchSize(1);
+        applicationProperties.getMailDispatch().setOfferTimeout(Duration.ofMillis(200));
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return null;
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+        start();
+
+        mailDispatcher.dispatch(messages(1));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> deliveries = mailDispatcher.dispatch(messages(10));
+        long elapsed = System.nanoTime() - start;
+        release.countDown();
+
+        // One offer timeout for the dispatch, not one per mail
+        assertThat(Duration.ofNanos(elapsed)).isLessThan(Duration.ofSeconds(1));
+        assertThat(deliveries).filteredOn(CompletableFuture::isCompletedExceptionally).hasSize(9);
+    }
+
+    @Test
+    void failsOnlyTheMailsRefusedByTheServer() {
+        List<MimeMessage> messages = messages(3);
+        doAnswer(invocation -> {
+            throw new MailSendException(Map.<Object, Exception>of(messages.get(1), new MessagingException("Mailbox unavailable")));
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+        start();
+
+        List<CompletableFuture<Void>> deliveries = mailDispatcher.dispatch(messages);
+
+        assertThat(deliveries.get(0)).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(deliveries.get(1)).failsWithin(Duration.ofSeconds(5));
+        assertThat(deliveries.get(2)).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(meterRegistry.get(MailDispatcher.FAILED_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    private void start() {
+        mailDispatcher = new MailDispatcher(javaMailSender, applicationProperties, meterRegistry);
+        mailDispatcher.start();
+    }
+
+    private static List<MimeMessage> messages(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new MimeMessage((Session) null)).toList();
+    }
+}
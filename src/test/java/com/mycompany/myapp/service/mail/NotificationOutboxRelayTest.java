@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.NotificationOutbox;
+import com.mycompany.myapp.service.MailService;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+
+class NotificationOutboxRelayTest {
+
+    private NotificationOutboxService notificationOutboxService;
+
+    private MailService mailService;
+
+    private MailDispatcher mailDispatcher;
+
+    private NotificationOutboxRelay notificationOutboxRelay;
+
+    @BeforeEach
+    void setup() throws Exception {
+        notificationOutboxService = mock(NotificationOutboxService.class);
+        mailService = mock(MailService.class);
+        mailDispatcher = mock(MailDispatcher.class);
+        when(mailService.createMimeMessage(anyString(), anyString(), anyString(), anyBoolean(), anyBoolean())).thenAnswer(invocation ->
+            new MimeMessage((Session) null)
+        );
+        notificationOutboxRelay = new NotificationOutboxRelay(
+            notificationOutboxService,
+            mailService,
+            mailDispatcher,
+            new ApplicationProperties()
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void marksDeliveredNotificationsAsSentAndReschedulesFailures() throws Exception {
+        when(notificationOutboxService.claimDue()).thenReturn(List.of(notification(1L), notification(2L)));
+        when(mailDispatcher.dispatch(anyList())).thenReturn(
+            List.of(CompletableFuture.completedFuture(null), CompletableFuture.failedFuture(new MailSendException("Mailbox unavailable")))
+        );
+
+        notificationOutboxRelay.relay();
+
+        ArgumentCaptor<List<MimeMessage>> messages = ArgumentCaptor.forClass(List.class);
+        verify(mailDispatcher).dispatch(messages.capture());
+        assertThat(messages.getValue().get(0).getHeader(NotificationOutboxRelay.IDEMPOTENCY_KEY_HEADER)).containsExactly("key-1");
+        verify(notificationOutboxService).markSent(List.of(1L));
+        verify(notificationOutboxService).markFailed(2L, "Mailbox unavailable");
+    }
+
+    @Test
+    void reschedulesNotificationsNotSentBeforeTheirLeaseExpires() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getNotificationOutbox().setLease(Duration.ofMillis(10));
+        notificationOutboxRelay = new NotificationOutboxRelay(
+            notificationOutboxService,
+            mailService,
+            mailDispatcher,
+            applicationProperties
+        );
+        when(notificationOutboxService.claimDue()).thenReturn(List.of(notification(1L)));
+        when(mailDispatcher.dispatch(anyList())).thenReturn(List.of(new CompletableFuture<>()));
+
+        notificationOutboxRelay.relay();
+
+        verify(notificationOutboxService).markFailed(eq(1L), anyString());
+        verify(notificationOutboxService).markSent(List.of());
+    }
+
+    private static NotificationOutbox notification(Long id) {
+        return new NotificationOutbox()
+            .id(id)
+            .idempotencyKey("key-" + id)
+            .recipient("user" + id + "@example.com")
+            .subject("subject")
+            .content("content");
+    }
+}
@@ -0,0 +1,131 @@
+package com.mycompany.myapp.service.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.NotificationOutbox;
+import com.mycompany.myapp.domain.enumeration.OutboxStatus;
+import com.mycompany.myapp.repository.NotificationOutboxRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class NotificationOutboxServiceTest {
+
+    private static final Instant CHANGED_AT = Instant.parse("2026-03-02T10:15:30Z");
+
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private NotificationOutboxService notificationOutboxService;
+
+    @BeforeEach
+    void setup() {
+        notificationOutboxRepository = mock(NotificationOutboxRepository.class);
+        applicationProperties = new ApplicationProperties();
+        notificationOutboxService = new NotificationOutboxService(notificationOutboxRepository, applicationProperties);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueuesOneNotificationPerNewRecipient() {
+        String alreadyQueued = idempotencyKey("BookingRequest", "APPROVED", CHANGED_AT, "bob@example.com");
+        when(notificationOutboxRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(Set.of(alreadyQueued));
+
+        int queued = notificationOutboxService.enqueue(
+            "BookingRequest",
+            1L,
+            "APPROVED",
+            CHANGED_AT,
+            List.of("alice@example.com", "Alice@Example.com", "bob@example.com"),
+            "subject",
+            "content"
+        );
+
+        ArgumentCaptor<List<NotificationOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationOutboxRepository).saveAll(captor.capture());
+        assertThat(queued).isEqualTo(1);
+        assertThat(captor.getValue())
+            .singleElement()
+            .satisfies(notification -> {
+                assertThat(notification.getRecipient()).isEqualTo("alice@example.com");
+                assertThat(notification.getStatus()).isEqualTo(OutboxStatus.PENDING);
+                assertThat(notification.getAttempts()).isZero();
+                assertThat(notification.getIdempotencyKey()).hasSize(64);
+            });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueuesManyNotificationsWithOneLookup() {
+        when(notificationOutboxRepository.findExistingIdempotencyKeys(anyCollection())).thenReturn(Set.of());
+
+        List<String> recipients = List.of("alice@example.com");
+        int queued = notificationOutboxService.enqueueAll(
+            List.of(
+                new NotificationOutboxService.Notification("VacationRequest", 1L, "APPROVED", CHANGED_AT, recipients, "s", "c"),
+                new NotificationOutboxService.Notification("VacationRequest", 2L, "APPROVED", CHANGED_AT, recipients, "s", "c")
+            )
+        );
+
+        ArgumentCaptor<List<NotificationOutbox>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationOutboxRepository).findExistingIdempotencyKeys(anyCollection());
+        verify(notificationOutboxRepository).saveAll(captor.capture());
+        assertThat(queued).isEqualTo(2);
+        assertThat(captor.getValue()).extracting(NotificationOutbox::getAggregateId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void idempotencyKeyDependsOnEventChangeAndRecipient() {
+        String key = idempotencyKey("BookingRequest", "APPROVED", CHANGED_AT, "alice@example.com");
+
+        assertThat(idempotencyKey("BookingRequest", "APPROVED", CHANGED_AT, " ALICE@example.com")).isEqualTo(key);
+        assertThat(idempotencyKey("BookingRequest", "REJECTED", CHANGED_AT, "alice@example.com")).isNotEqualTo(key);
+        assertThat(idempotencyKey("VacationRequest", "APPROVED", CHANGED_AT, "alice@example.com")).isNotEqualTo(key);
+        // Approved again after going back to pending
+        assertThat(idempotencyKey("BookingRequest", "APPROVED", CHANGED_AT.plusSeconds(60), "alice@example.com")).isNotEqualTo(key);
+    }
+
+    @Test
+    void reschedulesFailedDeliveryWithBackoffThenGivesUp() {
+        applicationProperties.getNotificationOutbox().setMaxAttempts(2);
+        NotificationOutbox notification = new NotificationOutbox()
+            .id(1L)
+            .status(OutboxStatus.PENDING)
+            .attempts(1)
+            .nextAttemptAt(Instant.EPOCH);
+        when(notificationOutboxRepository.findById(1L)).thenReturn(Optional.of(notification));
+
+        notificationOutboxService.markFailed(1L, "Connection refused");
+
+        assertThat(notification.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(notification.getNextAttemptAt()).isAfter(Instant.now().plusSeconds(20));
+        assertThat(notification.getLastError()).isEqualTo("Connection refused");
+
+        notification.attempts(2);
+        notificationOutboxService.markFailed(1L, "Connection refused");
+
+        assertThat(notification.getStatus()).isEqualTo(OutboxStatus.FAILED);
+    }
+
+    @Test
+    void retryBackoffGrowsExponentiallyUpToOneHour() {
+        assertThat(notificationOutboxService.retryBackoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(notificationOutboxService.retryBackoff(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(notificationOutboxService.retryBackoff(30)).isEqualTo(Duration.ofHours(1));
+    }
+
+    private static String idempotencyKey(String aggregateType, String event, Instant changedAt, String recipient) {
+        return NotificationOutboxService.idempotencyKey(aggregateType, 1L, event, changedAt, recipient);
+    }
+}
@@ -0,0 +1,181 @@
+package com.mycompany.myapp.service.occupancy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.domain.MeetingRoom;
+import com.mycompany.myapp.domain.enumeration.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class RoomOccupancyHubTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private RoomOccupancyHub roomOccupancyHub;
+
+    @BeforeEach
+    void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getOccupancyStream().setBufferSize(4);
+        applicationProperties.getOccupancyStream().setSenderThreads(1);
+        meterRegistry = new SimpleMeterRegistry();
+        roomOccupancyHub = new RoomOccupancyHub(applicationProperties, JsonMapper.builder().findAndAddModules().build(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        roomOccupancyHub.stop();
+    }
+
+    @Test
+    void sendsChangesToTheStreamsFollowingTheirRoom() throws Exception {
+        // Each stream first gets the subscription comment
+        CountDownLatch sent = new CountDownLatch(5);
+        List<String> room1Events = new CopyOnWriteArrayList<>();
+        List<String> room2Events = new CopyOnWriteArrayList<>();
+        List<String> allEvents = new CopyOnWriteArrayList<>();
+        roomOccupancyHub.subscribe(Set.of(1L), recordingEmitter(room1Events, sent));
+        roomOccupancyHub.subscribe(Set.of(2L), recordingEmitter(room2Events, sent));
+        roomOccupancyHub.subscribe(Set.of(), recordingEmitter(allEvents, sent));
+
+        roomOccupancyHub.bookedAfterCommit(bookingRequest(10L, 1L));
+
+        assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(room1Events.get(1)).contains("event:" + RoomOccupancyHub.EVENT_NAME).contains("\"type\":\"BOOKED\"");
+        assertThat(room1Events.get(1)).contains("\"bookingRequestId\":10").contains("\"roomId\":1");
+        assertThat(allEvents.get(1)).isEqualTo(room1Events.get(1));
+        assertThat(room2Events).hasSize(1).allMatch(event -> event.startsWith(":subscribed"));
+    }
+
+    @Test
+    void releasesTheRoomABookingMovedFrom() throws Exception {
+        CountDownLatch sent = new CountDownLatch(4);
+        List<String> room1Events = new CopyOnWriteArrayList<>();
+        List<String> room2Events = new CopyOnWriteArrayList<>();
+        roomOccupancyHub.subscribe(Set.of(1L), recordingEmitter(room1Events, sent));
+        roomOccupancyHub.subscribe(Set.of(2L), recordingEmitter(room2Events, sent));
+
+        roomOccupancyHub.changedAfterCommit(1L, bookingRequest(10L, 2L));
+
+        assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(room1Events.get(1)).contains("\"type\":\"RELEASED\"").contains("\"roomId\":1");
+        assertThat(room2Events.get(1)).contains("\"type\":\"BOOKED\"").contains("\"roomId\":2");
+    }
+
+    @Test
+    void evictsAStreamThatFallsBehind() throws Exception {
+        CountDownLatch stalled = new CountDownLatch(1);
+        SseEmitter slowEmitter = mock(SseEmitter.class);
+        doAnswer(invocation -> stalled.await(5, TimeUnit.SECONDS)).when(slowEmitter).send(anySet());
+        roomOccupancyHub.subscribe(Set.of(), slowEmitter);
+
+        // The sender thread is blocked on the slow stream while its buffer fills up
+        for (long id = 1; id <= 10; id++) {
+            roomOccupancyHub.bookedAfterCommit(bookingRequest(id, 1L));
+        }
+        stalled.countDown();
+
+        verify(slowEmitter, timeout(5000)).complete();
+        assertThat(meterRegistry.get(RoomOccupancyHub.EVICTED_METER_NAME).counter().count()).isEqualTo(1);
+        assertThat(roomOccupancyHub.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void evictsAStalledStreamSoThatTheOthersAreServed() throws Exception {
+        applicationProperties.getOccupancyStream().setSendTimeout(Duration.ofMillis(50));
+        roomOccupancyHub.stop();
+        roomOccupancyHub = new RoomOccupancyHub(applicationProperties, JsonMapper.builder().findAndAddModules().build(), meterRegistry);
+        CountDownLatch blocked = new CountDownLatch(1);
+        SseEmitter stalledEmitter = mock(SseEmitter.class);
+        // A client that stops reading: the write only ends when its thread is interrupted
+        doAnswer(invocation -> {
+            blocked.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return null;
+        })
+            .when(stalledEmitter)
+            .send(anySet());
+        roomOccupancyHub.subscribe(Set.of(), stalledEmitter);
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The only sender thread is blocked on the stalled stream
+        CountDownLatch sent = new CountDownLatch(2);
+        List<String> events = new CopyOnWriteArrayList<>();
+        roomOccupancyHub.subscribe(Set.of(1L), recordingEmitter(events, sent));
+        roomOccupancyHub.bookedAfterCommit(bookingRequest(10L, 1L));
+        assertThat(sent.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+        roomOccupancyHub.evictStalled();
+
+        assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(events.get(1)).contains("\"bookingRequestId\":10");
+        verify(stalledEmitter, timeout(5000)).complete();
+        assertThat(meterRegistry.get(RoomOccupancyHub.EVICTED_METER_NAME).counter().count()).isEqualTo(1);
+        assertThat(roomOccupancyHub.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsStreamsBeyondTheLimit() {
+        applicationProperties.getOccupancyStream().setMaxSubscribers(1);
+        applicationProperties.getOccupancyStream().setTimeout(Duration.ofMinutes(1));
+        roomOccupancyHub.subscribe(Set.of());
+
+        assertThatThrownBy(() -> roomOccupancyHub.subscribe(Set.of()))
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("503");
+    }
+
+    private static SseEmitter recordingEmitter(List<String> events, CountDownLatch sent) throws IOException {
+        SseEmitter emitter = mock(SseEmitter.class);
+        doAnswer(invocation -> {
+            Set<ResponseBodyEmitter.DataWithMediaType> event = invocation.getArgument(0);
+            events.add(event.stream().map(data -> data.getData().toString()).collect(Collectors.joining()));
+            sent.countDown();
+            return null;
+        })
+            .when(emitter)
+            .send(anySet());
+        return emitter;
+    }
+
+    private static BookingRequest bookingRequest(Long id, Long roomId) {
+        Instant start = Instant.parse("2026-03-02T09:00:00Z");
+        return new BookingRequest()
+            .id(id)
+            .meetingRoom(new MeetingRoom().id(roomId))
+            .startTime(start)
+            .endTime(start.plus(Duration.ofHours(1)))
+            .status(Status.APPROVED);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mycompany.myapp.service.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+class ContinuationTokensTest {
+
+    private static final Map<String, Function<String, ?>> KEYS = Map.of("startTime", Instant::parse, "id", Long::valueOf);
+
+    @Test
+    void decodesEncodedPosition() {
+        KeysetScrollPosition position = position(Instant.parse("2025-09-01T08:30:00Z"), 42L);
+
+        KeysetScrollPosition decoded = ContinuationTokens.decode(ContinuationTokens.encode(position), KEYS, "bookingRequest");
+
+        assertThat(decoded.getKeys()).containsExactlyEntriesOf(position.getKeys());
+        assertThat(decoded.scrollsForward()).isTrue();
+    }
+
+    @Test
+    void decodesMissingTokenAsInitialPosition() {
+        assertThat(ContinuationTokens.decode(null, KEYS, "bookingRequest").isInitial()).isTrue();
+        assertThat(ContinuationTokens.decode(" ", KEYS, "bookingRequest").isInitial()).isTrue();
+    }
+
+    @Test
+    void rejectsForeignTokens() {
+        String missingKey = ContinuationTokens.encode(ScrollPosition.forward(Map.of("id", 42L)));
+        String unknownKey = ContinuationTokens.encode(ScrollPosition.forward(Map.of("startTime", "2025-09-01T08:30:00Z", "name", "x")));
+        String badValue = ContinuationTokens.encode(ScrollPosition.forward(Map.of("startTime", "yesterday", "id", 42L)));
+
+        for (String token : List.of("not base64!", missingKey, unknownKey, badValue)) {
+            assertThatThrownBy(() -> ContinuationTokens.decode(token, KEYS, "bookingRequest"))
+                .isInstanceOf(BadRequestAlertException.class)
+                .extracting("errorKey")
+                .isEqualTo("invalidcontinuationtoken");
+        }
+    }
+
+    @Test
+    void givesTokenOfLastElementOnlyWhenThereIsANextWindow() {
+        List<Long> ids = List.of(1L, 2L);
+        Window<Long> last = Window.from(ids, index -> position(Instant.EPOCH, ids.get(index)), false);
+        Window<Long> notLast = Window.from(ids, index -> position(Instant.EPOCH, ids.get(index)), true);
+
+        assertThat(ContinuationTokens.next(last)).isEmpty();
+        assertThat(ContinuationTokens.next(notLast)).contains(ContinuationTokens.encode(position(Instant.EPOCH, 2L)));
+    }
+
+    private static KeysetScrollPosition position(Instant startTime, Long id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("startTime", startTime);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+}
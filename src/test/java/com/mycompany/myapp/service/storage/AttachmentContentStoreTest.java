@@ -0,0 +1,83 @@
+package com.mycompany.myapp.service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AttachmentContentStoreTest {
+
+    // SHA-256 of "hello"
+    private static final String HELLO_CHECKSUM = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    private Path directory;
+
+    private AttachmentContentStore attachmentContentStore;
+
+    @BeforeEach
+    void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getAttachmentStore().setDirectory(directory.toString());
+        attachmentContentStore = new AttachmentContentStore(applicationProperties);
+    }
+
+    @Test
+    void storesAContentUnderItsChecksum() throws Exception {
+        AttachmentContentStore.StoredContent storedContent = attachmentContentStore.store(content("hello"));
+
+        assertThat(storedContent.checksum()).isEqualTo(HELLO_CHECKSUM);
+        assertThat(storedContent.size()).isEqualTo(5);
+        assertThat(storedContent.deduplicated()).isFalse();
+        assertThat(attachmentContentStore.find(HELLO_CHECKSUM)).hasValueSatisfying(file ->
+            assertThat(file).hasContent("hello").isEqualTo(directory.resolve("2c/f2/" + HELLO_CHECKSUM))
+        );
+        assertThat(directory.resolve("incoming")).isEmptyDirectory();
+    }
+
+    @Test
+    void storesAContentLargerThanATransferOnce() throws Exception {
+        byte[] bytes = new byte[20 * 1024 * 1024 + 3];
+        new Random(42).nextBytes(bytes);
+
+        AttachmentContentStore.StoredContent storedContent = attachmentContentStore.store(new ByteArrayInputStream(bytes));
+
+        assertThat(storedContent.size()).isEqualTo(bytes.length);
+        assertThat(attachmentContentStore.find(storedContent.checksum())).hasValueSatisfying(file ->
+            assertThat(file).hasBinaryContent(bytes)
+        );
+    }
+
+    @Test
+    void storesTheSameContentOnce() throws Exception {
+        attachmentContentStore.store(content("hello"));
+
+        AttachmentContentStore.StoredContent storedContent = attachmentContentStore.store(content("hello"));
+
+        assertThat(storedContent.checksum()).isEqualTo(HELLO_CHECKSUM);
+        assertThat(storedContent.deduplicated()).isTrue();
+        assertThat(directory.resolve("incoming")).isEmptyDirectory();
+    }
+
+    @Test
+    void findsNothingForAMalformedChecksum() throws Exception {
+        attachmentContentStore.store(content("hello"));
+        Files.writeString(directory.resolve("incoming/secret"), "secret");
+
+        assertThat(attachmentContentStore.find(null)).isEmpty();
+        assertThat(attachmentContentStore.find("../incoming/secret")).isEmpty();
+        assertThat(attachmentContentStore.find(HELLO_CHECKSUM.toUpperCase())).isEmpty();
+        assertThat(attachmentContentStore.find(HELLO_CHECKSUM.replace('2', '3'))).isEmpty();
+    }
+
+    private static ByteArrayInputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.repository.statistics.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class SqlStatisticsFilterTest {
+
+    private static final String PATTERN = "/api/booking-requests/{id}";
+
+    private final SqlStatementCounter sqlStatementCounter = new SqlStatementCounter();
+
+    private MeterRegistry meterRegistry;
+
+    private SqlStatisticsFilter sqlStatisticsFilter;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        sqlStatisticsFilter = new SqlStatisticsFilter(meterRegistry, 3);
+    }
+
+    @Test
+    void countsTheStatementsAndEntityLoadsOfARequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/booking-requests/1");
+
+        sqlStatisticsFilter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+            servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATTERN);
+            sqlStatementCounter.inspect("select * from booking_request where id=?");
+            sqlStatementCounter.onLoad(new Object(), (Object) 1L, null, null, null);
+            for (int i = 0; i < 3; i++) {
+                sqlStatementCounter.inspect("select * from employee where id=?");
+                sqlStatementCounter.onLoad(new Object(), (Object) i, null, null, null);
+            }
+        });
+
+        SqlStatementCounter.Counts counts = (SqlStatementCounter.Counts) request.getAttribute(SqlStatisticsFilter.COUNTS_ATTRIBUTE);
+        assertThat(counts.getStatements()).isEqualTo(4);
+        assertThat(counts.getEntityLoads()).isEqualTo(4);
+        assertThat(counts.getMostRepeatedStatement()).hasValueSatisfying(repeated -> {
+            assertThat(repeated.getKey()).contains("employee");
+            assertThat(repeated.getValue()).isEqualTo(3);
+        });
+        assertThat(summary(SqlStatisticsFilter.STATEMENTS_METER_NAME, PATTERN).totalAmount()).isEqualTo(4);
+        assertThat(summary(SqlStatisticsFilter.ENTITY_LOADS_METER_NAME, PATTERN).totalAmount()).isEqualTo(4);
+    }
+
+    @Test
+    void ignoresStatementsOutsideOfARequest() throws Exception {
+        sqlStatementCounter.inspect("select 1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/unknown");
+
+        sqlStatisticsFilter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {});
+
+        SqlStatementCounter.Counts counts = (SqlStatementCounter.Counts) request.getAttribute(SqlStatisticsFilter.COUNTS_ATTRIBUTE);
+        assertThat(counts.getStatements()).isZero();
+        assertThat(counts.getMostRepeatedStatement()).isEmpty();
+        assertThat(summary(SqlStatisticsFilter.STATEMENTS_METER_NAME, "UNKNOWN").count()).isEqualTo(1);
+    }
+
+    private DistributionSummary summary(String name, String uri) {
+        return meterRegistry.get(name).tag("method", "GET").tag("uri", uri).summary();
+    }
+}
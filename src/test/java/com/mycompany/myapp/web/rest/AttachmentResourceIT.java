@@ -23,7 +23,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -51,6 +53,9 @@ class AttachmentResourceIT {
     private static final Instant DEFAULT_UPLOADED_AT = Instant.ofEpochMilli(0L);
     private static final Instant UPDATED_UPLOADED_AT = Instant.now().truncatedTo(ChronoUnit.MILLIS);
 
+    private static final String DEFAULT_CHECKSUM = "AAAAAAAAAA";
+    private static final String UPDATED_CHECKSUM = "BBBBBBBBBB";
+
     private static final String ENTITY_API_URL = "/api/attachments";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -88,7 +93,8 @@ class AttachmentResourceIT {
             .url(DEFAULT_URL)
             .fileSize(DEFAULT_FILE_SIZE)
             .contentType(DEFAULT_CONTENT_TYPE)
-            .uploadedAt(DEFAULT_UPLOADED_AT);
+            .uploadedAt(DEFAULT_UPLOADED_AT)
+            .checksum(DEFAULT_CHECKSUM);
     }
 
     /**
@@ -103,7 +109,8 @@ class AttachmentResourceIT {
             .url(UPDATED_URL)
             .fileSize(UPDATED_FILE_SIZE)
             .contentType(UPDATED_CONTENT_TYPE)
-            .uploadedAt(UPDATED_UPLOADED_AT);
+            .uploadedAt(UPDATED_UPLOADED_AT)
+            .checksum(UPDATED_CHECKSUM);
     }
 
     @BeforeEach
@@ -211,7 +218,8 @@ class AttachmentResourceIT {
             .andExpect(jsonPath("$.[*].url").value(hasItem(DEFAULT_URL)))
             .andExpect(jsonPath("$.[*].fileSize").value(hasItem(DEFAULT_FILE_SIZE.intValue())))
             .andExpect(jsonPath("$.[*].contentType").value(hasItem(DEFAULT_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].uploadedAt").value(hasItem(DEFAULT_UPLOADED_AT.toString())));
+            .andExpect(jsonPath("$.[*].uploadedAt").value(hasItem(DEFAULT_UPLOADED_AT.toString())))
+            .andExpect(jsonPath("$.[*].checksum").value(hasItem(DEFAULT_CHECKSUM)));
     }
 
     @Test
@@ -230,7 +238,8 @@ class AttachmentResourceIT {
             .andExpect(jsonPath("$.url").value(DEFAULT_URL))
             .andExpect(jsonPath("$.fileSize").value(DEFAULT_FILE_SIZE.intValue()))
             .andExpect(jsonPath("$.contentType").value(DEFAULT_CONTENT_TYPE))
-            .andExpect(jsonPath("$.uploadedAt").value(DEFAULT_UPLOADED_AT.toString()));
+            .andExpect(jsonPath("$.uploadedAt").value(DEFAULT_UPLOADED_AT.toString()))
+            .andExpect(jsonPath("$.checksum").value(DEFAULT_CHECKSUM));
     }
 
     @Test
@@ -257,7 +266,8 @@ class AttachmentResourceIT {
             .url(UPDATED_URL)
             .fileSize(UPDATED_FILE_SIZE)
             .contentType(UPDATED_CONTENT_TYPE)
-            .uploadedAt(UPDATED_UPLOADED_AT);
+            .uploadedAt(UPDATED_UPLOADED_AT)
+            .checksum(UPDATED_CHECKSUM);
         AttachmentDTO attachmentDTO = attachmentMapper.toDto(updatedAttachment);
 
         restAttachmentMockMvc
@@ -270,7 +280,8 @@ class AttachmentResourceIT {
 
         // Validate the Attachment in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertPersistedAttachmentToMatchAllProperties(updatedAttachment);
+        // Only an upload sets the checksum, the one sent is ignored
+        assertPersistedAttachmentToMatchAllProperties(updatedAttachment.checksum(DEFAULT_CHECKSUM));
     }
 
     @Test
@@ -388,7 +399,8 @@ class AttachmentResourceIT {
             .url(UPDATED_URL)
             .fileSize(UPDATED_FILE_SIZE)
             .contentType(UPDATED_CONTENT_TYPE)
-            .uploadedAt(UPDATED_UPLOADED_AT);
+            .uploadedAt(UPDATED_UPLOADED_AT)
+            .checksum(UPDATED_CHECKSUM);
 
         restAttachmentMockMvc
             .perform(
@@ -401,7 +413,11 @@ class AttachmentResourceIT {
         // Validate the Attachment in the database
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertAttachmentUpdatableFieldsEquals(partialUpdatedAttachment, getPersistedAttachment(partialUpdatedAttachment));
+        // Only an upload sets the checksum, the one sent is ignored
+        assertAttachmentUpdatableFieldsEquals(
+            partialUpdatedAttachment.checksum(DEFAULT_CHECKSUM),
+            getPersistedAttachment(partialUpdatedAttachment)
+        );
     }
 
     @Test
@@ -466,6 +482,88 @@ class AttachmentResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void uploadAttachment() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        MockMultipartFile file = new MockMultipartFile("file", "notes.txt", MediaType.TEXT_PLAIN_VALUE, "hello".getBytes());
+
+        var returnedAttachmentDTO = om.readValue(
+            restAttachmentMockMvc
+                .perform(multipart(ENTITY_API_URL + "/upload").file(file))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            AttachmentDTO.class
+        );
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        assertThat(returnedAttachmentDTO.getName()).isEqualTo("notes.txt");
+        assertThat(returnedAttachmentDTO.getFileSize()).isEqualTo(5L);
+        assertThat(returnedAttachmentDTO.getChecksum()).isEqualTo("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824");
+        assertThat(returnedAttachmentDTO.getUrl()).isEqualTo(ENTITY_API_URL + "/" + returnedAttachmentDTO.getId() + "/content");
+        restAttachmentMockMvc
+            .perform(get(returnedAttachmentDTO.getUrl()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + returnedAttachmentDTO.getChecksum() + "\""))
+            .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+            .andExpect(content().string("hello"));
+    }
+
+    @Test
+    @Transactional
+    void uploadAttachmentOfNonExistingVacationRequest() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        MockMultipartFile file = new MockMultipartFile("file", "notes.txt", MediaType.TEXT_PLAIN_VALUE, "hello".getBytes());
+
+        restAttachmentMockMvc
+            .perform(
+                multipart(ENTITY_API_URL + "/upload").file(file).param("vacationRequestId", String.valueOf(longCount.incrementAndGet()))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void downloadAttachmentContentRange() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "digits.txt", MediaType.TEXT_PLAIN_VALUE, "0123456789".getBytes());
+        var attachmentDTO = om.readValue(
+            restAttachmentMockMvc.perform(multipart(ENTITY_API_URL + "/upload").file(file)).andReturn().getResponse().getContentAsString(),
+            AttachmentDTO.class
+        );
+        String eTag = "\"" + attachmentDTO.getChecksum() + "\"";
+
+        restAttachmentMockMvc
+            .perform(get(attachmentDTO.getUrl()).header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+            .andExpect(content().string("2345"));
+        restAttachmentMockMvc
+            .perform(get(attachmentDTO.getUrl()).header(HttpHeaders.RANGE, "bytes=-3").header(HttpHeaders.IF_RANGE, eTag))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().string("789"));
+        restAttachmentMockMvc
+            .perform(get(attachmentDTO.getUrl()).header(HttpHeaders.RANGE, "bytes=2-5").header(HttpHeaders.IF_RANGE, "\"stale\""))
+            .andExpect(status().isOk())
+            .andExpect(content().string("0123456789"));
+        restAttachmentMockMvc
+            .perform(get(attachmentDTO.getUrl()).header(HttpHeaders.RANGE, "bytes=10-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        restAttachmentMockMvc
+            .perform(get(attachmentDTO.getUrl()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    void downloadContentOfNonExistingAttachment() throws Exception {
+        restAttachmentMockMvc.perform(get(ENTITY_API_URL_ID + "/content", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void deleteAttachment() throws Exception {
@@ -15,13 +15,16 @@ import com.mycompany.myapp.domain.Employee;
 import com.mycompany.myapp.domain.MeetingRoom;
 import com.mycompany.myapp.domain.enumeration.Status;
 import com.mycompany.myapp.repository.BookingRequestRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
 import com.mycompany.myapp.service.BookingRequestService;
 import com.mycompany.myapp.service.dto.BookingRequestDTO;
+import com.mycompany.myapp.service.dto.DecisionDTO;
 import com.mycompany.myapp.service.mapper.BookingRequestMapper;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -68,6 +71,7 @@ class BookingRequestResourceIT {
 
     private static final String ENTITY_API_URL = "/api/booking-requests";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String DECISIONS_API_URL = "/api/v1/booking-requests/decisions";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -226,6 +230,28 @@ class BookingRequestResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createBookingRequestOverlappingABookingUnknownToTheIndex() throws Exception {
+        // Written by another instance: the index of this one does not know the booking yet
+        bookingRequest.startTime(UPDATED_START_TIME).endTime(UPDATED_START_TIME.plus(1, ChronoUnit.HOURS));
+        insertedBookingRequest = bookingRequestRepository.saveAndFlush(bookingRequest);
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        BookingRequest overlapping = createEntity(em)
+            .startTime(UPDATED_START_TIME.plus(30, ChronoUnit.MINUTES))
+            .endTime(UPDATED_START_TIME.plus(90, ChronoUnit.MINUTES));
+        restBookingRequestMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(bookingRequestMapper.toDto(overlapping)))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void checkStartTimeIsRequired() throws Exception {
@@ -314,6 +340,21 @@ class BookingRequestResourceIT {
             .andExpect(jsonPath("$.[*].purpose").value(hasItem(DEFAULT_PURPOSE)));
     }
 
+    @Test
+    @Transactional
+    void getAllBookingRequestsWithinQueryBudget() throws Exception {
+        // Initialize the database
+        insertedBookingRequest = bookingRequestRepository.saveAndFlush(bookingRequest);
+        em.clear();
+
+        // The ids of the page, then the bookingRequests with their employee, meeting room and invited users
+        restBookingRequestMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(QueryBudget.noRepeatedStatement())
+            .andExpect(QueryBudget.atMostStatements(3));
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllBookingRequestsWithEagerRelationshipsIsEnabled() throws Exception {
         when(bookingRequestServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -703,6 +744,7 @@ class BookingRequestResourceIT {
         insertedBookingRequest = bookingRequestRepository.saveAndFlush(bookingRequest);
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
+        Instant beforeUpdate = Instant.now().truncatedTo(ChronoUnit.SECONDS);
 
         // Update the bookingRequest
         BookingRequest updatedBookingRequest = bookingRequestRepository.findById(bookingRequest.getId()).orElseThrow();
@@ -727,7 +769,7 @@ class BookingRequestResourceIT {
 
         // Validate the BookingRequest in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertPersistedBookingRequestToMatchAllProperties(updatedBookingRequest);
+        assertPersistedBookingRequestToMatchAllProperties(withServerUpdatedAt(updatedBookingRequest, beforeUpdate));
     }
 
     @Test
@@ -799,6 +841,7 @@ class BookingRequestResourceIT {
         insertedBookingRequest = bookingRequestRepository.saveAndFlush(bookingRequest);
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
+        Instant beforeUpdate = Instant.now().truncatedTo(ChronoUnit.SECONDS);
 
         // Update the bookingRequest using partial update
         BookingRequest partialUpdatedBookingRequest = new BookingRequest();
@@ -818,7 +861,7 @@ class BookingRequestResourceIT {
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertBookingRequestUpdatableFieldsEquals(
-            createUpdateProxyForBean(partialUpdatedBookingRequest, bookingRequest),
+            createUpdateProxyForBean(partialUpdatedBookingRequest, withServerUpdatedAt(bookingRequest, beforeUpdate)),
             getPersistedBookingRequest(bookingRequest)
         );
     }
@@ -830,6 +873,7 @@ class BookingRequestResourceIT {
         insertedBookingRequest = bookingRequestRepository.saveAndFlush(bookingRequest);
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
+        Instant beforeUpdate = Instant.now().truncatedTo(ChronoUnit.SECONDS);
 
         // Update the bookingRequest using partial update
         BookingRequest partialUpdatedBookingRequest = new BookingRequest();
@@ -854,7 +898,36 @@ class BookingRequestResourceIT {
         // Validate the BookingRequest in the database
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertBookingRequestUpdatableFieldsEquals(partialUpdatedBookingRequest, getPersistedBookingRequest(partialUpdatedBookingRequest));
+        assertBookingRequestUpdatableFieldsEquals(
+            withServerUpdatedAt(partialUpdatedBookingRequest, beforeUpdate),
+            getPersistedBookingRequest(partialUpdatedBookingRequest)
+        );
+    }
+
+    @Test
+    @Transactional
+    void partialUpdateBookingRequestOntoAnotherBookingIsRejected() throws Exception {
+        bookingRequest.startTime(UPDATED_START_TIME).endTime(UPDATED_START_TIME.plus(1, ChronoUnit.HOURS));
+        insertedBookingRequest = bookingRequestRepository.saveAndFlush(bookingRequest);
+        BookingRequest other = bookingRequestRepository.saveAndFlush(
+            createEntity(em).startTime(UPDATED_START_TIME.plus(2, ChronoUnit.HOURS)).endTime(UPDATED_START_TIME.plus(3, ChronoUnit.HOURS))
+        );
+
+        // Reschedule the other booking onto the first one through a patch
+        BookingRequest partialUpdatedBookingRequest = new BookingRequest();
+        partialUpdatedBookingRequest.setId(other.getId());
+        partialUpdatedBookingRequest.startTime(UPDATED_START_TIME.plus(30, ChronoUnit.MINUTES));
+
+        restBookingRequestMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedBookingRequest.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedBookingRequest))
+            )
+            .andExpect(status().isBadRequest());
+
+        em.clear();
+        assertThat(getPersistedBookingRequest(other).getStartTime()).isEqualTo(UPDATED_START_TIME.plus(2, ChronoUnit.HOURS));
     }
 
     @Test
@@ -936,6 +1009,34 @@ class BookingRequestResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void decideBookingRequests() throws Exception {
+        BookingRequest first = createEntity(em);
+        BookingRequest second = createEntity(em).startTime(DEFAULT_START_TIME.plus(1, ChronoUnit.DAYS));
+        em.persist(first);
+        em.persist(second);
+        em.flush();
+
+        DecisionDTO decision = new DecisionDTO();
+        decision.setIds(List.of(first.getId(), second.getId()));
+        decision.setDecision(Status.REJECTED);
+        restBookingRequestMockMvc
+            .perform(post(DECISIONS_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(decision)))
+            .andExpect(status().isNoContent());
+
+        em.clear();
+        assertThat(bookingRequestRepository.findAllById(decision.getIds()))
+            .extracting(BookingRequest::getStatus)
+            .containsOnly(Status.REJECTED);
+
+        // Already decided: nothing is decided again
+        restBookingRequestMockMvc
+            .perform(post(DECISIONS_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(decision)))
+            .andExpect(status().isBadRequest());
+    }
+
     protected long getRepositoryCount() {
         return bookingRequestRepository.count();
     }
@@ -952,6 +1053,13 @@ class BookingRequestResourceIT {
         assertThat(countBefore).isEqualTo(getRepositoryCount());
     }
 
+    // The server stamps updatedAt on every write, the one sent is ignored
+    protected BookingRequest withServerUpdatedAt(BookingRequest expectedBookingRequest, Instant beforeUpdate) {
+        Instant updatedAt = getPersistedBookingRequest(expectedBookingRequest).getUpdatedAt();
+        assertThat(updatedAt).isAfterOrEqualTo(beforeUpdate);
+        return expectedBookingRequest.updatedAt(updatedAt);
+    }
+
     protected BookingRequest getPersistedBookingRequest(BookingRequest bookingRequest) {
         return bookingRequestRepository.findById(bookingRequest.getId()).orElseThrow();
     }
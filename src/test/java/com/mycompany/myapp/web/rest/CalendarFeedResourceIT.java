@@ -0,0 +1,180 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.BookingRequest;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.calendar.CalendarSyncTokens;
+import com.mycompany.myapp.service.dto.BookingRequestDTO;
+import com.mycompany.myapp.service.mapper.BookingRequestMapper;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link CalendarFeedResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class CalendarFeedResourceIT {
+
+    private static final String ROOM_FEED_URL = "/api/v1/calendar-feeds/rooms/{id}.ics";
+
+    private static final String EMPLOYEE_FEED_URL = "/api/v1/calendar-feeds/employees/{id}.ics";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private BookingRequestMapper bookingRequestMapper;
+
+    @Autowired
+    private MockMvc restCalendarFeedMockMvc;
+
+    private BookingRequest bookingRequest;
+
+    @BeforeEach
+    void initTest() {
+        Instant startTime = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+        bookingRequest = BookingRequestResourceIT.createEntity(em).startTime(startTime).endTime(startTime.plus(1, ChronoUnit.HOURS));
+    }
+
+    @Test
+    @Transactional
+    void getRoomCalendarFeed() throws Exception {
+        em.persist(bookingRequest);
+        em.flush();
+
+        restCalendarFeedMockMvc
+            .perform(get(ROOM_FEED_URL, bookingRequest.getMeetingRoom().getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/calendar"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().exists(CalendarFeedResource.SYNC_TOKEN_HEADER))
+            .andExpect(content().string(containsString("BEGIN:VCALENDAR\r\n")))
+            .andExpect(content().string(containsString("UID:booking-" + bookingRequest.getId() + "@goat\r\n")))
+            .andExpect(content().string(containsString("STATUS:TENTATIVE\r\n")));
+    }
+
+    @Test
+    @Transactional
+    void getEmployeeCalendarFeed() throws Exception {
+        em.persist(bookingRequest);
+        em.flush();
+
+        restCalendarFeedMockMvc
+            .perform(get(EMPLOYEE_FEED_URL, bookingRequest.getEmployee().getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("UID:booking-" + bookingRequest.getId() + "@goat\r\n")));
+    }
+
+    @Test
+    @Transactional
+    void getUnchangedCalendarFeedIsNotModified() throws Exception {
+        em.persist(bookingRequest);
+        em.flush();
+
+        String etag = restCalendarFeedMockMvc
+            .perform(get(ROOM_FEED_URL, bookingRequest.getMeetingRoom().getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restCalendarFeedMockMvc
+            .perform(get(ROOM_FEED_URL, bookingRequest.getMeetingRoom().getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getCalendarFeedSinceSyncTokenLeavesOutUnchangedEvents() throws Exception {
+        em.persist(bookingRequest);
+        em.flush();
+
+        restCalendarFeedMockMvc
+            .perform(
+                get(ROOM_FEED_URL, bookingRequest.getMeetingRoom().getId()).param(
+                    CalendarFeedResource.SYNC_TOKEN_PARAMETER,
+                    CalendarSyncTokens.encode(Instant.now())
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().string(not(containsString("BEGIN:VEVENT"))));
+    }
+
+    @Test
+    @Transactional
+    void getCalendarFeedSinceSyncTokenIncludesABookingUpdatedSince() throws Exception {
+        em.persist(bookingRequest);
+        em.flush();
+        String syncToken = restCalendarFeedMockMvc
+            .perform(get(ROOM_FEED_URL, bookingRequest.getMeetingRoom().getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(CalendarFeedResource.SYNC_TOKEN_HEADER);
+
+        // Sent back with the former updatedAt, as a client editing the booking would
+        BookingRequestDTO bookingRequestDTO = bookingRequestMapper.toDto(bookingRequest);
+        bookingRequestDTO.setPurpose("Rescheduled review");
+        restCalendarFeedMockMvc
+            .perform(
+                put("/api/booking-requests/{id}", bookingRequest.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(bookingRequestDTO))
+            )
+            .andExpect(status().isOk());
+
+        restCalendarFeedMockMvc
+            .perform(
+                get(ROOM_FEED_URL, bookingRequest.getMeetingRoom().getId()).param(CalendarFeedResource.SYNC_TOKEN_PARAMETER, syncToken)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("UID:booking-" + bookingRequest.getId() + "@goat\r\n")));
+    }
+
+    @Test
+    @Transactional
+    void getCalendarFeedWithInvalidSyncToken() throws Exception {
+        em.persist(bookingRequest);
+        em.flush();
+
+        restCalendarFeedMockMvc
+            .perform(get(ROOM_FEED_URL, bookingRequest.getMeetingRoom().getId()).param(CalendarFeedResource.SYNC_TOKEN_PARAMETER, "%%%"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingRoomCalendarFeed() throws Exception {
+        restCalendarFeedMockMvc.perform(get(ROOM_FEED_URL, Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    void getEmployeeCalendarFeedRequiresAdmin() throws Exception {
+        restCalendarFeedMockMvc.perform(get(EMPLOYEE_FEED_URL, 1L)).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,53 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.repository.statistics.SqlStatementCounter;
+import com.mycompany.myapp.web.filter.SqlStatisticsFilter;
+import java.util.Map;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Result matchers failing a request that runs more SQL statements or loads more entities than its budget, from the
+ * counts of the {@link SqlStatisticsFilter}.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {}
+
+    /**
+     * @param budget the maximum number of SQL statements of the request.
+     * @return the matcher.
+     */
+    public static ResultMatcher atMostStatements(int budget) {
+        return result -> assertThat(counts(result).getStatements()).as("SQL statements of the request").isLessThanOrEqualTo(budget);
+    }
+
+    /**
+     * @param budget the maximum number of entities loaded by the request.
+     * @return the matcher.
+     */
+    public static ResultMatcher atMostEntityLoads(int budget) {
+        return result -> assertThat(counts(result).getEntityLoads()).as("Entities loaded by the request").isLessThanOrEqualTo(budget);
+    }
+
+    /**
+     * Fail a request preparing the same statement more than once, the mark of an N+1 select.
+     *
+     * @return the matcher.
+     */
+    public static ResultMatcher noRepeatedStatement() {
+        return result ->
+            counts(result)
+                .getMostRepeatedStatement()
+                .map(Map.Entry::getValue)
+                .ifPresent(executions -> assertThat(executions).as("Executions of the same statement").isEqualTo(1));
+    }
+
+    private static SqlStatementCounter.Counts counts(MvcResult result) {
+        Object counts = result.getRequest().getAttribute(SqlStatisticsFilter.COUNTS_ATTRIBUTE);
+        assertThat(counts).as("SQL statistics of the request, see application.sql-statistics.enabled").isNotNull();
+        return (SqlStatementCounter.Counts) counts;
+    }
+}
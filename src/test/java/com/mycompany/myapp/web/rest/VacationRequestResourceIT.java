@@ -13,7 +13,10 @@ import com.mycompany.myapp.domain.Employee;
 import com.mycompany.myapp.domain.VacationRequest;
 import com.mycompany.myapp.domain.enumeration.Status;
 import com.mycompany.myapp.domain.enumeration.VacationType;
+import com.mycompany.myapp.repository.EmployeeRepository;
 import com.mycompany.myapp.repository.VacationRequestRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.dto.DecisionDTO;
 import com.mycompany.myapp.service.dto.VacationRequestDTO;
 import com.mycompany.myapp.service.mapper.VacationRequestMapper;
 import jakarta.persistence.EntityManager;
@@ -21,6 +24,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -49,6 +53,8 @@ class VacationRequestResourceIT {
     private static final LocalDate UPDATED_END_DATE = LocalDate.now(ZoneId.systemDefault());
     private static final LocalDate SMALLER_END_DATE = LocalDate.ofEpochDay(-1L);
 
+    private static final LocalDate WORKING_MONDAY = LocalDate.of(2026, 3, 2);
+
     private static final VacationType DEFAULT_TYPE = VacationType.ANNUAL;
     private static final VacationType UPDATED_TYPE = VacationType.SICK;
 
@@ -66,6 +72,7 @@ class VacationRequestResourceIT {
 
     private static final String ENTITY_API_URL = "/api/vacation-requests";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String DECISIONS_API_URL = "/api/v1/vacation-requests/decisions";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -76,6 +83,9 @@ class VacationRequestResourceIT {
     @Autowired
     private VacationRequestRepository vacationRequestRepository;
 
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
     @Autowired
     private VacationRequestMapper vacationRequestMapper;
 
@@ -685,6 +695,7 @@ class VacationRequestResourceIT {
         insertedVacationRequest = vacationRequestRepository.saveAndFlush(vacationRequest);
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
+        Instant beforeUpdate = Instant.now().truncatedTo(ChronoUnit.SECONDS);
 
         // Update the vacationRequest
         VacationRequest updatedVacationRequest = vacationRequestRepository.findById(vacationRequest.getId()).orElseThrow();
@@ -710,7 +721,7 @@ class VacationRequestResourceIT {
 
         // Validate the VacationRequest in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
-        assertPersistedVacationRequestToMatchAllProperties(updatedVacationRequest);
+        assertPersistedVacationRequestToMatchAllProperties(withServerUpdatedAt(updatedVacationRequest, beforeUpdate));
     }
 
     @Test
@@ -782,6 +793,7 @@ class VacationRequestResourceIT {
         insertedVacationRequest = vacationRequestRepository.saveAndFlush(vacationRequest);
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
+        Instant beforeUpdate = Instant.now().truncatedTo(ChronoUnit.SECONDS);
 
         // Update the vacationRequest using partial update
         VacationRequest partialUpdatedVacationRequest = new VacationRequest();
@@ -801,7 +813,7 @@ class VacationRequestResourceIT {
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertVacationRequestUpdatableFieldsEquals(
-            createUpdateProxyForBean(partialUpdatedVacationRequest, vacationRequest),
+            createUpdateProxyForBean(partialUpdatedVacationRequest, withServerUpdatedAt(vacationRequest, beforeUpdate)),
             getPersistedVacationRequest(vacationRequest)
         );
     }
@@ -813,6 +825,7 @@ class VacationRequestResourceIT {
         insertedVacationRequest = vacationRequestRepository.saveAndFlush(vacationRequest);
 
         long databaseSizeBeforeUpdate = getRepositoryCount();
+        Instant beforeUpdate = Instant.now().truncatedTo(ChronoUnit.SECONDS);
 
         // Update the vacationRequest using partial update
         VacationRequest partialUpdatedVacationRequest = new VacationRequest();
@@ -839,7 +852,7 @@ class VacationRequestResourceIT {
 
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
         assertVacationRequestUpdatableFieldsEquals(
-            partialUpdatedVacationRequest,
+            withServerUpdatedAt(partialUpdatedVacationRequest, beforeUpdate),
             getPersistedVacationRequest(partialUpdatedVacationRequest)
         );
     }
@@ -923,6 +936,84 @@ class VacationRequestResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void decideVacationRequestsDeductsEachBalanceOnce() throws Exception {
+        Employee employee = EmployeeResourceIT.createEntity().vacationBalance(10);
+        em.persist(employee);
+        // Three and four working days, from Monday
+        VacationRequest first = createEntity(em).employee(employee).startDate(WORKING_MONDAY).endDate(WORKING_MONDAY.plusDays(2));
+        VacationRequest second = createEntity(em)
+            .employee(employee)
+            .startDate(WORKING_MONDAY.plusWeeks(1))
+            .endDate(WORKING_MONDAY.plusDays(10));
+        em.persist(first);
+        em.persist(second);
+        em.flush();
+
+        DecisionDTO decision = new DecisionDTO();
+        decision.setIds(List.of(first.getId(), second.getId()));
+        decision.setDecision(Status.APPROVED);
+        restVacationRequestMockMvc
+            .perform(post(DECISIONS_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(decision)))
+            .andExpect(status().isNoContent());
+
+        em.clear();
+        assertThat(vacationRequestRepository.findAllById(decision.getIds()))
+            .extracting(VacationRequest::getStatus)
+            .containsOnly(Status.APPROVED);
+        assertThat(em.find(Employee.class, employee.getId()).getVacationBalance()).isEqualTo(3);
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void decideVacationRequestsWithTooLowBalanceDecidesNone() throws Exception {
+        // Not transactional: the decision must roll back on its own, the statuses are flushed before the balance is refused
+        Employee employee = employeeRepository.saveAndFlush(EmployeeResourceIT.createEntity().vacationBalance(1));
+        List<VacationRequest> vacationRequests = vacationRequestRepository.saveAllAndFlush(
+            List.of(pendingVacationRequest(employee), pendingVacationRequest(employee))
+        );
+        List<Long> ids = vacationRequests.stream().map(VacationRequest::getId).toList();
+        try {
+            DecisionDTO decision = new DecisionDTO();
+            decision.setIds(ids);
+            decision.setDecision(Status.APPROVED);
+            restVacationRequestMockMvc
+                .perform(post(DECISIONS_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(decision)))
+                .andExpect(status().isBadRequest());
+
+            assertThat(vacationRequestRepository.findAllById(ids)).extracting(VacationRequest::getStatus).containsOnly(Status.PENDING);
+            assertThat(employeeRepository.findById(employee.getId())).hasValueSatisfying(reloaded ->
+                assertThat(reloaded.getVacationBalance()).isEqualTo(1)
+            );
+        } finally {
+            vacationRequestRepository.deleteAllById(ids);
+            employeeRepository.deleteById(employee.getId());
+        }
+    }
+
+    private static VacationRequest pendingVacationRequest(Employee employee) {
+        return new VacationRequest()
+            .startDate(WORKING_MONDAY)
+            .endDate(WORKING_MONDAY)
+            .type(DEFAULT_TYPE)
+            .status(Status.PENDING)
+            .createdAt(DEFAULT_CREATED_AT)
+            .employee(employee);
+    }
+
+    @Test
+    @Transactional
+    void decideVacationRequestsRequiresAdmin() throws Exception {
+        DecisionDTO decision = new DecisionDTO();
+        decision.setIds(List.of(1L));
+        decision.setDecision(Status.REJECTED);
+        restVacationRequestMockMvc
+            .perform(post(DECISIONS_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(decision)))
+            .andExpect(status().isForbidden());
+    }
+
     protected long getRepositoryCount() {
         return vacationRequestRepository.count();
     }
@@ -939,6 +1030,13 @@ class VacationRequestResourceIT {
         assertThat(countBefore).isEqualTo(getRepositoryCount());
     }
 
+    // The server stamps updatedAt on every write, the one sent is ignored
+    protected VacationRequest withServerUpdatedAt(VacationRequest expectedVacationRequest, Instant beforeUpdate) {
+        Instant updatedAt = getPersistedVacationRequest(expectedVacationRequest).getUpdatedAt();
+        assertThat(updatedAt).isAfterOrEqualTo(beforeUpdate);
+        return expectedVacationRequest.updatedAt(updatedAt);
+    }
+
     protected VacationRequest getPersistedVacationRequest(VacationRequest vacationRequest) {
         return vacationRequestRepository.findById(vacationRequest.getId()).orElseThrow();
     }